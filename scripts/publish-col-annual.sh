@@ -8,7 +8,8 @@
 #
 # Stages:
 #   1. build the fat JAR (mvn package)                          [skip: --no-build]
-#   2. run the colac generator for each year -> <SRC>/<year>/colac.zip
+#   2. run the colac generator once for all years -> <SRC>/<year>/colac.zip
+#      (years are built concurrently in one JVM, timings in <SRC>/colac-summary.tsv)
 #   3. stage each colac.zip          -> <STAGE>/<year>_coldp.zip
 #   4. scp the zips to the server and move them into place as the `col` user
 #                                                               [skip: --no-upload]
@@ -33,7 +34,9 @@ YEARS="${YEARS:-2000 $(seq 2002 2019)}"   # 2000 + 2002-2019; 2001 was never rel
 SRC="${SRC:-/tmp/colac-archives}"          # <SRC>/<year>/colac.zip is produced here
 STAGE="${STAGE:-/tmp/col-annual-upload}"   # renamed <year>_coldp.zip staged here
 MVN_ARGS="${MVN_ARGS:--q -DskipTests}"
-JAVA_OPTS="${JAVA_OPTS:-}"
+JAVA_OPTS="${JAVA_OPTS:-}"                 # e.g. -Xmx24g; the heap limits the concurrent years
+DB_CONNECTIONS="${DB_CONNECTIONS:-12}"     # connections shared by all concurrent years
+YEAR_HEAP="${YEAR_HEAP:-3072}"             # estimated heap (MB) of a single year
 
 # colac MariaDB connection (defaults match the generator's own defaults)
 DB_HOST="${DB_HOST:-localhost}"
@@ -72,12 +75,11 @@ if [[ $DO_BUILD -eq 1 ]]; then
   JAR=$(ls "$REPO_DIR"/target/coldp-generator-*.jar 2>/dev/null | grep -v original | head -1)
   [[ -n "$JAR" ]] || { echo "fat JAR not found in $REPO_DIR/target" >&2; exit 1; }
   echo "==> using $JAR"
-  for y in $YEARS; do
-    echo "==> generating colac $y -> $SRC/$y"
-    rm -rf "$SRC/$y/colac" "$SRC/$y/colac.zip"
-    java $JAVA_OPTS -jar "$JAR" -s colac --year "$y" -r "$SRC/$y" \
-      --db-host "$DB_HOST" --db-port "$DB_PORT" --db-user "$DB_USER" --db-pass "$DB_PASS"
-  done
+  echo "==> generating colac" $YEARS "-> $SRC/<year>"
+  for y in $YEARS; do rm -rf "$SRC/$y/colac" "$SRC/$y/colac.zip"; done
+  java $JAVA_OPTS -jar "$JAR" -s colac --years "$YEARS" -r "$SRC" \
+    --db-connections "$DB_CONNECTIONS" --year-heap "$YEAR_HEAP" \
+    --db-host "$DB_HOST" --db-port "$DB_PORT" --db-user "$DB_USER" --db-pass "$DB_PASS"
 fi
 
 # ---- 3. stage: <year>/colac.zip -> <STAGE>/<year>_coldp.zip ---------------
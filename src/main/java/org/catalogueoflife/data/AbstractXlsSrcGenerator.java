@@ -6,6 +6,8 @@ import life.catalogue.parser.UnparsableException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.formula.FormulaParseException;
 import org.apache.poi.ss.usermodel.*;
+import org.catalogueoflife.data.utils.XlsxStreamReader;
+import org.catalogueoflife.data.utils.XlsxStreamReader.XlsRow;
 import org.gbif.nameparser.api.NomCode;
 import org.gbif.nameparser.api.Rank;
 import org.jetbrains.annotations.Nullable;
@@ -15,36 +17,71 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.IntFunction;
 
+/**
+ * Base class for sources shipped as Excel files.
+ *
+ * By default the source file is loaded as a POI workbook into {@link #wb}.
+ * Generators created with {@code streaming=true} do not load the workbook but read xlsx sheets
+ * row by row via {@link #streamRows(int, boolean, XlsxStreamReader.RowHandler)}, which keeps memory
+ * constant for large sheets and uses the cached formula results instead of evaluating formulas.
+ * The col, link and related helpers exist for both kinds of rows.
+ */
 public abstract class AbstractXlsSrcGenerator extends AbstractColdpGenerator {
   private static final String srcFN = "data.xls";
   protected Workbook wb;
+  private final boolean streaming;
   private DataFormatter formatter;
   private FormulaEvaluator evaluator;
 
   public AbstractXlsSrcGenerator(GeneratorConfig cfg, boolean addMetadata) throws IOException {
     super(cfg, addMetadata, null);
+    this.streaming = false;
   }
   public AbstractXlsSrcGenerator(GeneratorConfig cfg, boolean addMetadata, URI downloadUri) throws IOException {
+    this(cfg, addMetadata, downloadUri, false);
+  }
+  public AbstractXlsSrcGenerator(GeneratorConfig cfg, boolean addMetadata, URI downloadUri, boolean streaming) throws IOException {
     super(cfg, addMetadata, Map.of(srcFN, downloadUri));
+    this.streaming = streaming;
   }
 
   @Override
   protected void prepare() throws IOException {
     formatter = new DataFormatter(Locale.US);
     var f = sourceFile(srcFN);
-    if (f != null && f.exists()) {
+    if (!streaming && f != null && f.exists()) {
       prepareWB(f);
     }
   }
 
+  /**
+   * Streams all rows of a sheet of the xlsx source file.
+   * @return number of rows read
+   */
+  protected int streamRows(int sheetIdx, boolean links, XlsxStreamReader.RowHandler handler) throws IOException {
+    return streamRows(sourceFile(srcFN), sheetIdx, links, handler);
+  }
+
+  protected int streamRows(File xlsx, int sheetIdx, boolean links, XlsxStreamReader.RowHandler handler) throws IOException {
+    return new XlsxStreamReader(xlsx, formatter).read(sheetIdx, links, handler);
+  }
+
   protected void prepareWB(File f) throws IOException {
     wb = WorkbookFactory.create(f);
     evaluator = wb.getCreationHelper().createFormulaEvaluator();;
   }
 
   protected Integer colInt(Row row, int column) {
-    var val = col(row, column);
+    return toInt(col(row, column));
+  }
+
+  protected Integer colInt(XlsRow row, int column) {
+    return toInt(col(row, column));
+  }
+
+  private static Integer toInt(String val) {
     if (!StringUtils.isBlank(val)) {
       return Integer.parseInt(val.trim());
     }
@@ -61,22 +98,41 @@ public abstract class AbstractXlsSrcGenerator extends AbstractColdpGenerator {
     return null;
   }
 
+  protected String col(XlsRow row, int column) {
+    return StringUtils.trimToNull(row.get(column));
+  }
+
   protected Rank colRank(Row row, int column) {
-    String val = col(row, column);
+    return toRank(col(row, column), row.getRowNum(), column);
+  }
+
+  protected Rank colRank(XlsRow row, int column) {
+    return toRank(col(row, column), row.getRowNum(), column);
+  }
+
+  private Rank toRank(String val, int rowNum, int column) {
     if (val != null) {
       try {
         return RankParser.PARSER.parse(NomCode.VIRUS, val).orElse(null);
       } catch (Exception e) {
-        LOG.warn("Invalid rank {} in row {} and column {}", val, row.getRowNum(), column);
+        LOG.warn("Invalid rank {} in row {} and column {}", val, rowNum, column);
       }
     }
     return null;
   }
 
   protected String concat(Row row, int ... columns) {
+    return concat(c -> col(row, c), columns);
+  }
+
+  protected String concat(XlsRow row, int ... columns) {
+    return concat(c -> col(row, c), columns);
+  }
+
+  private static String concat(IntFunction<String> colFn, int ... columns) {
     StringBuilder sb = new StringBuilder();
     for (int col : columns) {
-      String val = col(row, col);
+      String val = colFn.apply(col);
       if (val != null) {
         if (sb.length() > 0) {
           sb.append("; ");
@@ -99,4 +155,11 @@ public abstract class AbstractXlsSrcGenerator extends AbstractColdpGenerator {
     }
     return null;
   }
+
+  /**
+   * @return the link address, requires the sheet to be streamed with links
+   */
+  protected String link(XlsRow row, int column) {
+    return row.link(column);
+  }
 }
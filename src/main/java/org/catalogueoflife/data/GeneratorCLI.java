@@ -1,6 +1,7 @@
 package org.catalogueoflife.data;
 
 import com.beust.jcommander.JCommander;
+import org.catalogueoflife.data.colac.AnnualBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,12 +18,22 @@ public class GeneratorCLI {
         try {
             new JCommander(cfg, args);
 
-            LOG.info("Building {} archive", cfg.source);
-            Class<? extends AbstractGenerator> abClass = cfg.builderClass();
-            Constructor<? extends AbstractGenerator> cons = abClass.getConstructor(GeneratorConfig.class);
-            AbstractGenerator builder = cons.newInstance(cfg);
-            builder.run();
-            LOG.info("{} archive completed", cfg.source);
+            if (cfg.years != null) {
+                // several annual checklists in one JVM, see AnnualBatch
+                if (!"colac".equalsIgnoreCase(cfg.source)) {
+                    throw new IllegalArgumentException("--years is only supported by the colac source");
+                }
+                new AnnualBatch(cfg).run();
+                LOG.info("{} archives completed", cfg.source);
+
+            } else {
+                LOG.info("Building {} archive", cfg.source);
+                Class<? extends Runnable> abClass = cfg.builderClass();
+                Constructor<? extends Runnable> cons = abClass.getConstructor(GeneratorConfig.class);
+                Runnable builder = cons.newInstance(cfg);
+                builder.run();
+                LOG.info("{} archive completed", cfg.source);
+            }
 
         } catch (Throwable e) {
             // Catch Throwable, not just Exception: linkage problems such as NoSuchFieldError are Errors
@@ -6,6 +6,8 @@ import com.google.common.base.Joiner;
 
 import javax.validation.constraints.NotNull;
 import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.List;
 
 /**
@@ -34,6 +36,8 @@ public class GeneratorConfig {
   public String lpsnPassword;
   @Parameter(names = {"--biolib-root-id"})
   public int biolibRootID = 10713; // Coccinellidae, 4801=Coleoptera, 14955=Arthropoda, 10726=small test group
+  @Parameter(names = {"--biolib-threads"}, description = "BioLib: number of concurrent page fetches")
+  public int biolibThreads = 4;
 
   @Parameter(names = {"--wsc-data-repo"})
   public File wscDataRepo;
@@ -41,6 +45,10 @@ public class GeneratorConfig {
   @Parameter(names = {"--wsc-max-key"})
   public int wscMaxKey = 66850; // max on 21.2.2025 is 64070
 
+  @Parameter(names = {"--wsc-daily-quota"},
+             description = "WSC: max number of API requests per day, remaining LSIDs stay pending for the next run. 0 = no limit")
+  public int wscDailyQuota = 0;
+
   @Parameter(names = {"--date"})
   public String date;
 
@@ -48,6 +56,15 @@ public class GeneratorConfig {
   @Parameter(names = {"--year"},
              description = "colac: annual checklist year, selects MariaDB database col{year}ac (2005-2019)")
   public Integer year;
+  @Parameter(names = {"--years"},
+             description = "colac: build several years in one run, e.g. 2000,2002-2019. Archives go to <repository>/<year>/colac.zip")
+  public String years;
+  @Parameter(names = {"--db-connections"},
+             description = "colac --years: maximum number of MariaDB connections used by all years together")
+  public int dbConnections = 12;
+  @Parameter(names = {"--year-heap"},
+             description = "colac --years: estimated heap in MB needed by a single year, limits the years built at the same time")
+  public int yearHeap = 3072;
   @Parameter(names = {"--db-host"}, description = "colac: MariaDB host")
   public String dbHost = "localhost";
   @Parameter(names = {"--db-port"}, description = "colac: MariaDB port")
@@ -69,6 +86,23 @@ public class GeneratorConfig {
              description = "Delete cached source files before running, forcing a fresh download of everything")
   public boolean clearSources = false;
 
+  /**
+   * @return a shallow copy with all options, e.g. for the sub generators of a combined run
+   */
+  public GeneratorConfig copy() {
+    GeneratorConfig copy = new GeneratorConfig();
+    try {
+      for (Field f : GeneratorConfig.class.getFields()) {
+        if (!Modifier.isStatic(f.getModifiers())) {
+          f.set(copy, f.get(this));
+        }
+      }
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Cannot copy generator config", e);
+    }
+    return copy;
+  }
+
   /**
    * Returns the directory with the decompressed archive folder created by the checklist builder
    */
@@ -80,10 +114,14 @@ public class GeneratorConfig {
     return new File(tmpSourceDir, source);
   }
 
-  public Class<? extends AbstractColdpGenerator> builderClass() {
+  /**
+   * @return the generator of the source, usually an {@link AbstractGenerator}
+   *         or a runnable combining several of them
+   */
+  public Class<? extends Runnable> builderClass() {
     try {
       String classname = GeneratorConfig.class.getPackage().getName() + "." + source.toLowerCase().replace("-", "") + ".Generator";
-      return (Class<? extends AbstractColdpGenerator>) GeneratorConfig.class.getClassLoader().loadClass(classname);
+      return (Class<? extends Runnable>) GeneratorConfig.class.getClassLoader().loadClass(classname);
 
     } catch (ClassNotFoundException e) {
       List<String> sources = Lists.newArrayList();
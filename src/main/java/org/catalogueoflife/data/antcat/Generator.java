@@ -15,7 +15,6 @@
  */
 package org.catalogueoflife.data.antcat;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.univocity.parsers.common.IterableResult;
 import com.univocity.parsers.common.ParsingContext;
 import com.univocity.parsers.tsv.TsvParser;
@@ -37,6 +36,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.catalogueoflife.data.AbstractColdpGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
 import org.catalogueoflife.data.utils.AltIdBuilder;
+import org.catalogueoflife.data.utils.HostThrottle;
 import org.catalogueoflife.data.utils.HtmlUtils;
 import org.catalogueoflife.data.utils.MarkdownUtils;
 import org.catalogueoflife.data.utils.RemarksBuilder;
@@ -47,9 +47,12 @@ import java.io.*;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * ColDP generator for AntCat using their public API.
@@ -62,25 +65,8 @@ public class Generator extends AbstractColdpGenerator {
   private static final String ANTWEB = "https://www.antweb.org/web/workingdir/";
   private static final String ANTWEB_FILE = "worldants_speciesList.txt";
   private static final URI ANTWEB_URL = URI.create(ANTWEB + ANTWEB_FILE);
-  private static final TypeReference<List<Map<String, Taxon>>> taxaTYPE = new TypeReference<>() {};
-  private static final TypeReference<List<Map<String, Name>>> namesTYPE = new TypeReference<>() {};
-  private static final TypeReference<List<Map<String, Protonym>>> protonymsTYPE = new TypeReference<>() {};
-  private static final TypeReference<List<Map<String, Reference>>> referencesTYPE = new TypeReference<>() {};
-  private static final TypeReference<List<Map<String, RefDoc>>> refDocTYPE = new TypeReference<>() {};
-  private static final TypeReference<List<Map<String, Publisher>>> publisherTYPE = new TypeReference<>() {};
-  private static final TypeReference<List<Map<String, Journal>>> journalTYPE = new TypeReference<>() {};
-  private static final TypeReference<List<Map<String, HistoryItem>>> historyItemsTYPE = new TypeReference<>() {};
-  private static final TypeReference<List<Map<String, ReferenceSection>>> referenceSectionsTYPE = new TypeReference<>() {};
-
-  private static final TypeReference<List<Taxon>> taxaListType = new TypeReference<>() {};
-  private static final TypeReference<List<Name>> namesListType = new TypeReference<>() {};
-  private static final TypeReference<List<Protonym>> protonymsListType = new TypeReference<>() {};
-  private static final TypeReference<List<Reference>> referencesListType = new TypeReference<>() {};
-  private static final TypeReference<List<RefDoc>> refDocListType = new TypeReference<>() {};
-  private static final TypeReference<List<Publisher>> publisherListType = new TypeReference<>() {};
-  private static final TypeReference<List<Journal>> journalListType = new TypeReference<>() {};
-  private static final TypeReference<List<HistoryItem>> historyItemsListType = new TypeReference<>() {};
-  private static final TypeReference<List<ReferenceSection>> referenceSectionsListType = new TypeReference<>() {};
+
+  private static final int THREADS = 4;
 
   private TermWriter typeWriter;
   private TermWriter nameRelWriter;
@@ -193,62 +179,81 @@ public class Generator extends AbstractColdpGenerator {
 
   @Override
   protected void addData() throws Exception {
-    // dump all taxa, protonyms and references
-    load(Publisher.class, publisherListType, publisher, "publishers", this::readPublishers);
-    load(Journal.class, journalListType, journals, "journals", this::readJournal);
-    load(Reference.class, referencesListType, refs, "references", this::readReferences);
-    for (var rt : allRefTypes) {
-      if (refTypes.containsKey(rt)) {
-        LOG.warn("Missing reference type {}", rt);
+    // dump all taxa, protonyms and references, fetching the independent endpoints concurrently
+    var loader = new PagedLoader(mapper, http, new HostThrottle(THREADS, 100), API, sourceFile("pages"), cfg.noDownload);
+    var historyItems = new Int2ObjectOpenHashMap<HistoryItem>();
+    var referenceSections = new Int2ObjectOpenHashMap<ReferenceSection>();
+    ExecutorService exec = Executors.newFixedThreadPool(THREADS);
+    try {
+      var pubF = load(exec, loader, Publisher.class, "publishers", publisher);
+      var journalF = load(exec, loader, Journal.class, "journals", journals);
+      var refF = load(exec, loader, Reference.class, "references", refs);
+      var refDocF = load(exec, loader, RefDoc.class, "reference_documents", refDocs);
+      var nameF = exec.submit(() -> loader.load(Name.class, "names", names, t -> t.replaceAll("_name$", "")));
+      var taxaF = load(exec, loader, Taxon.class, "taxa", taxa);
+      var protonymF = load(exec, loader, Protonym.class, "protonyms", protonyms);
+      var historyF = load(exec, loader, HistoryItem.class, "history_items", historyItems);
+      var sectionF = load(exec, loader, ReferenceSection.class, "reference_sections", referenceSections);
+
+      pubF.get();
+      journalF.get();
+      refF.get();
+      for (var rt : allRefTypes) {
+        if (refTypes.containsKey(rt)) {
+          LOG.warn("Missing reference type {}", rt);
+        }
       }
-    }
-    load(RefDoc.class, refDocListType, refDocs, "reference_documents", this::readRefDocs);
-    // add document links to references
-    for (var rd : refDocs.values()) {
-      if (rd.reference_id != null) {
-        var ref = refs.get(rd.reference_id);
-        if (ref != null) {
-          ref.document = rd.getPdf();
-        } else {
-          LOG.warn("Missing referenc {} found in refdoc {}", rd.reference_id, rd.id);
+      refDocF.get();
+      // add document links to references
+      for (var rd : refDocs.values()) {
+        if (rd.reference_id != null) {
+          var ref = refs.get(rd.reference_id);
+          if (ref != null) {
+            ref.document = rd.getPdf();
+          } else {
+            LOG.warn("Missing referenc {} found in refdoc {}", rd.reference_id, rd.id);
+          }
         }
       }
-    }
-    for (var ref : refs.values()) {
-      writeReference(ref);
-    }
-    // now release memory for publisher and journals - we used them in refs
-    journals.clear();
-    publisher.clear();
-    load(Name.class, namesListType, names, "names", this::readName);
-    load(Taxon.class, taxaListType, taxa, "taxa", this::readTaxa);
-    var ttypes = new HashSet<>();
-    for (var t : taxa.values()) {
-      ttypes.add(t.type);
-      if (t.protonym_id != null && t.isProtonym()) {
-        protonym2taxonID.put((int)t.protonym_id, t.id);
+      for (var ref : refs.values()) {
+        writeReference(ref);
       }
-    }
-    for (var tt : ttypes) {
-      LOG.info("Taxon type {}", tt);
-    }
-    load(Protonym.class, protonymsListType, protonyms, "protonyms", this::readProtonyms);
+      // now release memory for publisher and journals - we used them in refs
+      journals.clear();
+      publisher.clear();
+      nameF.get();
+      taxaF.get();
+      var ttypes = new HashSet<>();
+      for (var t : taxa.values()) {
+        ttypes.add(t.type);
+        if (t.protonym_id != null && t.isProtonym()) {
+          protonym2taxonID.put((int)t.protonym_id, t.id);
+        }
+      }
+      for (var tt : ttypes) {
+        LOG.info("Taxon type {}", tt);
+      }
+      protonymF.get();
 
-    // Load history items (taxonomic history text per protonym) and group by protonym_id
-    var historyItems = new Int2ObjectOpenHashMap<HistoryItem>();
-    load(HistoryItem.class, historyItemsListType, historyItems, "history_items", this::readHistoryItems);
-    for (var h : historyItems.values()) {
-      historyByProtonymId.computeIfAbsent(h.protonym_id, k -> new ArrayList<>()).add(h);
-    }
-    historyByProtonymId.values().forEach(list -> list.sort(Comparator.comparingInt(h -> h.position)));
+      // history items (taxonomic history text per protonym) grouped by protonym_id
+      historyF.get();
+      for (var h : historyItems.values()) {
+        historyByProtonymId.computeIfAbsent(h.protonym_id, k -> new ArrayList<>()).add(h);
+      }
+      historyByProtonymId.values().forEach(list -> list.sort(Comparator.comparingInt(h -> h.position)));
 
-    // Load reference sections and group by taxon_id
-    var referenceSections = new Int2ObjectOpenHashMap<ReferenceSection>();
-    load(ReferenceSection.class, referenceSectionsListType, referenceSections, "reference_sections", this::readReferenceSections);
-    for (var rs : referenceSections.values()) {
-      sectionsByTaxonId.computeIfAbsent(rs.taxon_id, k -> new ArrayList<>()).add(rs);
+      // reference sections grouped by taxon_id
+      sectionF.get();
+      for (var rs : referenceSections.values()) {
+        sectionsByTaxonId.computeIfAbsent(rs.taxon_id, k -> new ArrayList<>()).add(rs);
+      }
+      sectionsByTaxonId.values().forEach(list -> list.sort(Comparator.comparingInt(rs -> rs.position)));
+
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to load AntCat API", e.getCause());
+    } finally {
+      exec.shutdownNow();
     }
-    sectionsByTaxonId.values().forEach(list -> list.sort(Comparator.comparingInt(rs -> rs.position)));
 
     // use tsv file for taxa/synonyms
     // parse taxa once to just full the lookup cache
@@ -649,101 +654,9 @@ public class Generator extends AbstractColdpGenerator {
       throw new RuntimeException(e);
     }
   }
-  private List<Reference> readReferences(URI uri) {
-    return read(uri, referencesTYPE);
-  }
-  private List<RefDoc> readRefDocs(URI uri) {
-    return read(uri, refDocTYPE);
-  }
-  private List<Publisher> readPublishers(URI uri) {
-    return read(uri, publisherTYPE);
-  }
-  private List<Journal> readJournal(URI uri) {
-    return read(uri, journalTYPE);
-  }
-  private List<Taxon> readTaxa(URI uri) {
-    return read(uri, taxaTYPE);
-  }
-  private List<Name> readName(URI uri) {
-    List<Name> names = read(uri, namesTYPE);
-    names.forEach(n -> n.type = n.type.replaceAll("_name$", ""));
-    return names;
-  }
-  private List<Protonym> readProtonyms(URI uri) {
-    return read(uri, protonymsTYPE);
-  }
-  private List<HistoryItem> readHistoryItems(URI uri) {
-    return read(uri, historyItemsTYPE);
-  }
-  private List<ReferenceSection> readReferenceSections(URI uri) {
-    return read(uri, referenceSectionsTYPE);
-  }
-
-  private <T extends IDBase> List<T> read(URI uri, TypeReference<List<Map<String, T>>> typeRef) {
-    try {
-      var resp = mapper.readValue(http.getStreamJSON(uri), typeRef);
-      if (resp != null && !resp.isEmpty()) {
-        return resp.stream().map(m -> {
-          String type = m.keySet().iterator().next();
-          T obj = m.get(type);
-          obj.type = type;
-          return obj;
-        }).collect(Collectors.toList());
-      }
-      return Collections.emptyList();
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
-  }
-
-  private <T extends IDBase> void load(Class<T> clazz,
-                                       TypeReference<List<T>> listType,
-                                       Int2ObjectMap<T> cache,
-                                       String path,
-                                       Function<URI, List<T>> readFunc) throws IllegalAccessException {
-    int startID = 0;
-    LOG.info("Load {}", clazz.getSimpleName());
-    File jsonFile = sourceFile("cache-"+clazz.getSimpleName()+".json");
-    if (CACHE && jsonFile.exists()) {
-      LOG.info("Load {} from local json file {}", clazz.getSimpleName(), jsonFile);
-      try {
-        cache.clear();
-        var objects = mapper.readValue(jsonFile, listType);
-        for (var obj : objects) {
-          cache.put(obj.id, obj);
-        }
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-      LOG.info("Loaded {} {} objects from local json file {}", cache.size(), clazz.getSimpleName(), jsonFile);
-
-    } else {
-      var resp = readFunc.apply(buildURI(path, startID));
-      while (!resp.isEmpty()) {
-        for (T obj : resp) {
-          cache.put(obj.id, obj);
-        }
-        startID = resp.stream().map(t -> t.id).max(Integer::compare).get() + 1;
-        LOG.info("Crawl {} starting with {}", clazz.getSimpleName(), startID);
-        resp = readFunc.apply(buildURI(path, startID));
-      }
-      LOG.info("Loaded {} {} objects from API", cache.size(), clazz.getSimpleName());
-
-      if (CACHE) {
-        LOG.info("Storing {} {} objects locally as json in {}", cache.size(), clazz.getSimpleName(), jsonFile);
-        try (var w = UTF8IoUtils.writerFromFile(jsonFile)) {
-          mapper.writeValue(w, cache.values());
-        } catch (IOException e) {
-          throw new RuntimeException(e);
-        }
-      } else if (jsonFile.exists()){
-        jsonFile.delete();
-      }
-    }
-  }
-
-  URI buildURI(String path, int startID){
-    return URI.create(API + String.format("%s?starts_at=%s", path, startID));
+  private static <T extends IDBase> Future<Integer> load(ExecutorService exec, PagedLoader loader, Class<T> clazz,
+                                                         String endpoint, Int2ObjectMap<T> map) {
+    return exec.submit(() -> loader.load(clazz, endpoint, map, UnaryOperator.identity()));
   }
 
   static class IDBase {
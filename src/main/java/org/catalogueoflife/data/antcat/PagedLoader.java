@@ -0,0 +1,123 @@
+package org.catalogueoflife.data.antcat;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import org.catalogueoflife.data.utils.HostThrottle;
+import org.catalogueoflife.data.utils.HttpUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.function.UnaryOperator;
+
+/**
+ * Loads all entities of an AntCat API endpoint by following its {@code starts_at} paging.
+ *
+ * Every raw page is stored on disk as {@code <cacheDir>/<endpoint>/<startsAt>.json} before it is
+ * parsed, and a stored page is read instead of requesting it again. A rebuild therefore replays
+ * a complete crawl offline and an interrupted crawl resumes at the first missing page.
+ * Pages are parsed with a streaming parser, binding one entity at a time straight into the map.
+ * Safe to use for several endpoints concurrently.
+ */
+class PagedLoader {
+  private static final Logger LOG = LoggerFactory.getLogger(PagedLoader.class);
+
+  private final ObjectMapper mapper;
+  private final HttpUtils http;
+  private final HostThrottle throttle;
+  private final String api;
+  private final File cacheDir;
+  private final boolean noDownload;
+
+  PagedLoader(ObjectMapper mapper, HttpUtils http, HostThrottle throttle, String api, File cacheDir, boolean noDownload) {
+    this.mapper = mapper;
+    this.http = http;
+    this.throttle = throttle;
+    this.api = api;
+    this.cacheDir = cacheDir;
+    this.noDownload = noDownload;
+  }
+
+  /**
+   * @param typeFn normalises the entity type, the single key wrapping each entity
+   * @return number of loaded entities
+   */
+  <T extends Generator.IDBase> int load(Class<T> clazz, String endpoint, Int2ObjectMap<T> map,
+                                         UnaryOperator<String> typeFn) throws IOException, InterruptedException {
+    ObjectReader reader = mapper.readerFor(clazz);
+    File dir = new File(cacheDir, endpoint);
+    dir.mkdirs();
+    int startID = 0;
+    int pages = 0;
+    while (true) {
+      File page = page(dir, endpoint, startID);
+      int maxID = parsePage(reader, page, map, typeFn);
+      if (maxID < 0) break;
+      pages++;
+      startID = maxID + 1;
+      LOG.debug("Crawl {} starting with {}", clazz.getSimpleName(), startID);
+    }
+    LOG.info("Loaded {} {} objects from {} pages", map.size(), clazz.getSimpleName(), pages);
+    return map.size();
+  }
+
+  /**
+   * @return the stored page, requested from the API if it does not exist yet
+   */
+  private File page(File dir, String endpoint, int startID) throws IOException, InterruptedException {
+    File f = new File(dir, startID + ".json");
+    if (!f.exists()) {
+      URI uri = URI.create(api + endpoint + "?starts_at=" + startID);
+      if (noDownload) {
+        throw new IllegalStateException("--no-download set but page not cached: " + uri);
+      }
+      // write to a temp file first, so an interrupted request never leaves a truncated page
+      File tmp = new File(dir, startID + ".json.tmp");
+      try (var permit = throttle.acquire(uri); InputStream in = http.getStreamJSON(uri)) {
+        Files.copy(in, tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+      Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    }
+    return f;
+  }
+
+  /**
+   * Parses a page like {@code [{"genus": {"id": 1, ...}}, {"species": {...}}]}
+   * and puts all entities into the map.
+   * @return the largest entity id of the page or -1 if the page is empty
+   */
+  static <T extends Generator.IDBase> int parsePage(ObjectReader reader, File page, Int2ObjectMap<T> map,
+                                                     UnaryOperator<String> typeFn) throws IOException {
+    int maxID = -1;
+    try (JsonParser p = reader.getFactory().createParser(page)) {
+      if (p.nextToken() != JsonToken.START_ARRAY) {
+        throw new IOException("Expected a JSON array in " + page);
+      }
+      while (p.nextToken() == JsonToken.START_OBJECT) {
+        if (p.nextToken() != JsonToken.FIELD_NAME) {
+          continue; // empty wrapper
+        }
+        String type = p.currentName();
+        p.nextToken();
+        T obj = reader.readValue(p);
+        obj.type = typeFn.apply(type);
+        map.put(obj.id, obj);
+        maxID = Math.max(maxID, obj.id);
+        // skip anything else in the wrapper object
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+          p.nextToken();
+          p.skipChildren();
+        }
+      }
+    }
+    return maxID;
+  }
+}
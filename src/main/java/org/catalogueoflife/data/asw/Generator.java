@@ -2,7 +2,6 @@ package org.catalogueoflife.data.asw;
 
 import life.catalogue.coldp.ColdpTerm;
 import life.catalogue.common.io.TermWriter;
-import org.apache.commons.io.FileUtils;
 import org.catalogueoflife.data.AbstractColdpGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
 import org.catalogueoflife.data.utils.JsoupUtils;
@@ -16,6 +15,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -26,6 +26,9 @@ import java.util.stream.Collectors;
  * for ~9,000 amphibian species (Anura, Caudata, Gymnophiona).
  *
  * Recursive crawl starting at /Amphibia, following "Contained taxa" links depth-first.
+ * Page downloads run concurrently ahead of the crawl through a deduplicated {@link PageFetcher}
+ * queue: child taxon pages are requested as soon as their parent is parsed and bibliography
+ * pages as soon as they are first cited, while rows are still written in depth-first order.
  * For each taxon page, parses:
  *  - Accepted NameUsage from h1 (name + authorship) and CSS rank class
  *  - Synonyms from div.synonymy (bold names with references)
@@ -37,7 +40,7 @@ import java.util.stream.Collectors;
  * Bibliography pages are fetched for each unique reference to obtain full citations.
  *
  * Pages are cached as taxon-{path}.html / bib-{key}.html in the source directory;
- * 200 ms delay between new downloads to respect the server.
+ * at most 6 concurrent downloads, started at least 50 ms apart, to respect the server.
  *
  * ID scheme: URL path without leading "/" (e.g. "Amphibia/Anura/Arthroleptidae") for taxa,
  *            "ref:{bibliography-path}" for references,
@@ -50,7 +53,8 @@ public class Generator extends AbstractColdpGenerator {
   private static final String USER_AGENT =
       "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 " +
       "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
-  private static final int CRAWL_DELAY_MS = 200;
+  private static final int FETCH_THREADS = 6;
+  private static final int MIN_REQUEST_INTERVAL_MS = 50;
 
   private static final Pattern YEAR_PATTERN = Pattern.compile("\\b(\\d{4})\\b");
   private static final Pattern RANK_PATTERN = Pattern.compile("rank-(\\w+)");
@@ -123,6 +127,7 @@ public class Generator extends AbstractColdpGenerator {
 
   private int synCounter = 0;
 
+  private PageFetcher fetcher;
   private TermWriter relWriter;
   private TermWriter vernacularWriter;
   private TermWriter distributionWriter;
@@ -176,7 +181,16 @@ public class Generator extends AbstractColdpGenerator {
     ));
 
     // Recursive crawl from the class root
-    crawl(START_PATH, null);
+    fetcher = new PageFetcher(FETCH_THREADS, MIN_REQUEST_INTERVAL_MS, USER_AGENT, cfg.noDownload);
+    try {
+      addCrawledData();
+    } finally {
+      fetcher.close();
+    }
+  }
+
+  private void addCrawledData() throws Exception {
+    crawl(START_PATH, null, 0);
 
     // Resolve and write deferred type-genus / type-species NameRelation records
     for (String[] rel : typeRelations) {
@@ -230,32 +244,21 @@ public class Generator extends AbstractColdpGenerator {
 
   // ── Crawling ──────────────────────────────────────────────────────────────
 
-  private void crawl(String path, String parentId) throws IOException {
+  private File taxonPage(String path, int depth) {
     String fileKey = path.replaceFirst("^/", "").replace("/", "_");
-    File f = sourceFile("taxon-" + fileKey + ".html");
+    return fetcher.fetch(PageFetcher.Kind.TAXON, depth, BASE_URL + path, sourceFile("taxon-" + fileKey + ".html")).join();
+  }
 
-    if (!f.exists()) {
-      if (cfg.noDownload) {
-        LOG.warn("ASW: --no-download set but {} not cached; skipping", f.getName());
-        return;
-      }
-      LOG.debug("ASW: downloading {}", path);
-      try {
-        Document doc = Jsoup.connect(BASE_URL + path)
-            .userAgent(USER_AGENT)
-            .timeout(20_000)
-            .get();
-        FileUtils.write(f, doc.outerHtml(), StandardCharsets.UTF_8);
-      } catch (Exception e) {
-        LOG.warn("ASW: failed to download {}: {}", path, e.getMessage());
-        return;
-      }
-      crawlDelay(CRAWL_DELAY_MS);
+  private void crawl(String path, String parentId, int depth) throws IOException {
+    File f = taxonPage(path, depth);
+    if (f == null) {
+      LOG.warn("ASW: page {} not available; skipping", path);
+      return;
     }
 
     try {
       Document doc = Jsoup.parse(f, StandardCharsets.UTF_8.name());
-      parseTaxon(doc, path, parentId);
+      parseTaxon(doc, path, parentId, depth);
     } catch (Exception e) {
       LOG.warn("ASW: failed to parse {}: {}", path, e.getMessage());
     }
@@ -263,7 +266,7 @@ public class Generator extends AbstractColdpGenerator {
 
   // ── Page parsing ──────────────────────────────────────────────────────────
 
-  private void parseTaxon(Document doc, String path, String parentId) throws IOException {
+  private void parseTaxon(Document doc, String path, String parentId, int depth) throws IOException {
     Element content = doc.selectFirst("#aswContent");
     if (content == null) {
       LOG.warn("ASW: no #aswContent at {}", path);
@@ -304,16 +307,22 @@ public class Generator extends AbstractColdpGenerator {
     parseCommonNames(content, taxonId);
     parseGeographicOccurrence(content, taxonId);
 
-    // Recurse into contained taxa
+    // Recurse into contained taxa, requesting all child pages before descending into the first
+    List<String> childPaths = new ArrayList<>();
     for (Element taxaDiv : content.select("div.taxa")) {
       Element link = taxaDiv.selectFirst("a[href]");
       if (link != null) {
         String childPath = link.attr("href");
         if (childPath.startsWith("/Amphibia")) {
-          crawl(childPath, taxonId);
+          childPaths.add(childPath);
+          String fileKey = childPath.replaceFirst("^/", "").replace("/", "_");
+          fetcher.fetch(PageFetcher.Kind.TAXON, depth + 1, BASE_URL + childPath, sourceFile("taxon-" + fileKey + ".html"));
         }
       }
     }
+    for (String childPath : childPaths) {
+      crawl(childPath, taxonId, depth + 1);
+    }
   }
 
   // ── Synonymy ──────────────────────────────────────────────────────────────
@@ -444,7 +453,16 @@ public class Generator extends AbstractColdpGenerator {
 
   /** Register a bibliography reference if not already seen. */
   private void registerRef(String path, String linkText) {
-    refs.computeIfAbsent(path, k -> new RefData(linkText, extractContainerTitleShort(linkText)));
+    if (!refs.containsKey(path)) {
+      refs.put(path, new RefData(linkText, extractContainerTitleShort(linkText)));
+      bibPage(path);
+    }
+  }
+
+  /** Requests the bibliography page, queued behind all taxon pages. */
+  private CompletableFuture<File> bibPage(String path) {
+    String fileKey = path.replace("/", "_");
+    return fetcher.fetch(PageFetcher.Kind.BIB, 0, BASE_URL + "/Bibliography/" + path, sourceFile("bib-" + fileKey + ".html"));
   }
 
   /**
@@ -534,33 +552,15 @@ public class Generator extends AbstractColdpGenerator {
   // ── Bibliography page fetching ────────────────────────────────────────────
 
   /**
-   * After the full crawl, download each unique bibliography page and parse
+   * After the full crawl, wait for each unique bibliography page requested during the crawl and parse
    * the full citation text + structured fields (author, issued).
    */
   private void fetchBibPages() throws IOException {
-    LOG.info("ASW: fetching {} bibliography pages", refs.size());
+    LOG.info("ASW: reading {} bibliography pages", refs.size());
     for (Map.Entry<String, RefData> entry : refs.entrySet()) {
       String path = entry.getKey();
-      String fileKey = path.replace("/", "_");
-      File f = sourceFile("bib-" + fileKey + ".html");
-
-      if (!f.exists()) {
-        if (cfg.noDownload) {
-          LOG.debug("ASW: --no-download set, bib page {} not cached", fileKey);
-          continue;
-        }
-        try {
-          Document doc = Jsoup.connect(BASE_URL + "/Bibliography/" + path)
-              .userAgent(USER_AGENT)
-              .timeout(20_000)
-              .get();
-          FileUtils.write(f, doc.outerHtml(), StandardCharsets.UTF_8);
-        } catch (Exception e) {
-          LOG.warn("ASW: failed to download bib page {}: {}", path, e.getMessage());
-          continue;
-        }
-        crawlDelay(CRAWL_DELAY_MS);
-      }
+      File f = bibPage(path).join();
+      if (f == null) continue;
 
       try {
         Document doc = Jsoup.parse(f, StandardCharsets.UTF_8.name());
@@ -0,0 +1,108 @@
+package org.catalogueoflife.data.asw;
+
+import org.apache.commons.io.FileUtils;
+import org.catalogueoflife.data.utils.HostThrottle;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deduplicated priority queue of ASW page downloads, worked off concurrently by a small pool of
+ * fetch threads under a per-host {@link HostThrottle}.
+ *
+ * <p>Each page is requested at most once, keyed by its cache file. Taxon pages are fetched before
+ * bibliography pages and deeper taxon pages before shallower ones, so the pages the depth-first
+ * crawl needs next are downloaded first. Callers get a future for the cached file and parse it
+ * themselves, which lets parsing on the crawl thread overlap with the downloads.
+ */
+class PageFetcher implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(PageFetcher.class);
+
+  enum Kind {TAXON, BIB}
+
+  private record Task(Kind kind, int depth, long seq, String url, File file, CompletableFuture<File> result) {}
+
+  private static final Comparator<Task> PRIORITY = Comparator.comparing(Task::kind)
+      .thenComparing(Comparator.comparingInt(Task::depth).reversed())
+      .thenComparingLong(Task::seq);
+
+  private final String userAgent;
+  private final boolean noDownload;
+  private final HostThrottle throttle;
+  private final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>(1024, PRIORITY);
+  private final Map<String, CompletableFuture<File>> requests = new ConcurrentHashMap<>();
+  private final AtomicLong seq = new AtomicLong();
+  private final ExecutorService workers;
+
+  /**
+   * @param threads       number of concurrent downloads, also the per-host limit
+   * @param minIntervalMs minimum delay between the start of two downloads
+   * @param noDownload    if true only cached pages are returned
+   */
+  PageFetcher(int threads, long minIntervalMs, String userAgent, boolean noDownload) {
+    this.userAgent = userAgent;
+    this.noDownload = noDownload;
+    this.throttle = new HostThrottle(threads, minIntervalMs);
+    this.workers = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      workers.submit(this::work);
+    }
+  }
+
+  /**
+   * Requests a page, downloading it into the given cache file unless it exists already.
+   * Repeated requests for the same file return the same future.
+   *
+   * @return future for the cached file, completed with null if the page could not be obtained
+   */
+  CompletableFuture<File> fetch(Kind kind, int depth, String url, File f) {
+    return requests.computeIfAbsent(f.getName(), k -> {
+      var result = new CompletableFuture<File>();
+      if (f.exists()) {
+        result.complete(f);
+      } else if (noDownload) {
+        LOG.debug("ASW: --no-download set, {} not cached", f.getName());
+        result.complete(null);
+      } else {
+        queue.add(new Task(kind, depth, seq.incrementAndGet(), url, f, result));
+      }
+      return result;
+    });
+  }
+
+  private Void work() throws InterruptedException {
+    while (!Thread.currentThread().isInterrupted()) {
+      Task t = queue.take();
+      try (var permit = throttle.acquire(URI.create(t.url))) {
+        LOG.debug("ASW: downloading {}", t.url);
+        Document doc = Jsoup.connect(t.url)
+            .userAgent(userAgent)
+            .timeout(20_000)
+            .get();
+        FileUtils.write(t.file, doc.outerHtml(), StandardCharsets.UTF_8);
+        t.result.complete(t.file);
+      } catch (InterruptedException e) {
+        t.result.complete(null);
+        throw e;
+      } catch (Exception e) {
+        LOG.warn("ASW: failed to download {}: {}", t.url, e.getMessage());
+        t.result.complete(null);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() {
+    workers.shutdownNow();
+  }
+}
@@ -1,12 +1,18 @@
 package org.catalogueoflife.data.biolib;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimi.dsi.fastutil.ints.*;
 import life.catalogue.api.vocab.Language;
+import life.catalogue.common.io.UTF8IoUtils;
 import life.catalogue.parser.LanguageParser;
 import life.catalogue.parser.RankParser;
 import life.catalogue.parser.UnparsableException;
 import org.apache.commons.lang3.StringUtils;
 import org.catalogueoflife.data.AbstractTextTreeGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
+import org.catalogueoflife.data.utils.HostThrottle;
 import org.gbif.nameparser.api.NomCode;
 import org.gbif.nameparser.api.Rank;
 import org.gbif.txtree.SimpleTreeNode;
@@ -16,10 +22,12 @@ import org.jsoup.nodes.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
+import java.io.*;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.regex.Pattern;
 
 public class Generator extends AbstractTextTreeGenerator {
@@ -27,58 +35,189 @@ public class Generator extends AbstractTextTreeGenerator {
   private static final URI TAXON = URI.create("https://www.biolib.cz/en/taxon/id");
   private static final URI NAME = URI.create("https://www.biolib.cz/en/taxonnames/id");
   private static final Pattern idPattern = Pattern.compile("/id(\\d+)/?$", Pattern.CASE_INSENSITIVE);
+  private static final long POLITENESS_DELAY_MS = 200;
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
   private int counter = 0;
   private long synID = -1;
   private final Language SCIENTIFIC = new Language("zz", "Scientific Names");
+  private final HostThrottle throttle;
+  // crawl state
+  private final Int2ObjectMap<SimpleTreeNode> nodes = new Int2ObjectOpenHashMap<>();
+  private final Int2IntMap childOrder = new Int2IntOpenHashMap();
+  private final IntSet seen = new IntOpenHashSet(); // crawled or queued
+  private final Deque<Pending> frontier = new ArrayDeque<>();
+  private Writer journal;
+
   public Generator(GeneratorConfig cfg) throws IOException {
     super(cfg, true);
+    throttle = new HostThrottle(cfg.biolibThreads, POLITENESS_DELAY_MS);
   }
 
+  /**
+   * A taxon id waiting to be crawled together with the id of its parent, 0 for the root.
+   */
+  record Pending(int id, int parent) {}
+
+  /**
+   * Everything scraped for a single BioLib taxon. Also the line format of the crawl journal.
+   */
+  record Scraped(int id, int parent, String name, Rank rank,
+                 List<String> synonyms, List<String> vernaculars, List<Integer> children) {}
+
+  /**
+   * Crawls the BioLib tree breadth first from the root id with a bounded pool of fetch threads.
+   * Every scraped taxon is appended to a journal in the sources directory, which doubles as the visited set.
+   * A restarted crawl replays the journal to rebuild the tree so far and derives the pending frontier
+   * from the children not crawled yet, so it resumes where it stopped.
+   */
   @Override
   protected void populateTree() throws Exception {
-    // recursively crawl all children of root
-    processTaxon(cfg.biolibRootID, null);
+    File crawlDir = new File(cfg.tmpDir(), "crawl-" + cfg.biolibRootID);
+    crawlDir.mkdirs();
+    File jf = new File(crawlDir, "journal.jsonl");
+    if (jf.exists()) {
+      replay(jf);
+    }
+    if (!seen.contains(cfg.biolibRootID)) {
+      seen.add(cfg.biolibRootID);
+      frontier.add(new Pending(cfg.biolibRootID, 0));
+    }
+    journal = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(jf, true), StandardCharsets.UTF_8));
+    try {
+      crawl();
+    } finally {
+      journal.close();
+    }
+    sortChildren();
     LOG.info("Scraping completed. Added {} taxa and {} synonyms to the tree.", counter, -1 * synID);
   }
 
-  static class XNode {
-    final SimpleTreeNode node;
-    final List<Integer> children = new ArrayList<>();
+  private void replay(File jf) throws IOException {
+    List<Pending> candidates = new ArrayList<>();
+    try (var br = UTF8IoUtils.readerFromFile(jf)) {
+      String line;
+      while ((line = br.readLine()) != null) {
+        Scraped s;
+        try {
+          s = MAPPER.readValue(line, Scraped.class);
+        } catch (JsonProcessingException e) {
+          LOG.warn("Ignore corrupt journal line {}", line);
+          continue; // truncated last line after a crash
+        }
+        if (!seen.contains(s.id())) {
+          add(s);
+          for (int cid : s.children()) {
+            candidates.add(new Pending(cid, s.id()));
+          }
+        }
+      }
+    }
+    for (Pending p : candidates) {
+      if (!seen.contains(p.id())) {
+        seen.add(p.id());
+        frontier.add(p);
+      }
+    }
+    LOG.info("Resume crawl with {} taxa from journal and {} pending", counter, frontier.size());
+  }
 
-    XNode(SimpleTreeNode node) {
-      this.node = node;
+  private void crawl() throws Exception {
+    final int threads = cfg.biolibThreads;
+    ExecutorService exec = Executors.newFixedThreadPool(threads);
+    CompletionService<Scraped> cs = new ExecutorCompletionService<>(exec);
+    int inFlight = 0;
+    try {
+      while (!frontier.isEmpty() || inFlight > 0) {
+        while (!frontier.isEmpty() && inFlight < threads * 2) {
+          Pending p = frontier.poll();
+          cs.submit(() -> scrapeWithRetry(p));
+          inFlight++;
+        }
+        Scraped s = cs.take().get();
+        inFlight--;
+        if (s != null) {
+          journal.write(MAPPER.writeValueAsString(s));
+          journal.write('\n');
+          add(s);
+          for (int cid : s.children()) {
+            if (!seen.contains(cid)) {
+              seen.add(cid);
+              frontier.add(new Pending(cid, s.id()));
+            }
+          }
+          if (counter % 1000 == 0) {
+            journal.flush();
+            LOG.info("Scraped {} taxa, {} pending", counter, frontier.size() + inFlight);
+          }
+        }
+      }
+    } finally {
+      exec.shutdownNow();
     }
   }
 
-  void processTaxon(Integer id, SimpleTreeNode parent) throws Exception {
+  /**
+   * Adds a scraped taxon to the tree. Parents are always scraped before their children.
+   */
+  private void add(Scraped s) {
+    final var tn = new SimpleTreeNode(s.id(), s.name(), s.rank(), false, new HashMap<>(), null);
+    for (String syn : s.synonyms()) {
+      tn.synonyms.add(new SimpleTreeNode(synID--, syn, null, false));
+    }
+    if (!s.vernaculars().isEmpty()){
+      tn.infos.put("VERN", s.vernaculars().toArray(new String[0]));
+    }
+    for (int i = 0; i < s.children().size(); i++) {
+      childOrder.put((int) s.children().get(i), i);
+    }
+    var parent = nodes.get(s.parent());
+    if (parent == null) {
+      tree.getRoot().add(tn);
+    } else {
+      parent.children.add(tn);
+    }
+    nodes.put(s.id(), tn);
+    seen.add(s.id());
+    counter++;
+  }
+
+  /**
+   * Children are attached in the order their pages arrive. Restore the order given on the BioLib parent pages.
+   */
+  private void sortChildren() {
+    Comparator<SimpleTreeNode> order = Comparator.comparingInt(n -> childOrder.get((int) n.id));
+    for (SimpleTreeNode n : nodes.values()) {
+      n.children.sort(order);
+    }
+  }
 
-    XNode xn = null;
+  private Scraped scrapeWithRetry(Pending p) throws InterruptedException {
     try {
-      xn = scrape(id);
+      return scrape(p);
+    } catch (InterruptedException e) {
+      throw e;
     } catch (Exception e) {
-      LOG.warn("Failed to scrape {}. Try once more!", id, e);
+      LOG.warn("Failed to scrape {}. Try once more!", p.id(), e);
       try {
-        xn = scrape(id);
+        return scrape(p);
+      } catch (InterruptedException e2) {
+        throw e2;
       } catch (Exception e2) {
-        LOG.warn("Failed to scrape {} again. Skip!", id, e2);
+        LOG.warn("Failed to scrape {} again. Skip!", p.id(), e2);
       }
     }
+    return null;
+  }
 
-    if (xn != null) {
-      if (parent == null) {
-        tree.getRoot().add(xn.node);
-      } else {
-        parent.children.add(xn.node);
-      }
-      // recursively process children
-      for (Integer cid : xn.children) {
-        processTaxon(cid, xn.node);
-      }
+  private String get(URI uri) throws IOException, InterruptedException {
+    try (var permit = throttle.acquire(uri)) {
+      return http.get(uri);
     }
   }
 
-  XNode scrape(Integer id) throws Exception {
-    var html = http.get(TAXON + id.toString());
+  Scraped scrape(Pending p) throws Exception {
+    var html = get(URI.create(TAXON.toString() + p.id()));
     final Document doc = Jsoup.parse(html);
 
     final var screen = doc.select("div#screen");
@@ -86,7 +225,7 @@ public class Generator extends AbstractTextTreeGenerator {
     final var name = header.select("strong:last-of-type");
 
     var nameTxt = name.text();
-    LOG.debug("process {} > {}: {}", ++counter, id, nameTxt);
+    LOG.debug("process {}: {}", p.id(), nameTxt);
 
     Optional<Rank> rank;
     try {
@@ -96,13 +235,13 @@ public class Generator extends AbstractTextTreeGenerator {
       rank = Optional.of(Rank.OTHER);
     }
 
-    final var tn = new SimpleTreeNode(id, nameTxt, rank.orElse(null), false, new HashMap<>(), null);
-
     // add synonyms & vernaculars - load name details
-    scrapeName(tn);
+    List<String> synonyms = new ArrayList<>();
+    List<String> vernaculars = new ArrayList<>();
+    scrapeName(p.id(), nameTxt, synonyms, vernaculars);
 
     // process children
-    XNode xn = new XNode(tn);
+    List<Integer> children = new ArrayList<>();
     var treearea = screen.select("div#system");
     for (var ca : treearea.select("div.treediv > a:first-child")) {
       if (ca.hasClass("img")) continue;
@@ -110,18 +249,16 @@ public class Generator extends AbstractTextTreeGenerator {
       var link = ca.attr("href");
       var m = idPattern.matcher(link);
       if (m.find()) {
-        xn.children.add(Integer.parseInt(m.group(1)));
+        children.add(Integer.parseInt(m.group(1)));
       } else {
         LOG.warn("Cant extract child identifier from link {}", link);
       }
     }
-    return xn;
+    return new Scraped(p.id(), p.parent(), nameTxt, rank.orElse(null), synonyms, vernaculars, children);
   }
 
-  void scrapeName(SimpleTreeNode tn) throws Exception {
-    List<String> vnames = new ArrayList<>();
-
-    var html = http.get(NAME + String.valueOf(tn.id));
+  void scrapeName(int id, String name, List<String> synonyms, List<String> vnames) throws Exception {
+    var html = get(URI.create(NAME.toString() + id));
     Document ndoc = Jsoup.parse(html);
     var synList = ndoc.select("div#screen div.item-list-box").first();
     var syns = synList.select("div.item-list-item");
@@ -137,9 +274,8 @@ public class Generator extends AbstractTextTreeGenerator {
         if (StringUtils.isBlank(n2)) continue;
         if (lang != null && lang.equals(SCIENTIFIC)) {
           // synonym?
-          if (!n2.toLowerCase().startsWith(tn.name.toLowerCase())) {
-            var s = new SimpleTreeNode(synID--, n2, null, false);
-            tn.synonyms.add(s);
+          if (!n2.toLowerCase().startsWith(name.toLowerCase())) {
+            synonyms.add(n2);
           }
 
         } else if (lang != null){
@@ -157,10 +293,6 @@ public class Generator extends AbstractTextTreeGenerator {
         }
       }
     }
-
-    if (!vnames.isEmpty()){
-      tn.infos.put("VERN", vnames.toArray(new String[0]));
-    }
   }
 
   @Override
@@ -16,12 +16,12 @@
 package org.catalogueoflife.data.birdlife;
 
 import life.catalogue.api.vocab.TaxonomicStatus;
+import life.catalogue.common.io.TermWriter;
 import life.catalogue.coldp.ColdpTerm;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
 import org.catalogueoflife.data.AbstractXlsSrcGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
+import org.catalogueoflife.data.utils.XlsxStreamReader.XlsRow;
 import org.gbif.nameparser.api.NomCode;
 import org.gbif.nameparser.api.Rank;
 
@@ -56,8 +56,15 @@ public class Generator extends AbstractXlsSrcGenerator {
   private static final int COL_SISRecID = 14;
   private static final int COL_SubsppID = 16;
 
+  private static final Pattern REF_LINK_PATTERN = Pattern.compile("(?:Available at)? ?:? ?#(http.+)# ?\\.?", Pattern.CASE_INSENSITIVE);
+  private static final Pattern NO_AUTHOR = Pattern.compile("[\\d():]");
+  private final Map<String, Integer> refs = new HashMap<>();
+  private int refID = 1;
+  private String spID;
+  private TermWriter vWriter;
+
   public Generator(GeneratorConfig cfg) throws IOException {
-    super(cfg, true, DOWNLOAD);
+    super(cfg, true, DOWNLOAD, true);
   }
 
   @Override
@@ -84,142 +91,137 @@ public class Generator extends AbstractXlsSrcGenerator {
         ColdpTerm.citation,
         ColdpTerm.link
     ));
-    var vWriter = additionalWriter(ColdpTerm.VernacularName, List.of(
+    vWriter = additionalWriter(ColdpTerm.VernacularName, List.of(
         ColdpTerm.taxonID,
         ColdpTerm.language,
         ColdpTerm.name
     ));
 
-    final Pattern REF_LINK_PATTERN = Pattern.compile("(?:Available at)? ?:? ?#(http.+)# ?\\.?", Pattern.CASE_INSENSITIVE);
-    final Pattern NO_AUTHOR = Pattern.compile("[\\d():]");
-    final Map<String, Integer> refs = new HashMap<>();
-    int refID = 1;
-
-    Sheet sheet = wb.getSheetAt(SHEET_IDX);
-    int rows = sheet.getPhysicalNumberOfRows();
-    LOG.info("{} rows found in excel sheet", rows);
-
-    Iterator<Row> iter = sheet.rowIterator();
-    String spID = null;
-    while (iter.hasNext()) {
-      Row row = iter.next();
-      if (row.getRowNum()+1 <= SKIP_ROWS) continue;
-
-      final String sort = col(row, COL_SORT);
-      final String sort2 = col(row, COL_SSP_SORT);
-
-      if (row.getRowNum() > 30_000 && sort == null && sort2 == null) {
-        // we have reached the end.
-        // not recognized concepts follow now which we don't want to include!
-        LOG.info("End of regular taxonomy detected on row {}", row.getRowNum());
-        break;
-      }
+    int rows = streamRows(SHEET_IDX, false, this::addRow);
+    LOG.info("{} rows read from excel sheet", rows);
+  }
 
-      String id;
-      Rank rank;
-      if (sort2.equals("0")) {
-        id = col(row, COL_SISRecID);
-        spID = id;
-        rank = Rank.SPECIES;
-        writer.set(ColdpTerm.ordinal, sort);
-        String ord = col(row, COL_ORDER);
-        if (ord != null) {
-          writer.set(ColdpTerm.order, StringUtils.capitalize(ord.toLowerCase()));
-        }
-        writer.set(ColdpTerm.family, col(row, COL_FAMILY));
-        writer.set(ColdpTerm.subfamily, col(row, COL_SUBFAMILY));
-        writer.set(ColdpTerm.tribe, col(row, COL_TRIBE));
-      } else {
-        id = col(row, COL_SubsppID);
-        rank = Rank.SUBSPECIES;
-        writer.set(ColdpTerm.parentID, spID);
-        writer.set(ColdpTerm.ordinal, sort2);
+  /**
+   * @return false once the end of the regular taxonomy is reached
+   */
+  private boolean addRow(XlsRow row) throws IOException {
+    if (row.getRowNum()+1 <= SKIP_ROWS) return true;
+
+    final String sort = col(row, COL_SORT);
+    final String sort2 = col(row, COL_SSP_SORT);
+
+    if (row.getRowNum() > 30_000 && sort == null && sort2 == null) {
+      // we have reached the end.
+      // not recognized concepts follow now which we don't want to include!
+      LOG.info("End of regular taxonomy detected on row {}", row.getRowNum());
+      return false;
+    }
+
+    String id;
+    Rank rank;
+    if (sort2.equals("0")) {
+      id = col(row, COL_SISRecID);
+      spID = id;
+      rank = Rank.SPECIES;
+      writer.set(ColdpTerm.ordinal, sort);
+      String ord = col(row, COL_ORDER);
+      if (ord != null) {
+        writer.set(ColdpTerm.order, StringUtils.capitalize(ord.toLowerCase()));
       }
-      writer.set(ColdpTerm.ID, id);
-      writer.set(ColdpTerm.status, TaxonomicStatus.ACCEPTED);
-      writer.set(ColdpTerm.authorship, col(row, COL_AUTHORITY));
-      writer.set(ColdpTerm.scientificName, col(row, COL_SCINAME));
-      writer.set(ColdpTerm.authorship, col(row, COL_AUTHORITY));
-      writer.set(ColdpTerm.code, NomCode.ZOOLOGICAL.getAcronym());
-      writer.set(ColdpTerm.rank, rank.name());
-
-      String sources = col(row, COL_SOURCES);
-      List<String> refIDs = new ArrayList<>();
-      if (sources != null) {
-        var srcs = sources.split(";");
-        StringBuilder refBuilder = new StringBuilder();
-        for (String ref : srcs) {
-          ref = StringUtils.trimToNull(ref);
-          if (ref != null) {
-            //  some authors are concatenated by semicolon :( we merge them with the next bits
-            //  Baker, A. J.
-            //  Dekker, R. W. R. J.
-            refBuilder.append(ref);
-            if (!NO_AUTHOR.matcher(ref).find()) {
-              refBuilder.append("; ");
-              continue;
-            }
-            ref = refBuilder.toString();
-            refBuilder = new StringBuilder();
-            String link = null;
-            // Available at: #http://www.aerc.eu/DOCS/Bird_taxa_of _the_WP15.xls#.
-            var m = REF_LINK_PATTERN.matcher(ref);
-            if (m.find()) {
-              link = m.group(1);
-              ref = m.replaceFirst("");
-            }
-
-            String refKey = ref.toLowerCase().replaceAll("[ .,-]", "");
-            if (refs.containsKey(refKey)) {
-              refIDs.add(refs.get(refKey).toString());
-            } else {
-              refWriter.set(ColdpTerm.ID, refID);
-              refWriter.set(ColdpTerm.citation, ref);
-              refWriter.set(ColdpTerm.link, link);
-              refWriter.next();
-              refs.put(refKey, refID);
-              refIDs.add(String.valueOf(refID));
-              refID++;
-            }
+      writer.set(ColdpTerm.family, col(row, COL_FAMILY));
+      writer.set(ColdpTerm.subfamily, col(row, COL_SUBFAMILY));
+      writer.set(ColdpTerm.tribe, col(row, COL_TRIBE));
+    } else {
+      id = col(row, COL_SubsppID);
+      rank = Rank.SUBSPECIES;
+      writer.set(ColdpTerm.parentID, spID);
+      writer.set(ColdpTerm.ordinal, sort2);
+    }
+    writer.set(ColdpTerm.ID, id);
+    writer.set(ColdpTerm.status, TaxonomicStatus.ACCEPTED);
+    writer.set(ColdpTerm.authorship, col(row, COL_AUTHORITY));
+    writer.set(ColdpTerm.scientificName, col(row, COL_SCINAME));
+    writer.set(ColdpTerm.authorship, col(row, COL_AUTHORITY));
+    writer.set(ColdpTerm.code, NomCode.ZOOLOGICAL.getAcronym());
+    writer.set(ColdpTerm.rank, rank.name());
+
+    String sources = col(row, COL_SOURCES);
+    List<String> refIDs = new ArrayList<>();
+    if (sources != null) {
+      var srcs = sources.split(";");
+      StringBuilder refBuilder = new StringBuilder();
+      for (String ref : srcs) {
+        ref = StringUtils.trimToNull(ref);
+        if (ref != null) {
+          //  some authors are concatenated by semicolon :( we merge them with the next bits
+          //  Baker, A. J.
+          //  Dekker, R. W. R. J.
+          refBuilder.append(ref);
+          if (!NO_AUTHOR.matcher(ref).find()) {
+            refBuilder.append("; ");
+            continue;
+          }
+          ref = refBuilder.toString();
+          refBuilder = new StringBuilder();
+          String link = null;
+          // Available at: #http://www.aerc.eu/DOCS/Bird_taxa_of _the_WP15.xls#.
+          var m = REF_LINK_PATTERN.matcher(ref);
+          if (m.find()) {
+            link = m.group(1);
+            ref = m.replaceFirst("");
+          }
+
+          String refKey = ref.toLowerCase().replaceAll("[ .,-]", "");
+          if (refs.containsKey(refKey)) {
+            refIDs.add(refs.get(refKey).toString());
+          } else {
+            refWriter.set(ColdpTerm.ID, refID);
+            refWriter.set(ColdpTerm.citation, ref);
+            refWriter.set(ColdpTerm.link, link);
+            refWriter.next();
+            refs.put(refKey, refID);
+            refIDs.add(String.valueOf(refID));
+            refID++;
           }
         }
       }
-      if (!refIDs.isEmpty()) {
-        writer.set(ColdpTerm.referenceID, String.join(",", refIDs));
-      }
-      writer.next();
-
-      String syns = col(row, COL_SYNONYMS);
-      if (!StringUtils.isBlank(syns)) {
-        int x = 1;
-        for (String syn : syns.split(";")) {
-          if (!StringUtils.isBlank(syn)) {
-            writer.set(ColdpTerm.ID, String.format("%s-s%s",id,x));
-            writer.set(ColdpTerm.parentID, id);
-            writer.set(ColdpTerm.scientificName, syn.trim());
-            writer.set(ColdpTerm.status, TaxonomicStatus.SYNONYM);
-            writer.set(ColdpTerm.code, NomCode.ZOOLOGICAL.getAcronym());
-            writer.next();
-            x++;
-          }
+    }
+    if (!refIDs.isEmpty()) {
+      writer.set(ColdpTerm.referenceID, String.join(",", refIDs));
+    }
+    writer.next();
+
+    String syns = col(row, COL_SYNONYMS);
+    if (!StringUtils.isBlank(syns)) {
+      int x = 1;
+      for (String syn : syns.split(";")) {
+        if (!StringUtils.isBlank(syn)) {
+          writer.set(ColdpTerm.ID, String.format("%s-s%s",id,x));
+          writer.set(ColdpTerm.parentID, id);
+          writer.set(ColdpTerm.scientificName, syn.trim());
+          writer.set(ColdpTerm.status, TaxonomicStatus.SYNONYM);
+          writer.set(ColdpTerm.code, NomCode.ZOOLOGICAL.getAcronym());
+          writer.next();
+          x++;
         }
       }
+    }
 
-      List<String> verns = new ArrayList<>();
-      verns.add(col(row, COL_VERNACULAR));
-      String altV = col(row, COL_ALT_VERNACULARS);
-      if (!StringUtils.isBlank(altV)) {
-        verns.addAll(Arrays.asList(altV.split(",")));
-      }
-      for (String v : verns) {
-        if (!StringUtils.isBlank(v)) {
-          vWriter.set(ColdpTerm.taxonID, id);
-          vWriter.set(ColdpTerm.language, "eng");
-          vWriter.set(ColdpTerm.name, StringUtils.trimToNull(v));
-          vWriter.next();
-        }
+    List<String> verns = new ArrayList<>();
+    verns.add(col(row, COL_VERNACULAR));
+    String altV = col(row, COL_ALT_VERNACULARS);
+    if (!StringUtils.isBlank(altV)) {
+      verns.addAll(Arrays.asList(altV.split(",")));
+    }
+    for (String v : verns) {
+      if (!StringUtils.isBlank(v)) {
+        vWriter.set(ColdpTerm.taxonID, id);
+        vWriter.set(ColdpTerm.language, "eng");
+        vWriter.set(ColdpTerm.name, StringUtils.trimToNull(v));
+        vWriter.next();
       }
     }
+    return true;
   }
 
 
@@ -0,0 +1,160 @@
+package org.catalogueoflife.data.colac;
+
+import life.catalogue.common.io.UTF8IoUtils;
+import org.catalogueoflife.data.GeneratorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds several annual checklists in a single JVM, e.g. {@code -s colac --years 2000,2002-2019}.
+ *
+ * Each year is converted by its own {@link Generator} into {@code <repository>/<year>/colac.zip},
+ * the same layout as separate runs with {@code --year <year> -r <repository>/<year>}.
+ * Years are built concurrently, as many as the connection limit {@code --db-connections} and the
+ * maximum heap allow. Every year uses up to {@link Generator#CONNECTIONS} connections and is
+ * assumed to need {@code --year-heap} MB.
+ *
+ * A failing year is logged and does not stop the others. The timings of all years are written to
+ * {@code <repository>/colac-summary.tsv}; if any year failed the batch fails at the end.
+ */
+public class AnnualBatch implements Runnable {
+  private static final Logger LOG = LoggerFactory.getLogger(AnnualBatch.class);
+  static final String SUMMARY_FILE = "colac-summary.tsv";
+
+  private final GeneratorConfig cfg;
+  private final List<Integer> years;
+
+  record Result(int year, boolean success, long millis, String error) {}
+
+  public AnnualBatch(GeneratorConfig cfg) {
+    this.cfg = cfg;
+    this.years = parseYears(cfg.years);
+    if (years.isEmpty()) {
+      throw new IllegalArgumentException("--years contains no year: " + cfg.years);
+    }
+  }
+
+  /**
+   * Parses a list of years and year ranges separated by commas or whitespace, e.g. {@code 2000,2002-2019}.
+   * Ranges skip 2001 which was never released. Duplicates are removed, the order is kept.
+   */
+  static List<Integer> parseYears(String spec) {
+    Set<Integer> years = new LinkedHashSet<>();
+    if (spec != null) {
+      for (String tok : spec.trim().split("[,\\s]+")) {
+        if (tok.isEmpty()) continue;
+        int dash = tok.indexOf('-');
+        if (dash > 0) {
+          int from = Integer.parseInt(tok.substring(0, dash));
+          int to = Integer.parseInt(tok.substring(dash + 1));
+          if (to < from) {
+            throw new IllegalArgumentException("Invalid year range " + tok);
+          }
+          for (int y = from; y <= to; y++) {
+            if (y != 2001) years.add(y);
+          }
+        } else {
+          years.add(Integer.parseInt(tok));
+        }
+      }
+    }
+    return new ArrayList<>(years);
+  }
+
+  /**
+   * @return number of years to build at the same time
+   */
+  static int parallelism(int years, int dbConnections, long maxHeapMb, int yearHeapMb) {
+    long byConnections = dbConnections / Generator.CONNECTIONS;
+    long byHeap = maxHeapMb / Math.max(1, yearHeapMb);
+    return (int) Math.max(1, Math.min(years, Math.min(byConnections, byHeap)));
+  }
+
+  @Override
+  public void run() {
+    long maxHeapMb = Runtime.getRuntime().maxMemory() / (1024 * 1024);
+    int threads = parallelism(years.size(), cfg.dbConnections, maxHeapMb, cfg.yearHeap);
+    LOG.info("Building {} annual checklists {} with {} concurrent years ({} connections, {} MB heap)",
+        years.size(), years, threads, cfg.dbConnections, maxHeapMb);
+
+    List<Result> results = new ArrayList<>();
+    ExecutorService exec = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Result>> tasks = new ArrayList<>();
+      for (int y : years) {
+        tasks.add(exec.submit(() -> build(y)));
+      }
+      for (Future<Result> f : tasks) {
+        results.add(f.get());
+      }
+      writeSummary(results);
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while building annual checklists", e);
+    } catch (ExecutionException | IOException e) {
+      throw new RuntimeException(e);
+    } finally {
+      exec.shutdownNow();
+    }
+
+    List<Integer> failed = results.stream().filter(r -> !r.success).map(Result::year).toList();
+    if (!failed.isEmpty()) {
+      throw new IllegalStateException("Failed to build annual checklists " + failed);
+    }
+  }
+
+  private Result build(int year) {
+    Thread.currentThread().setName("colac-" + year);
+    long start = System.currentTimeMillis();
+    try {
+      new Generator(yearConfig(year)).run();
+      long millis = System.currentTimeMillis() - start;
+      LOG.info("Annual checklist {} built in {}s", year, millis / 1000);
+      return new Result(year, true, millis, null);
+
+    } catch (Throwable e) {
+      // also catch Errors, e.g. an OutOfMemoryError of a large year must not stop the smaller ones
+      LOG.error("Failed to build annual checklist {}", year, e);
+      return new Result(year, false, System.currentTimeMillis() - start, String.valueOf(e));
+    }
+  }
+
+  /**
+   * Per-year copy of the complete configuration with its own archive and source directory.
+   */
+  GeneratorConfig yearConfig(int year) {
+    GeneratorConfig yc = cfg.copy();
+    yc.repository = new File(cfg.repository, String.valueOf(year));
+    yc.tmpSourceDir = new File(cfg.tmpSourceDir, String.valueOf(year));
+    yc.year = year;
+    yc.years = null;
+    return yc;
+  }
+
+  private void writeSummary(List<Result> results) throws IOException {
+    cfg.repository.mkdirs();
+    File f = new File(cfg.repository, SUMMARY_FILE);
+    try (Writer w = UTF8IoUtils.writerFromFile(f)) {
+      w.write("year\tstatus\tseconds\terror\n");
+      for (Result r : results) {
+        w.write(r.year + "\t" + (r.success ? "ok" : "failed") + "\t" + r.millis / 1000 + "\t"
+            + (r.error == null ? "" : r.error.replaceAll("\\s+", " ")) + "\n");
+        LOG.info("{} {} {}s", r.year, r.success ? "ok    " : "FAILED", r.millis / 1000);
+      }
+    }
+    LOG.info("Annual checklist timings written to {}", f);
+  }
+}
@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -29,8 +30,11 @@ import java.util.regex.Matcher;
  *   2012–2019 → {@link NewSchemaReader} (Species 2000 format with {@code _taxon_tree}/{@code _search_scientific} helper tables)
  *
  * Run with: {@code -s colac --year 2015 [--db-host ... --db-port ... --db-user ... --db-pass ...]}
+ * or build several years in one run with {@code --years}, see {@link AnnualBatch}.
  */
 public class Generator extends AbstractColdpGenerator {
+  // maximum number of connections open at the same time: the main one plus one per concurrent stage
+  static final int CONNECTIONS = 1 + SchemaReader.STAGE_THREADS;
 
   // Per-year metadata (title, editors, publisher, scopes, …) lives in explicit YAML files under
   // resources/colac/metadata/<year>.yaml, compiled from the editor's metadata spreadsheet
@@ -65,15 +69,8 @@ public class Generator extends AbstractColdpGenerator {
   protected void addData() throws Exception {
     // explicitly register the driver: the shaded fat JAR does not merge JDBC service files
     Class.forName("org.mariadb.jdbc.Driver");
-    String url = String.format("jdbc:mariadb://%s:%d/%s", cfg.dbHost, cfg.dbPort, dbName);
-    LOG.info("Connecting to {} as user {}", url, cfg.dbUser);
-    try (Connection conn = DriverManager.getConnection(url, cfg.dbUser, cfg.dbPass)) {
-      // allow large GROUP_CONCAT and relax ONLY_FULL_GROUP_BY for grouped helper queries
-      try (Statement st = conn.createStatement()) {
-        st.execute("SET SESSION group_concat_max_len = 1000000000");
-        st.execute("SET SESSION sql_mode = ''");
-      }
-
+    LOG.info("Connecting to {} as user {}", url(), cfg.dbUser);
+    try (Connection conn = connect()) {
       newWriter(ColdpTerm.NameUsage, List.of(
           ColdpTerm.ID,
           ColdpTerm.sourceID,
@@ -125,6 +122,27 @@ public class Generator extends AbstractColdpGenerator {
     }
   }
 
+  private String url() {
+    return String.format("jdbc:mariadb://%s:%d/%s", cfg.dbHost, cfg.dbPort, dbName);
+  }
+
+  /**
+   * Opens a new connection to the year's database with the session settings the readers rely on.
+   * The readers open further connections to stream independent tables concurrently.
+   */
+  Connection connect() throws SQLException {
+    Connection conn = DriverManager.getConnection(url(), cfg.dbUser, cfg.dbPass);
+    try (Statement st = conn.createStatement()) {
+      // allow large GROUP_CONCAT and relax ONLY_FULL_GROUP_BY for grouped helper queries
+      st.execute("SET SESSION group_concat_max_len = 1000000000");
+      st.execute("SET SESSION sql_mode = ''");
+    } catch (SQLException e) {
+      conn.close();
+      throw e;
+    }
+    return conn;
+  }
+
   /** Each year has its own explicit metadata file under resources/colac/metadata/. */
   @Override
   protected String metadataTemplatePath() {
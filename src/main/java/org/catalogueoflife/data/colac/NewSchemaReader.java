@@ -1,6 +1,5 @@
 package org.catalogueoflife.data.colac;
 
-import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import life.catalogue.coldp.ColdpTerm;
@@ -13,6 +12,9 @@ import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.catalogueoflife.data.colac.ColacMappings.*;
 
@@ -43,10 +45,7 @@ class NewSchemaReader extends SchemaReader {
     Map<Integer, String> regionGazetteer = new HashMap<>();
     loadRegions(regionName, regionGazetteer);
 
-    Int2IntOpenHashMap childParent = new Int2IntOpenHashMap();
-    childParent.defaultReturnValue(0);
-    Int2ObjectOpenHashMap<String> kingdomRoot = new Int2ObjectOpenHashMap<>();
-    loadTaxonTree(childParent, kingdomRoot);
+    TaxonTree tree = loadTaxonTree();
 
     IntOpenHashSet provisional = loadProvisional(provisionalStatusId);
 
@@ -61,14 +60,22 @@ class NewSchemaReader extends SchemaReader {
     Int2ObjectOpenHashMap<Set<String>> comNameRef = loadCommonNameRefs();
 
     loadSources();
-    writeReferences();
 
-    int nAcc = emitAccepted(childParent, kingdomRoot, provisional, nameRefTaxon, taxonRefTaxon);
-    int nSyn = emitSynonyms(statusLabels, nameRefSyn, taxonRefSyn);
-    int nVern = emitVernaculars(comNameRef);
-    int nDist = emitDistributions(regionName, regionGazetteer, distStatus);
-    LOG.info("New schema done: {} accepted, {} synonyms, {} vernaculars, {} distributions",
-        nAcc, nSyn, nVern, nDist);
+    // all lookups are loaded and only read from here on. References, vernaculars and
+    // distributions each own their writer and are streamed concurrently on their own connection,
+    // while the name usages are written from this connection.
+    ExecutorService exec = Executors.newFixedThreadPool(STAGE_THREADS);
+    try {
+      Future<Integer> nRef = submit(exec, this::writeReferences);
+      Future<Integer> nVern = submit(exec, c -> emitVernaculars(c, comNameRef));
+      Future<Integer> nDist = submit(exec, c -> emitDistributions(c, regionName, regionGazetteer, distStatus));
+      int nAcc = emitAccepted(conn, tree, provisional, nameRefTaxon, taxonRefTaxon);
+      int nSyn = emitSynonyms(conn, statusLabels, nameRefSyn, taxonRefSyn);
+      LOG.info("New schema done: {} accepted, {} synonyms, {} references, {} vernaculars, {} distributions",
+          nAcc, nSyn, nRef.get(), nVern.get(), nDist.get());
+    } finally {
+      exec.shutdownNow();
+    }
   }
 
   private Map<Integer, String> loadIntString(String sql) throws Exception {
@@ -104,17 +111,20 @@ class NewSchemaReader extends SchemaReader {
     LOG.info("Loaded {} regions", regionName.size());
   }
 
-  private void loadTaxonTree(Int2IntOpenHashMap childParent, Int2ObjectOpenHashMap<String> kingdomRoot) throws Exception {
+  private TaxonTree loadTaxonTree() throws Exception {
+    TaxonTree.Builder b = TaxonTree.builder();
+    int kingdoms = 0;
     try (Statement st = streamStmt();
-         ResultSet rs = st.executeQuery("SELECT taxon_id, parent_id, name FROM _taxon_tree")) {
+         ResultSet rs = st.executeQuery("SELECT taxon_id, parent_id, `rank`, name FROM _taxon_tree")) {
       while (rs.next()) {
-        int id = rs.getInt("taxon_id");
         int parent = rs.getInt("parent_id");
-        childParent.put(id, parent);
-        if (parent == 0) kingdomRoot.put(id, rs.getString("name"));
+        if (parent == 0) kingdoms++;
+        b.add(rs.getInt("taxon_id"), parent, rs.getString("rank"), rs.getString("name"));
       }
     }
-    LOG.info("Loaded {} taxon tree nodes, {} kingdoms", childParent.size(), kingdomRoot.size());
+    TaxonTree tree = b.build();
+    LOG.info("Loaded {} taxon tree nodes, {} kingdoms", tree.size(), kingdoms);
+    return tree;
   }
 
   private IntOpenHashSet loadProvisional(int provisionalStatusId) throws Exception {
@@ -179,9 +189,9 @@ class NewSchemaReader extends SchemaReader {
     LOG.info("Loaded {} source databases (GSDs)", n);
   }
 
-  private void writeReferences() throws Exception {
+  private int writeReferences(Connection c) throws Exception {
     int n = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery("SELECT id, authors, year, title, text FROM `reference`")) {
       while (rs.next()) {
         Generator.set(refW, ColdpTerm.ID, "r" + rs.getInt("id"));
@@ -194,23 +204,14 @@ class NewSchemaReader extends SchemaReader {
       }
     }
     LOG.info("Wrote {} references", n);
+    return n;
   }
 
-  private String kingdomOf(int id, Int2IntOpenHashMap childParent, Int2ObjectOpenHashMap<String> kingdomRoot) {
-    int cur = id;
-    for (int guard = 0; guard < 50; guard++) {
-      int p = childParent.get(cur);
-      if (p == 0) return kingdomRoot.get(cur);
-      cur = p;
-    }
-    return null;
-  }
-
-  private int emitAccepted(Int2IntOpenHashMap childParent, Int2ObjectOpenHashMap<String> kingdomRoot,
-                           IntOpenHashSet provisional, Int2ObjectOpenHashMap<String> nameRef,
+  private int emitAccepted(Connection c, TaxonTree tree, IntOpenHashSet provisional,
+                           Int2ObjectOpenHashMap<String> nameRef,
                            Int2ObjectOpenHashMap<Set<String>> taxonRef) throws Exception {
     int n = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery(
              "SELECT tt.taxon_id, tt.parent_id, tt.name, tt.rank, ss.author, ss.source_database_id " +
              "FROM _taxon_tree tt " +
@@ -223,7 +224,7 @@ class NewSchemaReader extends SchemaReader {
         Generator.set(nameW, ColdpTerm.rank, lc(rs.getString("rank")));
         Generator.set(nameW, ColdpTerm.scientificName, rs.getString("name"));
         Generator.set(nameW, ColdpTerm.authorship, rs.getString("author"));
-        Generator.set(nameW, ColdpTerm.code, nomCode(kingdomOf(id, childParent, kingdomRoot)));
+        Generator.set(nameW, ColdpTerm.code, nomCode(tree.kingdom(id)));
         int dbId = rs.getInt("source_database_id");
         if (dbId > 0) Generator.set(nameW, ColdpTerm.sourceID, "d" + dbId);
         Generator.set(nameW, ColdpTerm.status, provisional.contains(id) ? "provisionally accepted" : "accepted");
@@ -237,10 +238,10 @@ class NewSchemaReader extends SchemaReader {
     return n;
   }
 
-  private int emitSynonyms(Map<Integer, String> statusLabels, Int2ObjectOpenHashMap<String> nameRef,
+  private int emitSynonyms(Connection c, Map<Integer, String> statusLabels, Int2ObjectOpenHashMap<String> nameRef,
                            Int2ObjectOpenHashMap<Set<String>> taxonRef) throws Exception {
     int n = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery(
              "SELECT id, genus, species, infraspecies, infraspecific_marker, author, status, " +
              "accepted_species_id, source_database_id, kingdom " +
@@ -270,9 +271,9 @@ class NewSchemaReader extends SchemaReader {
     return n;
   }
 
-  private int emitVernaculars(Int2ObjectOpenHashMap<Set<String>> comNameRef) throws Exception {
+  private int emitVernaculars(Connection c, Int2ObjectOpenHashMap<Set<String>> comNameRef) throws Exception {
     int n = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery(
              "SELECT cn.id, cn.taxon_id, cne.name, cn.language_iso, cn.country_iso " +
              "FROM common_name cn JOIN common_name_element cne ON cne.id = cn.common_name_element_id")) {
@@ -293,10 +294,10 @@ class NewSchemaReader extends SchemaReader {
     return n;
   }
 
-  private int emitDistributions(Map<Integer, String> regionName, Map<Integer, String> regionGazetteer,
+  private int emitDistributions(Connection c, Map<Integer, String> regionName, Map<Integer, String> regionGazetteer,
                                 Map<Integer, String> distStatus) throws Exception {
     int n = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery(
              "SELECT taxon_detail_id, region_id, distribution_status_id FROM distribution")) {
       while (rs.next()) {
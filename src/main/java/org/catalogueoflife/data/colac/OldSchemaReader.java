@@ -13,6 +13,9 @@ import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.catalogueoflife.data.colac.ColacMappings.*;
 
@@ -49,7 +52,7 @@ class OldSchemaReader extends SchemaReader {
 
     Map<Integer, String> familyKingdom = loadFamilyKingdom();
 
-    // accepted classification tree: child→parent + the kingdom name at each root; the set of
+    // accepted classification tree: child→parent + a TaxonTree index for the kingdoms; the set of
     // accepted taxa record_ids (used to repair dangling parent links); plus the accepted
     // name_code→ColDP id map. Only ACCEPTED taxa nodes are mapped: a non-accepted node is never
     // emitted, so a reference resolved to it would dangle (synonym parentID, vernacular/distribution
@@ -58,12 +61,13 @@ class OldSchemaReader extends SchemaReader {
     // neededParents collects every parent_id referenced by an accepted node (to bound the repair).
     Int2IntOpenHashMap childParent = new Int2IntOpenHashMap();
     childParent.defaultReturnValue(0);
-    Int2ObjectOpenHashMap<String> kingdomRoot = new Int2ObjectOpenHashMap<>();
+    TaxonTree.Builder treeBuilder = TaxonTree.builder();
     IntOpenHashSet acceptedTaxa = new IntOpenHashSet();
     Map<String, String> acceptedNameCodeToId = new HashMap<>();
     Map<String, Integer> acceptedByNameParent = new HashMap<>();
     IntOpenHashSet neededParents = new IntOpenHashSet();
-    loadTaxaTree(childParent, kingdomRoot, acceptedTaxa, acceptedNameCodeToId, acceptedByNameParent, neededParents);
+    loadTaxaTree(childParent, treeBuilder, acceptedTaxa, acceptedNameCodeToId, acceptedByNameParent, neededParents);
+    TaxonTree tree = treeBuilder.build();
 
     // synonym name_code → its declared accepted_name_code, used to follow synonym→synonym chains
     // (the 2005–2011 ITIS data has accepted_name_code values that are themselves synonyms) down to
@@ -78,24 +82,33 @@ class OldSchemaReader extends SchemaReader {
     loadRefLinks(nameRef, taxonRef, comNameRef);
 
     loadSources();
-    writeReferences();
-
-    int nAcc = emitAccepted(childParent, kingdomRoot, acceptedTaxa,
-        // repair infraspecies whose parent species is a synonym: accepted homonym of the same
-        // binomial (Monarda fistulosa L., not the synonym Sims), else the synonym's accepted species
-        // via accepted_name_code (e.g. Stipa nelsonii → Achnatherum nelsonii), else the genus.
-        buildRepairedParents(neededParents, acceptedByNameParent, acceptedNameCodeToId, synAcceptedCode),
-        accInfo, nameRef, taxonRef);
-    // Some accepted names exist in scientific_names (status 1/2) but have no node in the taxa tree
-    // (the source lists them with an empty Classification, e.g. Achaearanea hirta (Taczanowski)).
-    // Emit them as accepted but parentless, so synonyms can link to their real accepted name.
-    int nMiss = emitMissingAccepted(statusLabels, acceptedIds, familyKingdom, acceptedNameCodeToId, nameRef, taxonRef);
-    int[] syn = emitSynonyms(statusLabels, synonymIds, familyKingdom, acceptedNameCodeToId, synAcceptedCode, nameRef, taxonRef);
-    int nVern = emitVernaculars(acceptedNameCodeToId, synAcceptedCode, comNameRef);
-    int nDist = emitDistributions(acceptedNameCodeToId, synAcceptedCode);
-    LOG.info("Old schema done: {} accepted (+{} accepted without classification), {} synonyms, " +
-        "{} bare names (synonym without accepted name), {} vernaculars, {} distributions",
-        nAcc, nMiss, syn[0], syn[1], nVern, nDist);
+
+    // all lookups are loaded and only read from here on, except acceptedNameCodeToId which is
+    // completed by emitMissingAccepted. References, vernaculars and distributions each own their
+    // writer and are streamed concurrently on their own connection, while the name usages are
+    // written from this connection.
+    ExecutorService exec = Executors.newFixedThreadPool(STAGE_THREADS);
+    try {
+      Future<Integer> nRef = submit(exec, this::writeReferences);
+      int nAcc = emitAccepted(conn, childParent, tree, acceptedTaxa,
+          // repair infraspecies whose parent species is a synonym: accepted homonym of the same
+          // binomial (Monarda fistulosa L., not the synonym Sims), else the synonym's accepted species
+          // via accepted_name_code (e.g. Stipa nelsonii → Achnatherum nelsonii), else the genus.
+          buildRepairedParents(neededParents, acceptedByNameParent, acceptedNameCodeToId, synAcceptedCode),
+          accInfo, nameRef, taxonRef);
+      // Some accepted names exist in scientific_names (status 1/2) but have no node in the taxa tree
+      // (the source lists them with an empty Classification, e.g. Achaearanea hirta (Taczanowski)).
+      // Emit them as accepted but parentless, so synonyms can link to their real accepted name.
+      int nMiss = emitMissingAccepted(conn, statusLabels, acceptedIds, familyKingdom, acceptedNameCodeToId, nameRef, taxonRef);
+      Future<Integer> nVern = submit(exec, c -> emitVernaculars(c, acceptedNameCodeToId, synAcceptedCode, comNameRef));
+      Future<Integer> nDist = submit(exec, c -> emitDistributions(c, acceptedNameCodeToId, synAcceptedCode));
+      int[] syn = emitSynonyms(conn, statusLabels, synonymIds, familyKingdom, acceptedNameCodeToId, synAcceptedCode, nameRef, taxonRef);
+      LOG.info("Old schema done: {} accepted (+{} accepted without classification), {} synonyms, " +
+          "{} bare names (synonym without accepted name), {} references, {} vernaculars, {} distributions",
+          nAcc, nMiss, syn[0], syn[1], nRef.get(), nVern.get(), nDist.get());
+    } finally {
+      exec.shutdownNow();
+    }
   }
 
   private Map<Integer, String> loadStatusLabels() throws Exception {
@@ -135,19 +148,19 @@ class OldSchemaReader extends SchemaReader {
     return m;
   }
 
-  private void loadTaxaTree(Int2IntOpenHashMap childParent, Int2ObjectOpenHashMap<String> kingdomRoot,
+  private void loadTaxaTree(Int2IntOpenHashMap childParent, TaxonTree.Builder tree,
                             IntOpenHashSet acceptedTaxa, Map<String, String> acceptedNameCodeToId,
                             Map<String, Integer> acceptedByNameParent, IntOpenHashSet neededParents) throws Exception {
+    int kingdoms = 0;
     try (Statement st = streamStmt();
-         ResultSet rs = st.executeQuery("SELECT record_id, parent_id, name, name_code, is_accepted_name FROM taxa")) {
+         ResultSet rs = st.executeQuery("SELECT record_id, parent_id, name, taxon, name_code, is_accepted_name FROM taxa")) {
       while (rs.next()) {
         int id = rs.getInt("record_id");
         int parent = rs.getInt("parent_id");
         String name = rs.getString("name");
         childParent.put(id, parent);
-        if (parent == 0) {
-          kingdomRoot.put(id, name); // top-level node = kingdom
-        }
+        tree.add(id, parent, rs.getString("taxon"), name); // top-level nodes are the kingdoms
+        if (parent == 0) kingdoms++;
         if (rs.getInt("is_accepted_name") == 1) {
           acceptedTaxa.add(id); // emitted by emitAccepted; valid parentID/taxonID target
           if (parent != 0) neededParents.add(parent); // candidate parent that may need repair
@@ -162,7 +175,7 @@ class OldSchemaReader extends SchemaReader {
       }
     }
     LOG.info("Loaded {} taxa tree nodes, {} accepted, {} kingdoms",
-        childParent.size(), acceptedTaxa.size(), kingdomRoot.size());
+        childParent.size(), acceptedTaxa.size(), kingdoms);
   }
 
   /**
@@ -317,9 +330,9 @@ class OldSchemaReader extends SchemaReader {
     LOG.info("Loaded {} source databases (GSDs)", n);
   }
 
-  private void writeReferences() throws Exception {
+  private int writeReferences(Connection c) throws Exception {
     int n = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery(
              "SELECT record_id, author, year, title, source FROM `references`")) {
       while (rs.next()) {
@@ -333,25 +346,16 @@ class OldSchemaReader extends SchemaReader {
       }
     }
     LOG.info("Wrote {} references", n);
+    return n;
   }
 
-  private String kingdomOf(int id, Int2IntOpenHashMap childParent, Int2ObjectOpenHashMap<String> kingdomRoot) {
-    int cur = id;
-    for (int guard = 0; guard < 50; guard++) {
-      int p = childParent.get(cur);
-      if (p == 0) return kingdomRoot.get(cur);
-      cur = p;
-    }
-    return null;
-  }
-
-  private int emitAccepted(Int2IntOpenHashMap childParent, Int2ObjectOpenHashMap<String> kingdomRoot,
+  private int emitAccepted(Connection c, Int2IntOpenHashMap childParent, TaxonTree tree,
                            IntOpenHashSet acceptedTaxa, Int2ObjectOpenHashMap<String> repairedParent,
                            Map<String, String[]> accInfo, Map<String, String> nameRef,
                            Map<String, Set<String>> taxonRef) throws Exception {
     int n = 0;
     int reparented = 0, viaAncestor = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery(
              "SELECT record_id, parent_id, name, taxon, name_code, database_id FROM taxa " +
              "WHERE is_accepted_name = 1")) {
@@ -390,7 +394,7 @@ class OldSchemaReader extends SchemaReader {
         }
         Generator.set(nameW, ColdpTerm.rank, lc(rs.getString("taxon")));
         Generator.set(nameW, ColdpTerm.scientificName, rs.getString("name"));
-        Generator.set(nameW, ColdpTerm.code, nomCode(kingdomOf(id, childParent, kingdomRoot)));
+        Generator.set(nameW, ColdpTerm.code, nomCode(tree.kingdom(id)));
         int dbId = rs.getInt("database_id");
         if (dbId > 0) Generator.set(nameW, ColdpTerm.sourceID, "d" + dbId);
 
@@ -442,11 +446,11 @@ class OldSchemaReader extends SchemaReader {
    *
    * @return number of accepted-without-classification names emitted
    */
-  private int emitMissingAccepted(Map<Integer, String> statusLabels, String acceptedIds,
+  private int emitMissingAccepted(Connection c, Map<Integer, String> statusLabels, String acceptedIds,
                                   Map<Integer, String> familyKingdom, Map<String, String> acceptedNameCodeToId,
                                   Map<String, String> nameRef, Map<String, Set<String>> taxonRef) throws Exception {
     int n = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery(
              "SELECT record_id, name_code, genus, species, infraspecies, infraspecies_marker, " +
              "author, sp2000_status_id, database_id, comment, family_id " +
@@ -491,11 +495,11 @@ class OldSchemaReader extends SchemaReader {
    *
    * @return {@code [synonyms, bareNames]} counts
    */
-  private int[] emitSynonyms(Map<Integer, String> statusLabels, String synonymIds, Map<Integer, String> familyKingdom,
+  private int[] emitSynonyms(Connection c, Map<Integer, String> statusLabels, String synonymIds, Map<Integer, String> familyKingdom,
                              Map<String, String> acceptedNameCodeToId, Map<String, String> synAcceptedCode,
                              Map<String, String> nameRef, Map<String, Set<String>> taxonRef) throws Exception {
     int nSyn = 0, nBare = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery(
              "SELECT record_id, name_code, genus, species, infraspecies, infraspecies_marker, " +
              "author, accepted_name_code, sp2000_status_id, database_id, comment, family_id " +
@@ -542,10 +546,10 @@ class OldSchemaReader extends SchemaReader {
     return new int[]{nSyn, nBare};
   }
 
-  private int emitVernaculars(Map<String, String> acceptedNameCodeToId, Map<String, String> synAcceptedCode,
+  private int emitVernaculars(Connection c, Map<String, String> acceptedNameCodeToId, Map<String, String> synAcceptedCode,
                               Map<String, Set<String>> comNameRef) throws Exception {
     int n = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery(
              "SELECT name_code, common_name, language, country FROM common_names")) {
       while (rs.next()) {
@@ -568,9 +572,9 @@ class OldSchemaReader extends SchemaReader {
     return n;
   }
 
-  private int emitDistributions(Map<String, String> acceptedNameCodeToId, Map<String, String> synAcceptedCode) throws Exception {
+  private int emitDistributions(Connection c, Map<String, String> acceptedNameCodeToId, Map<String, String> synAcceptedCode) throws Exception {
     int n = 0;
-    try (Statement st = streamStmt();
+    try (Statement st = streamStmt(c);
          ResultSet rs = st.executeQuery("SELECT name_code, distribution FROM distribution")) {
       while (rs.next()) {
         // attach to the accepted taxon, resolving synonym name_codes through the chain
@@ -16,6 +16,8 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Base for the two era-specific CoL Annual Checklist readers. Holds the shared writers and
@@ -24,6 +26,8 @@ import java.util.Set;
  */
 abstract class SchemaReader {
   protected static final Logger LOG = LoggerFactory.getLogger(SchemaReader.class);
+  // independent table scans run in parallel to the name usages, each on its own connection
+  static final int STAGE_THREADS = 3;
 
   protected final Generator g;
   protected final Connection conn;
@@ -43,14 +47,42 @@ abstract class SchemaReader {
 
   abstract void read() throws Exception;
 
+  /**
+   * A table scan writing to writers it owns exclusively, run on its own connection.
+   *
+   * @return number of rows written
+   */
+  @FunctionalInterface
+  interface Stage {
+    int run(Connection c) throws Exception;
+  }
+
+  /**
+   * Submits a stage that streams over a new connection from {@link Generator#connect()},
+   * closed again when the stage is done. Used to scan independent tables concurrently,
+   * as a single connection can only stream one result at a time.
+   * Stages must not share a writer and may only read the lookup maps built before.
+   */
+  Future<Integer> submit(ExecutorService exec, Stage stage) {
+    return exec.submit(() -> {
+      try (Connection c = g.connect()) {
+        return stage.run(c);
+      }
+    });
+  }
+
+  Statement streamStmt() throws SQLException {
+    return streamStmt(conn);
+  }
+
   /**
    * Creates a forward-only streaming statement so the multi-million row tables are not buffered
    * entirely in client memory. MariaDB Connector/J streams progressively for any positive fetch
    * size. Only one streaming ResultSet may be open per connection at a time, so callers must
    * fully consume each result before starting the next.
    */
-  Statement streamStmt() throws SQLException {
-    Statement st = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+  static Statement streamStmt(Connection c) throws SQLException {
+    Statement st = c.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
     st.setFetchSize(1000);
     return st;
   }
@@ -0,0 +1,205 @@
+package org.catalogueoflife.data.colac;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Immutable index over a classification given as child→parent links, e.g. the {@code taxa} or
+ * {@code _taxon_tree} tables. Nodes are stored in arrays, and the root, the depth and the
+ * ancestors at selected ranks are computed for all nodes once in {@link Builder#build}, so the
+ * lookups per emitted row are constant time instead of walking the parent chain.
+ *
+ * A root is a node with parent id 0; its name is the kingdom of all its descendants. Nodes whose
+ * chain ends at an unknown parent or runs into a cycle have no kingdom.
+ * Safe for concurrent reads once built.
+ */
+class TaxonTree {
+  private static final int NONE = -1;
+
+  private final Int2IntOpenHashMap index; // node id → array index
+  private final int[] ids;
+  private final int[] parent; // array index of the parent, NONE for roots and unknown parents
+  private final int[] root;   // array index of the root, NONE if not reachable
+  private final int[] depth;  // number of ancestors up to the root or the first unknown parent
+  private final Int2ObjectOpenHashMap<String> rootNames; // array index of a root → its name
+  private final String[] indexedRanks;
+  private final int[][] rankAncestor; // per indexed rank: array index of the ancestor-or-self at that rank
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  static class Builder {
+    private final IntArrayList ids = new IntArrayList();
+    private final IntArrayList parents = new IntArrayList();
+    private final IntArrayList ranks = new IntArrayList();
+    private final Object2IntOpenHashMap<String> rankCodes = new Object2IntOpenHashMap<>();
+    private final Int2ObjectOpenHashMap<String> rootNames = new Int2ObjectOpenHashMap<>();
+
+    private Builder() {
+      rankCodes.defaultReturnValue(NONE);
+    }
+
+    /**
+     * @param id       node id, must be positive and unique
+     * @param parentId parent node id, 0 for a root
+     * @param rank     rank of the node, may be null
+     * @param name     node name, only kept for roots
+     */
+    Builder add(int id, int parentId, String rank, String name) {
+      if (parentId == 0) {
+        rootNames.put(ids.size(), name);
+      }
+      ids.add(id);
+      parents.add(parentId);
+      ranks.add(rankCode(rank));
+      return this;
+    }
+
+    private int rankCode(String rank) {
+      if (rank == null) return NONE;
+      String r = rank.trim().toLowerCase(Locale.ENGLISH);
+      int code = rankCodes.getInt(r);
+      if (code == NONE) {
+        code = rankCodes.size();
+        rankCodes.put(r, code);
+      }
+      return code;
+    }
+
+    /**
+     * @param indexedRanks ranks that can be queried with {@link TaxonTree#ancestor(int, String)}
+     */
+    TaxonTree build(String... indexedRanks) {
+      return new TaxonTree(this, indexedRanks);
+    }
+  }
+
+  private TaxonTree(Builder b, String[] ranks) {
+    final int n = b.ids.size();
+    ids = b.ids.toIntArray();
+    index = new Int2IntOpenHashMap(n);
+    index.defaultReturnValue(NONE);
+    for (int i = 0; i < n; i++) {
+      index.put(ids[i], i);
+    }
+    parent = new int[n];
+    for (int i = 0; i < n; i++) {
+      int p = b.parents.getInt(i);
+      parent[i] = p == 0 ? NONE : index.get(p);
+    }
+    rootNames = b.rootNames;
+
+    indexedRanks = new String[ranks.length];
+    int[] rankCodes = new int[ranks.length];
+    rankAncestor = new int[ranks.length][];
+    for (int r = 0; r < ranks.length; r++) {
+      indexedRanks[r] = ranks[r].toLowerCase(Locale.ENGLISH);
+      rankCodes[r] = b.rankCodes.getInt(indexedRanks[r]);
+      rankAncestor[r] = new int[n];
+    }
+
+    root = new int[n];
+    depth = new int[n];
+    boolean[] done = new boolean[n];
+    boolean[] onPath = new boolean[n];
+    IntArrayList path = new IntArrayList();
+    for (int i = 0; i < n; i++) {
+      if (done[i]) continue;
+      // climb until a resolved node, a root, an unknown parent or a cycle
+      int cur = i;
+      boolean cyclic = false;
+      while (true) {
+        path.add(cur);
+        onPath[cur] = true;
+        int p = parent[cur];
+        if (p == NONE || done[p]) break;
+        if (onPath[p]) {
+          cyclic = true;
+          break;
+        }
+        cur = p;
+      }
+      // resolve top-down, so every node only looks at its already resolved parent
+      for (int k = path.size() - 1; k >= 0; k--) {
+        int x = path.getInt(k);
+        int p = parent[x];
+        if (cyclic) {
+          root[x] = NONE;
+          depth[x] = 0;
+          for (int r = 0; r < ranks.length; r++) {
+            rankAncestor[r][x] = NONE;
+          }
+        } else if (p == NONE) {
+          root[x] = b.parents.getInt(x) == 0 ? x : NONE;
+          depth[x] = 0;
+          for (int r = 0; r < ranks.length; r++) {
+            rankAncestor[r][x] = b.ranks.getInt(x) == rankCodes[r] && rankCodes[r] != NONE ? x : NONE;
+          }
+        } else {
+          root[x] = root[p];
+          depth[x] = depth[p] + 1;
+          for (int r = 0; r < ranks.length; r++) {
+            rankAncestor[r][x] = b.ranks.getInt(x) == rankCodes[r] && rankCodes[r] != NONE ? x : rankAncestor[r][p];
+          }
+        }
+        done[x] = true;
+        onPath[x] = false;
+      }
+      path.clear();
+    }
+  }
+
+  int size() {
+    return ids.length;
+  }
+
+  boolean contains(int id) {
+    return index.get(id) != NONE;
+  }
+
+  /**
+   * @return the parent id, 0 for roots and unknown nodes
+   */
+  int parent(int id) {
+    int i = index.get(id);
+    return i == NONE || parent[i] == NONE ? 0 : ids[parent[i]];
+  }
+
+  /**
+   * @return number of ancestors of the node, 0 for roots, -1 for unknown nodes
+   */
+  int depth(int id) {
+    int i = index.get(id);
+    return i == NONE ? -1 : depth[i];
+  }
+
+  /**
+   * @return the name of the root the node belongs to, null if the node is unknown or has no root
+   */
+  String kingdom(int id) {
+    int i = index.get(id);
+    return i == NONE || root[i] == NONE ? null : rootNames.get(root[i]);
+  }
+
+  /**
+   * @param rank one of the ranks given to {@link Builder#build(String...)}
+   * @return id of the closest node at the given rank on the path from the node up to its root,
+   *         including the node itself. 0 if there is none or the node is unknown
+   */
+  int ancestor(int id, String rank) {
+    int r = Arrays.asList(indexedRanks).indexOf(rank.toLowerCase(Locale.ENGLISH));
+    if (r < 0) {
+      throw new IllegalArgumentException("Rank " + rank + " is not indexed");
+    }
+    int i = index.get(id);
+    if (i == NONE) return 0;
+    int a = rankAncestor[r][i];
+    return a == NONE ? 0 : ids[a];
+  }
+}
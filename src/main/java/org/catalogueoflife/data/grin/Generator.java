@@ -1,6 +1,7 @@
 package org.catalogueoflife.data.grin;
 
 import com.univocity.parsers.tsv.TsvParser;
+import it.unimi.dsi.fastutil.ints.*;
 import org.catalogueoflife.data.utils.CsvUtils;
 import life.catalogue.coldp.ColdpTerm;
 import life.catalogue.common.io.TermWriter;
@@ -12,6 +13,9 @@ import java.io.IOException;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Germplasm Resources Information Network (GRIN) Taxonomy generator.
@@ -24,12 +28,14 @@ public class Generator extends AbstractColdpGenerator {
   private static final String CAB_FN   = "taxonomy_data.cab";
   private static final String CAB_URL  = BASE + "/uploads/documents/taxonomy_data.cab";
 
-  // In-memory lookups built before writing ColDP records
-  private final Map<Integer, String>       countryByGeoId       = new HashMap<>(); // geoId → ISO alpha-3
-  private final Map<Integer, String>       geoNameByGeoId       = new HashMap<>(); // geoId → display name (all entries)
-  private final Map<Integer, String>       refIdByLitId         = new HashMap<>();
-  private final Map<Integer, List<String>> refIdsBySpeciesId    = new HashMap<>();
-  private final Map<Integer, Integer>      basionymByAcceptedId = new HashMap<>(); // accepted_id → basionym_id
+  private static final int THREADS = 4;
+
+  // In-memory lookups, each built by a single loader task and only read once that task is done
+  private final Int2ObjectMap<String>       countryByGeoId       = new Int2ObjectOpenHashMap<>(); // geoId → ISO alpha-3
+  private final Int2ObjectMap<String>       geoNameByGeoId       = new Int2ObjectOpenHashMap<>(); // geoId → display name (all entries)
+  private final IntSet                      literatureIds        = new IntOpenHashSet(); // written as ref:<id>
+  private final Int2ObjectMap<IntArrayList> litIdsBySpeciesId    = new Int2ObjectOpenHashMap<>(); // unfiltered citations
+  private final Int2IntMap                  basionymByAcceptedId = new Int2IntOpenHashMap(); // accepted_id → basionym_id, 0 if none
 
   private static final Map<String, String> USAGE_NAMES = Map.ofEntries(
       Map.entry("ADDITIVE", "Food additives"),
@@ -128,19 +134,37 @@ public class Generator extends AbstractColdpGenerator {
         ColdpTerm.value
     ));
 
-    // Phase 1: build lookup maps
-    parseReferences();
-    loadGeography();
-    loadSpeciesCitations();
-    collectBasionyms();
-
-    // Phase 2: write ColDP records
-    var familyIdToRoot = parseFamilies();
-    parseGenera(familyIdToRoot);
-    parseSpecies(nomRelWriter);
-    parseCommonNames(vernWriter);
-    parseDistributions(distWriter);
-    parseUses(propWriter);
+    // The lookup tables are independent of each other and loaded concurrently, each from its own file.
+    // Every writer is only used by one task at a time: the literature loader writes references
+    // before the species do, families, genera and species share the NameUsage writer and run in order
+    // on this thread, and all other files are written by their own task as soon as their lookups exist.
+    ExecutorService exec = Executors.newFixedThreadPool(THREADS);
+    try {
+      Future<Integer> nLit = exec.submit(this::parseReferences);
+      Future<Integer> nGeo = exec.submit(this::loadGeography);
+      Future<Integer> nCit = exec.submit(this::loadSpeciesCitations);
+      Future<Integer> nBas = exec.submit(this::collectBasionyms);
+      Future<Integer> nVern = exec.submit(() -> parseCommonNames(vernWriter));
+      Future<Integer> nUses = exec.submit(() -> parseUses(propWriter));
+
+      // families and genera need no lookup
+      var familyIdToRoot = parseFamilies();
+      parseGenera(familyIdToRoot);
+
+      LOG.info("{} literature references loaded", nLit.get());
+      LOG.info("{} geography entries loaded", nGeo.get());
+      Future<Integer> nDist = exec.submit(() -> parseDistributions(distWriter));
+
+      LOG.info("{} species with citations loaded", nCit.get());
+      LOG.info("{} basionym relations collected", nBas.get());
+      parseSpecies(nomRelWriter);
+
+      LOG.info("{} common names written", nVern.get());
+      LOG.info("{} distribution records written", nDist.get());
+      LOG.info("{} economic use properties written", nUses.get());
+    } finally {
+      exec.shutdownNow();
+    }
   }
 
   @Override
@@ -152,7 +176,7 @@ public class Generator extends AbstractColdpGenerator {
 
   // ── lookup builders ───────────────────────────────────────────────────────
 
-  private void parseReferences() throws IOException {
+  private int parseReferences() throws IOException {
     int count = 0;
     var parser = tsvParser();
     parser.beginParsing(UTF8IoUtils.readerFromFile(sourceFile("literature.txt")));
@@ -161,8 +185,7 @@ public class Generator extends AbstractColdpGenerator {
     while ((row = parser.parseNext()) != null) {
       var litId = intCol(row, idx, "literature_id");
       if (litId == null) continue;
-      String refId = "ref:" + litId;
-      refWriter.set(ColdpTerm.ID, refId);
+      refWriter.set(ColdpTerm.ID, refId(litId));
       refWriter.set(ColdpTerm.author, col(row, idx, "editor_author_name"));
       refWriter.set(ColdpTerm.title, col(row, idx, "reference_title"));
       refWriter.set(ColdpTerm.year, col(row, idx, "publication_year"));
@@ -170,14 +193,14 @@ public class Generator extends AbstractColdpGenerator {
       refWriter.set(ColdpTerm.publisherPlace, col(row, idx, "publisher_location"));
       refWriter.set(ColdpTerm.link, col(row, idx, "url"));
       nextRef();
-      refIdByLitId.put(litId, refId);
+      literatureIds.add(litId.intValue());
       count++;
     }
     parser.stopParsing();
-    LOG.info("{} literature references loaded", count);
+    return count;
   }
 
-  private void loadGeography() throws IOException {
+  private int loadGeography() throws IOException {
     var parser = tsvParser();
     parser.beginParsing(UTF8IoUtils.readerFromFile(sourceFile("geography.txt")));
     var idx = indexMap(parser.getContext().headers());
@@ -194,19 +217,22 @@ public class Generator extends AbstractColdpGenerator {
       if (geoId == null) continue;
       // Store display name for all entries (used as fallback area text for non-ISO codes)
       var name = nameCol != null ? col(row, idx, nameCol) : null;
-      if (name != null) geoNameByGeoId.put(geoId, name);
+      if (name != null) geoNameByGeoId.put(geoId.intValue(), name);
       // Only map to ISO country code for valid alpha-3 entries; skip numeric UN M.49 region codes
       if (country != null && COUNTRY_NAME_MAP.containsKey(country))
-        countryByGeoId.put(geoId, country);
+        countryByGeoId.put(geoId.intValue(), country);
     }
     parser.stopParsing();
-    LOG.info("{} geography entries loaded ({} with ISO country codes, {} with names)",
-        Math.max(countryByGeoId.size(), geoNameByGeoId.size()),
+    LOG.info("{} geography entries with ISO country codes, {} with names",
         countryByGeoId.size(), geoNameByGeoId.size());
+    return Math.max(countryByGeoId.size(), geoNameByGeoId.size());
   }
 
-  /** Stream the large citation.txt file and collect all literature refs per species. */
-  private void loadSpeciesCitations() throws IOException {
+  /**
+   * Stream the large citation.txt file and collect all literature ids per species.
+   * Runs concurrently with the literature loader, so unknown literature is only dropped when writing species.
+   */
+  private int loadSpeciesCitations() throws IOException {
     var parser = tsvParser();
     parser.beginParsing(UTF8IoUtils.readerFromFile(sourceFile("citation.txt")));
     var idx = indexMap(parser.getContext().headers());
@@ -216,16 +242,19 @@ public class Generator extends AbstractColdpGenerator {
       if (speciesId == null) continue;
       var litId = intCol(row, idx, "literature_id");
       if (litId == null) continue;
-      var refId = refIdByLitId.get(litId);
-      if (refId == null) continue;
-      refIdsBySpeciesId.computeIfAbsent(speciesId, k -> new ArrayList<>()).add(refId);
+      var lits = litIdsBySpeciesId.get(speciesId.intValue());
+      if (lits == null) {
+        lits = new IntArrayList(2);
+        litIdsBySpeciesId.put(speciesId.intValue(), lits);
+      }
+      lits.add(litId.intValue());
     }
     parser.stopParsing();
-    LOG.info("{} species with citations loaded", refIdsBySpeciesId.size());
+    return litIdsBySpeciesId.size();
   }
 
   /** Pass 1 over taxonomy_species: record basionym_id for each accepted species. */
-  private void collectBasionyms() throws IOException {
+  private int collectBasionyms() throws IOException {
     var parser = tsvParser();
     parser.beginParsing(UTF8IoUtils.readerFromFile(sourceFile("taxonomy_species.txt")));
     var idx = indexMap(parser.getContext().headers());
@@ -235,11 +264,11 @@ public class Generator extends AbstractColdpGenerator {
       var speciesId = intCol(row, idx, "taxonomy_species_id");
       var currentId = intCol(row, idx, "current_taxonomy_species_id");
       if (speciesId != null && currentId != null && !speciesId.equals(currentId)) {
-        basionymByAcceptedId.putIfAbsent(currentId, speciesId);
+        basionymByAcceptedId.putIfAbsent(currentId.intValue(), speciesId.intValue());
       }
     }
     parser.stopParsing();
-    LOG.info("{} basionym relations collected", basionymByAcceptedId.size());
+    return basionymByAcceptedId.size();
   }
 
   // ── ColDP writers ─────────────────────────────────────────────────────────
@@ -256,7 +285,7 @@ public class Generator extends AbstractColdpGenerator {
    * the closest accepted ancestor node. The returned map resolves synonym node IDs to their
    * accepted equivalent, for use when linking genera to their parent.
    */
-  private Map<Integer, Integer> parseFamilies() throws IOException {
+  private Int2IntMap parseFamilies() throws IOException {
     List<String[]> allRows = new ArrayList<>();
     Map<String, Integer> idx;
     var parser = tsvParser();
@@ -289,7 +318,7 @@ public class Generator extends AbstractColdpGenerator {
     }
 
     // Write all nodes as ColDP NameUsage; build synonym resolution map.
-    Map<Integer, Integer> idToAccepted = new HashMap<>();
+    Int2IntMap idToAccepted = new Int2IntOpenHashMap();
     int[] counts = new int[4]; // family, subfamily, tribe, subtribe
     int synonyms = 0;
 
@@ -298,7 +327,7 @@ public class Generator extends AbstractColdpGenerator {
       Integer current = intCol(r, idx, "current_taxonomy_family_id");
       if (current == null) current = id;
       boolean isSynonym = !current.equals(id);
-      idToAccepted.put(id, isSynonym ? current : id);
+      idToAccepted.put(id.intValue(), isSynonym ? current.intValue() : id.intValue());
 
       String fn = col(r, idx, "family_name");
       String sf = col(r, idx, "subfamily_name");
@@ -355,7 +384,7 @@ public class Generator extends AbstractColdpGenerator {
     return idToAccepted;
   }
 
-  private void parseGenera(Map<Integer, Integer> familyIdToRoot) throws IOException {
+  private void parseGenera(Int2IntMap familyIdToRoot) throws IOException {
     int accepted = 0, synonyms = 0;
     var parser = tsvParser();
     parser.beginParsing(UTF8IoUtils.readerFromFile(sourceFile("taxonomy_genus.txt")));
@@ -379,7 +408,7 @@ public class Generator extends AbstractColdpGenerator {
         synonyms++;
       } else {
         // Resolve to accepted node (in case genus points to a synonym placement node)
-        Integer resolvedFamId = famId != null ? familyIdToRoot.getOrDefault(famId, famId) : null;
+        Integer resolvedFamId = famId != null ? familyIdToRoot.getOrDefault(famId.intValue(), famId.intValue()) : null;
         writer.set(ColdpTerm.parentID, resolvedFamId != null ? "fam:" + resolvedFamId : null);
         accepted++;
       }
@@ -425,9 +454,13 @@ public class Generator extends AbstractColdpGenerator {
       writer.set(ColdpTerm.publishedInPageLink, protoPath);
 
       // Additional bibliography references from citation.txt
-      var refs = refIdsBySpeciesId.get(speciesId);
-      if (refs != null && !refs.isEmpty()) {
-        writer.set(ColdpTerm.referenceID, String.join(",", refs));
+      var lits = litIdsBySpeciesId.get(speciesId.intValue());
+      if (lits != null) {
+        StringJoiner refs = new StringJoiner(",");
+        for (int litId : lits) {
+          if (literatureIds.contains(litId)) refs.add(refId(litId));
+        }
+        if (refs.length() > 0) writer.set(ColdpTerm.referenceID, refs.toString());
       }
 
       writer.set(ColdpTerm.link, LINK + speciesId);
@@ -450,8 +483,8 @@ public class Generator extends AbstractColdpGenerator {
         synonyms++;
       } else {
         writer.set(ColdpTerm.parentID, genusId != null ? "gen:" + genusId : null);
-        var basionymId = basionymByAcceptedId.get(speciesId);
-        if (basionymId != null) writer.set(ColdpTerm.basionymID, "sp:" + basionymId);
+        int basionymId = basionymByAcceptedId.get(speciesId.intValue());
+        if (basionymId != 0) writer.set(ColdpTerm.basionymID, "sp:" + basionymId);
         accepted++;
       }
       writer.next();
@@ -460,7 +493,7 @@ public class Generator extends AbstractColdpGenerator {
     LOG.info("{} species/infraspecies ({} accepted, {} synonyms)", accepted + synonyms, accepted, synonyms);
   }
 
-  private void parseCommonNames(TermWriter vernWriter) throws IOException {
+  private int parseCommonNames(TermWriter vernWriter) throws IOException {
     int count = 0;
     var parser = tsvParser();
     parser.beginParsing(UTF8IoUtils.readerFromFile(sourceFile("taxonomy_common_name.txt")));
@@ -481,11 +514,11 @@ public class Generator extends AbstractColdpGenerator {
       count++;
     }
     parser.stopParsing();
-    LOG.info("{} common names written", count);
+    return count;
   }
 
   /** Streams the large taxonomy_geography_map.txt file to write Distribution records. */
-  private void parseDistributions(TermWriter distWriter) throws IOException {
+  private int parseDistributions(TermWriter distWriter) throws IOException {
     int count = 0;
     var parser = tsvParser();
     parser.beginParsing(UTF8IoUtils.readerFromFile(sourceFile("taxonomy_geography_map.txt")));
@@ -495,9 +528,9 @@ public class Generator extends AbstractColdpGenerator {
       var speciesId = intCol(row, idx, "taxonomy_species_id");
       var geoId     = intCol(row, idx, "geography_id");
       if (speciesId == null || geoId == null) continue;
-      var country = countryByGeoId.get(geoId);
+      var country = countryByGeoId.get(geoId.intValue());
       // Skip entries with no usable area information at all
-      if (country == null && !geoNameByGeoId.containsKey(geoId)) continue;
+      if (country == null && !geoNameByGeoId.containsKey(geoId.intValue())) continue;
       var litId = intCol(row, idx, "literature_id");
       distWriter.set(ColdpTerm.taxonID, "sp:" + speciesId);
       if (country != null) {
@@ -506,19 +539,19 @@ public class Generator extends AbstractColdpGenerator {
         distWriter.set(ColdpTerm.gazetteer, "iso");
       } else {
         // Non-ISO regional entry (UN M.49 code): use the GRIN geography name as free text
-        distWriter.set(ColdpTerm.area, geoNameByGeoId.get(geoId));
+        distWriter.set(ColdpTerm.area, geoNameByGeoId.get(geoId.intValue()));
         distWriter.set(ColdpTerm.gazetteer, "text");
       }
       distWriter.set(ColdpTerm.status, geoStatus(col(row, idx, "geography_status_code")));
-      if (litId != null) distWriter.set(ColdpTerm.referenceID, refIdByLitId.get(litId));
+      if (litId != null && literatureIds.contains(litId.intValue())) distWriter.set(ColdpTerm.referenceID, refId(litId));
       distWriter.next();
       count++;
     }
     parser.stopParsing();
-    LOG.info("{} distribution records written", count);
+    return count;
   }
 
-  private void parseUses(TermWriter propWriter) throws IOException {
+  private int parseUses(TermWriter propWriter) throws IOException {
     int count = 0;
     var parser = tsvParser();
     parser.beginParsing(UTF8IoUtils.readerFromFile(sourceFile("taxonomy_use.txt")));
@@ -537,11 +570,15 @@ public class Generator extends AbstractColdpGenerator {
       count++;
     }
     parser.stopParsing();
-    LOG.info("{} economic use properties written", count);
+    return count;
   }
 
   // ── helpers ───────────────────────────────────────────────────────────────
 
+  private static String refId(int litId) {
+    return "ref:" + litId;
+  }
+
   private TsvParser tsvParser() {
     return CsvUtils.newTsvParser(65536, true);
   }
@@ -19,10 +19,11 @@ import life.catalogue.api.vocab.NomRelType;
 import life.catalogue.coldp.ColdpTerm;
 import life.catalogue.common.io.TermWriter;
 import life.catalogue.common.io.UTF8IoUtils;
-import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.catalogueoflife.data.AbstractColdpGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
+import org.catalogueoflife.data.utils.ExternalSorter;
+import org.catalogueoflife.data.utils.ParallelXZInputStream;
 import org.gbif.nameparser.util.UnicodeUtils;
 
 import java.io.*;
@@ -52,12 +53,17 @@ public class Generator extends AbstractColdpGenerator {
   //urn:lsid:ipni.org:names:1000000-1
   //urn:lsid:ipni.org:publications:1071-2
   static final Pattern LSID = Pattern.compile("lsid:ipni.org:(?:names|publications):(\\d+-\\d)$");
+  static final int NAME_COLUMNS = 93;
+  // the former regex split counted an extra END column, so rows with 74 data columns were still converted
+  static final int MIN_NAME_COLUMNS = 74;
+  private static final int REF_COLUMNS = 19;
+  private static final int SORT_RUN_SIZE = 500_000;
   static final Pattern TYPE_LOC = Pattern.compile("^([a-z]+)\\s+([A-Z/]+)(?:\\s*[\\s-]\\s*(.+))?$");
   private TermWriter taxWriter;
   private TermWriter typeWriter;
   private TermWriter nameRelWriter;
-  private Map<String, Set<Reference>> refCollations = new HashMap<>(); // ref id to set of collations
-  private Set<String> refIDs = new HashSet<>();
+  // publication id + collation lines, grouped by publication on disk
+  private ExternalSorter refCollations;
 
   public Generator(GeneratorConfig cfg) throws IOException {
     super(cfg, true, Map.of(
@@ -128,19 +134,30 @@ public class Generator extends AbstractColdpGenerator {
   // id|version_s_lower|ipni_record_type_s_lower|top_copy_b|suppressed_b|abbreviation_s_lower|title_s_lower|remarks_s_lower|bph_number_s_lower|isbn_s_lower|issn_s_lower|date_s_lower|lc_number_s_lower|preceded_by_s_lower|tl2_author_s_lower|tl2_number_s_lower|tdwg_abbreviation_s_lower|superceded_by_s_lower|sortable
   @Override
   protected void addData() throws Exception {
-    try (InputStream inNames = new XZCompressorInputStream(new FileInputStream(sourceFile(nameFN)));
-         InputStream inRefs = new XZCompressorInputStream(new FileInputStream(sourceFile(refFN)));
-    ){
-      var iter = iterate(inNames);
-      while(iter.hasNext()) {
-        var row = iter.next();
+    try (ExternalSorter collations = new ExternalSorter(sourceFile("sort"), SORT_RUN_SIZE)) {
+      refCollations = collations;
+      addNames();
+      addReferences();
+    } finally {
+      taxWriter.close();
+      typeWriter.close();
+      nameRelWriter.close();
+    }
+  }
+
+  private void addNames() throws IOException {
+    try (BufferedReader br = reader(nameFN)) {
+      PipeTokenizer tokenizer = new PipeTokenizer(NAME_COLUMNS);
+      br.readLine(); // skip header row
+      String line;
+      while ((line = br.readLine()) != null) {
+        var row = tokenizer.split(line);
         final String id = idFromLsid(row[0]); // urn:lsid:ipni.org:names:1000000-1
-        if (row.length<75) {
-          LOG.warn("Short row {} with {} columns", id, row.length);
+        if (tokenizer.size()<MIN_NAME_COLUMNS) {
+          LOG.warn("Short row {} with {} columns", id, tokenizer.size());
           continue;
         }
-        boolean suppressed = bool(row[75]);
-        if (suppressed) {
+        if (isSuppressed(row, tokenizer.size())) {
            continue;
         }
         StringBuilder remarks = new StringBuilder();
@@ -151,13 +168,12 @@ public class Generator extends AbstractColdpGenerator {
 
         Reference ref = new Reference(row[60], row[7]);
         if (ref.ipniID != null) {
-          refCollations.putIfAbsent(ref.ipniID, new HashSet<>());
           // move single page pointers to name
           if (ref.isSinglePage()) {
             writer.set(ColdpTerm.publishedInPage, ref.pages);
             ref.pages = null;
           }
-          refCollations.get(ref.ipniID).add(ref);
+          refCollations.add(ref.toLine());
           writer.set(ColdpTerm.referenceID, ref.refId());
         }
         if (!StringUtils.isBlank(row[7])) {
@@ -219,36 +235,76 @@ public class Generator extends AbstractColdpGenerator {
         }
         writer.next();
       }
+    }
+  }
 
-      // PUBLICATION -> REFERENCE RECORDS
-      // IPNI publications are journals or books, not individual articles.
-      // we use the distinct combination from publication & "collation" instead
-      iter = iterate(inRefs);
-      while(iter.hasNext()) {
-        var row = iter.next();
-        // urn:lsid:ipni.org:names:1000000-1
-        String ipniID = idFromLsid(row[0]);
-        if (refCollations.containsKey(ipniID)) {
-          for (Reference ref : refCollations.get(ipniID)) {
-            addRefRecord(ref, row);
+  /**
+   * PUBLICATION -> REFERENCE RECORDS
+   * IPNI publications are journals or books, not individual articles.
+   * we use the distinct combination from publication & "collation" instead.
+   *
+   * Both the publications and the collations are sorted by publication id on disk
+   * and then merge joined, so memory stays bounded regardless of the number of names.
+   */
+  private void addReferences() throws IOException {
+    try (ExternalSorter pubs = new ExternalSorter(sourceFile("sort"), SORT_RUN_SIZE)) {
+      try (BufferedReader br = reader(refFN)) {
+        br.readLine(); // skip header row
+        String line;
+        long seq = 0;
+        while ((line = br.readLine()) != null) {
+          // urn:lsid:ipni.org:publications:1071-2
+          int idx = line.indexOf('|');
+          String ipniID = idFromLsid((idx < 0 ? line : line.substring(0, idx)).trim());
+          if (ipniID != null) {
+            // the padded dump sequence keeps duplicate ids in their dump order
+            pubs.add(String.format("%s\t%012d\t%s", ipniID, seq++, line));
           }
-        } else {
+        }
+      }
+      LOG.info("Joining {} publications with {} reference collations", pubs.size(), refCollations.size());
+
+      PipeTokenizer tokenizer = new PipeTokenizer(REF_COLUMNS);
+      Iterator<String> pubIter = pubs.sorted();
+      Iterator<String> colIter = refCollations.sorted();
+      String[] col = colIter.hasNext() ? colIter.next().split("\t", -1) : null;
+      // id of the last publication written, later duplicates are ignored
+      String prevID = null;
+      while (pubIter.hasNext()) {
+        String[] kv = pubIter.next().split("\t", 3);
+        String ipniID = kv[0];
+        if (ipniID.equals(prevID)) {
+          LOG.warn("DUPLICATE PUBLICATION ID: {}", ipniID);
+          continue;
+        }
+        var row = tokenizer.split(kv[2]);
+        // skip collations of publications missing in the dump
+        while (col != null && col[0].compareTo(ipniID) < 0) {
+          col = colIter.hasNext() ? colIter.next().split("\t", -1) : null;
+        }
+        boolean hasCollations = false;
+        String prevRefID = null;
+        while (col != null && col[0].equals(ipniID)) {
+          hasCollations = true;
+          // lines are sorted by refId within a publication, so duplicates are adjacent
+          if (!col[1].equals(prevRefID)) {
+            prevRefID = col[1];
+            addRefRecord(col[1], Reference.fromLine(col), row);
+          }
+          col = colIter.hasNext() ? colIter.next().split("\t", -1) : null;
+        }
+        if (!hasCollations) {
           boolean suppressed = bool(row[4]);
           if (suppressed) {
+            // a later unsuppressed duplicate may still be written
             continue;
           }
           // write one record!
           Reference ref = new Reference(ipniID);
-          addRefRecord(ref, row);
-          // keep an empty list so we dont accidently create the same record again
-          refCollations.put(ipniID, new HashSet<>());
+          addRefRecord(ref.refId(), ref, row);
         }
+        prevID = ipniID;
       }
-
-    } finally {
-      taxWriter.close();
-      typeWriter.close();
-      nameRelWriter.close();
     }
   }
 
@@ -310,18 +366,19 @@ public class Generator extends AbstractColdpGenerator {
     }
   }
 
+  /**
+   * @param size number of columns of the name row, missing trailing columns are not suppressed
+   */
+  static boolean isSuppressed(String[] row, int size){
+    return size > 75 && bool(row[75]);
+  }
+
   private static boolean bool(String x){
     return x != null && x.equalsIgnoreCase("t");
   }
 
-  private void addRefRecord(Reference ref, String[] row) throws IOException {
-    if (!refIDs.add(ref.refId())) {
-      LOG.warn("DUPLICATE REFERENCE ID: {}", ref.refId());
-      return;
-    }
-    refIDs.add(ref.refId());
-
-    refWriter.set(ColdpTerm.ID, ref.refId());
+  private void addRefRecord(String refId, Reference ref, String[] row) throws IOException {
+    refWriter.set(ColdpTerm.ID, refId);
     refWriter.set(ColdpTerm.title, row[6]);
     String remarks = row[7];
     refWriter.set(ColdpTerm.remarks, remarks);
@@ -367,19 +424,12 @@ public class Generator extends AbstractColdpGenerator {
     }
   }
 
-  private Iterator<String[]> iterate(InputStream stream) throws IOException {
-    BufferedReader br = UTF8IoUtils.readerFromStream(stream);
-    Iterator<String[]> iter = br.lines().map(this::split).iterator();
-    iter.next(); // skip header row
-    return iter;
-  }
-
-  private String[] split(String line) {
-    if (line != null) {
-      var cols = (line+"|END").split("\\s*\\|\\s*");
-      return cols;
-    }
-    return null;
+  /**
+   * Opens a reader on a cached xz dump. Multi-block files are decoded in parallel,
+   * single block files on a background thread ahead of the caller.
+   */
+  private BufferedReader reader(String fn) throws IOException {
+    return UTF8IoUtils.readerFromStream(ParallelXZInputStream.open(sourceFile(fn)));
   }
 
   static String idFromLsid(String lsid) {
@@ -458,7 +508,31 @@ public class Generator extends AbstractColdpGenerator {
       return false;
     }
 
-    private String refId() {
+    /**
+     * @return tab separated line starting with the publication and reference id, used to group collations on disk
+     */
+    String toLine() {
+      return String.join("\t", ipniID, refId(), parsed ? "t" : "f", clean(volume), clean(issue), clean(pages), clean(authors));
+    }
+
+    private static String clean(String x) {
+      return x == null ? "" : x.replaceAll("[\t\r\n]", " ");
+    }
+
+    /**
+     * Recreates a reference from the columns of {@link #toLine()}. Its refId is given by the second column.
+     */
+    static Reference fromLine(String[] cols) {
+      Reference ref = new Reference(cols[0]);
+      ref.parsed = bool(cols[2]);
+      ref.volume = StringUtils.trimToNull(cols[3]);
+      ref.issue = StringUtils.trimToNull(cols[4]);
+      ref.pages = StringUtils.trimToNull(cols[5]);
+      ref.authors = StringUtils.trimToNull(cols[6]);
+      return ref;
+    }
+
+    String refId() {
       StringBuilder sb = new StringBuilder();
       sb.append(ipniID);
       if (volume != null || issue != null || pages != null || authors != null) {
@@ -0,0 +1,68 @@
+package org.catalogueoflife.data.ipni;
+
+import java.util.Arrays;
+
+/**
+ * Splits the pipe delimited rows of the IPNI dumps without regular expressions.
+ * Whitespace around each pipe is trimmed, empty columns become empty strings
+ * just like the former {@code (line+"|END").split("\\s*\\|\\s*")} did, minus the END column.
+ *
+ * <p>The tokenizer reuses one column buffer for all rows, so the returned array is only valid until the next call.
+ * Slots beyond {@link #size()} are null, so reading a missing column of a short row does not fail.
+ * Not thread safe.
+ */
+class PipeTokenizer {
+  private String[] cols;
+  private int size;
+
+  /**
+   * @param columns expected number of columns, the buffer grows if needed
+   */
+  PipeTokenizer(int columns) {
+    cols = new String[Math.max(columns, 1)];
+  }
+
+  /**
+   * @return the reused column buffer holding the fields of the line
+   */
+  String[] split(String line) {
+    int prevSize = size;
+    size = 0;
+    final int len = line.length();
+    int start = 0;
+    while (true) {
+      int end = line.indexOf('|', start);
+      if (end < 0) end = len;
+      add(line, start, end);
+      if (end == len) break;
+      start = end + 1;
+    }
+    if (prevSize > size) {
+      Arrays.fill(cols, size, prevSize, null);
+    }
+    return cols;
+  }
+
+  private void add(String line, int start, int end) {
+    while (start < end && isSpace(line.charAt(start))) start++;
+    while (end > start && isSpace(line.charAt(end - 1))) end--;
+    if (size == cols.length) {
+      cols = Arrays.copyOf(cols, size * 2);
+    }
+    cols[size++] = line.substring(start, end);
+  }
+
+  /**
+   * Same characters as the regex class \s
+   */
+  private static boolean isSpace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0B;
+  }
+
+  /**
+   * @return number of columns of the last split line
+   */
+  int size() {
+    return size;
+  }
+}
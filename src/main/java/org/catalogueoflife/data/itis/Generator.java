@@ -4,6 +4,8 @@ import life.catalogue.coldp.ColdpTerm;
 import life.catalogue.common.io.TermWriter;
 import org.catalogueoflife.data.AbstractColdpGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import org.gbif.nameparser.api.NomCode;
 
 import java.io.*;
@@ -13,6 +15,9 @@ import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -33,6 +38,9 @@ import java.util.zip.ZipFile;
  *   vernaculars      — tsn, vernacular_name, language
  *   geographic_div   — tsn, geographic_value  (global coarse ranges)
  *   jurisdiction     — tsn, jurisdiction_value, origin  (North American jurisdictions)
+ *
+ * The database is opened read-only and immutable through {@link ItisDb}. Vernaculars and both distribution tables
+ * are streamed concurrently to the name usages, each on its own connection.
  */
 public class Generator extends AbstractColdpGenerator {
 
@@ -74,48 +82,62 @@ public class Generator extends AbstractColdpGenerator {
   protected void addData() throws Exception {
     File zipFile = download(ZIP_FN, DOWNLOAD_URI);
     File dbFile  = extractDb(zipFile);
+    ItisDb db = new ItisDb(dbFile);
+
+    // ── Writers ────────────────────────────────────────────────────────────
+    newWriter(ColdpTerm.NameUsage, List.of(
+        ColdpTerm.ID,
+        ColdpTerm.parentID,
+        ColdpTerm.status,
+        ColdpTerm.rank,
+        ColdpTerm.scientificName,
+        ColdpTerm.authorship,
+        ColdpTerm.code
+    ));
+    TermWriter vernWriter = additionalWriter(ColdpTerm.VernacularName, List.of(
+        ColdpTerm.taxonID,
+        ColdpTerm.name,
+        ColdpTerm.language
+    ));
+    TermWriter distWriter = additionalWriter(ColdpTerm.Distribution, List.of(
+        ColdpTerm.taxonID,
+        ColdpTerm.area,
+        ColdpTerm.remarks
+    ));
+
+    // vernaculars and distributions are independent of the name usages and are streamed concurrently,
+    // each on its own connection. A single task owns the Distribution writer and writes
+    // geographic_div before jurisdiction, keeping the output order stable.
+    ExecutorService exec = Executors.newFixedThreadPool(2);
+    try {
+      Future<Integer> nVern = exec.submit(() -> addVernaculars(db, vernWriter));
+      Future<Integer> nDist = exec.submit(() -> addGeographicDivisions(db, distWriter) + addJurisdictions(db, distWriter));
+      addNameUsages(db);
+      LOG.info("ITIS: {} vernacular names written", nVern.get());
+      LOG.info("ITIS: {} distribution records written", nDist.get());
+    } finally {
+      exec.shutdownNow();
+    }
+  }
 
-    try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath())) {
+  private void addNameUsages(ItisDb db) throws SQLException, IOException {
+    try (Connection conn = db.connect()) {
 
       // ── Lookup tables ──────────────────────────────────────────────────────
-      Map<Integer, String> kingdoms = queryIntStringMap(conn,
+      Int2ObjectMap<String> kingdoms = ItisDb.intStringMap(conn,
           "SELECT kingdom_id, kingdom_name FROM kingdoms");
       // taxon_unit_types has one row per (rank_id, kingdom_id) pair; ranks share the same
       // name across kingdoms so grouping by rank_id is safe.
-      Map<Integer, String> ranks = queryIntStringMap(conn,
+      Int2ObjectMap<String> ranks = ItisDb.intStringMap(conn,
           "SELECT rank_id, rank_name FROM taxon_unit_types GROUP BY rank_id");
-      Map<Integer, String> authors = queryIntStringMap(conn,
+      Int2ObjectMap<String> authors = ItisDb.intStringMap(conn,
           "SELECT taxon_author_id, taxon_author FROM taxon_authors_lkp");
 
-      // synonym_links: not-accepted TSN → accepted TSN
-      Map<Integer, Integer> synLinks = new HashMap<>();
-      try (Statement st = conn.createStatement();
-           ResultSet rs = st.executeQuery("SELECT tsn, tsn_accepted FROM synonym_links")) {
-        while (rs.next()) synLinks.put(rs.getInt(1), rs.getInt(2));
-      }
+      // synonym_links: not-accepted TSN → accepted TSN, 0 if missing
+      Int2IntMap synLinks = ItisDb.intIntMap(conn,
+          "SELECT tsn, tsn_accepted FROM synonym_links");
       LOG.info("Loaded {} synonym links", synLinks.size());
 
-      // ── Writers ────────────────────────────────────────────────────────────
-      newWriter(ColdpTerm.NameUsage, List.of(
-          ColdpTerm.ID,
-          ColdpTerm.parentID,
-          ColdpTerm.status,
-          ColdpTerm.rank,
-          ColdpTerm.scientificName,
-          ColdpTerm.authorship,
-          ColdpTerm.code
-      ));
-      TermWriter vernWriter = additionalWriter(ColdpTerm.VernacularName, List.of(
-          ColdpTerm.taxonID,
-          ColdpTerm.name,
-          ColdpTerm.language
-      ));
-      TermWriter distWriter = additionalWriter(ColdpTerm.Distribution, List.of(
-          ColdpTerm.taxonID,
-          ColdpTerm.area,
-          ColdpTerm.remarks
-      ));
-
       // ── NameUsage ──────────────────────────────────────────────────────────
       int nAccepted = 0, nSynonyms = 0;
       try (Statement st = conn.createStatement();
@@ -124,13 +146,13 @@ public class Generator extends AbstractColdpGenerator {
                "       name_usage, taxon_author_id " +
                "FROM taxonomic_units ORDER BY tsn")) {
         while (rs.next()) {
-          int    tsn       = rs.getInt("tsn");
-          int    parentTsn = rs.getInt("parent_tsn");  // 0 when NULL
-          int    rankId    = rs.getInt("rank_id");
-          int    kingdomId = rs.getInt("kingdom_id");
-          String sciName   = rs.getString("complete_name");
-          String usage     = rs.getString("name_usage");
-          int    authorId  = rs.getInt("taxon_author_id");  // 0 when NULL
+          int    tsn       = rs.getInt(1);
+          int    parentTsn = rs.getInt(2);  // 0 when NULL
+          int    rankId    = rs.getInt(3);
+          int    kingdomId = rs.getInt(4);
+          String sciName   = rs.getString(5);
+          String usage     = rs.getString(6);
+          int    authorId  = rs.getInt(7);  // 0 when NULL
 
           boolean isAccepted = usage != null && ACCEPTED_USAGES.contains(usage.toLowerCase(Locale.ENGLISH));
           String status = isAccepted ? "accepted" : "synonym";
@@ -140,8 +162,8 @@ public class Generator extends AbstractColdpGenerator {
           if (isAccepted) {
             parentId = parentTsn > 0 ? String.valueOf(parentTsn) : null;
           } else {
-            Integer accTsn = synLinks.get(tsn);
-            parentId = accTsn != null ? String.valueOf(accTsn) : null;
+            int accTsn = synLinks.get(tsn);
+            parentId = accTsn > 0 ? String.valueOf(accTsn) : null;
           }
 
           writer.set(ColdpTerm.ID, String.valueOf(tsn));
@@ -162,57 +184,70 @@ public class Generator extends AbstractColdpGenerator {
         }
       }
       LOG.info("ITIS {}: {} accepted, {} synonyms written", version, nAccepted, nSynonyms);
+    }
+  }
 
-      // ── VernacularName ─────────────────────────────────────────────────────
-      int nVern = 0;
-      try (Statement st = conn.createStatement();
-           ResultSet rs = st.executeQuery(
-               "SELECT tsn, vernacular_name, language FROM vernaculars ORDER BY tsn")) {
-        while (rs.next()) {
-          String vName = rs.getString("vernacular_name");
-          if (vName == null || vName.isBlank()) continue;
-          vernWriter.set(ColdpTerm.taxonID,  String.valueOf(rs.getInt("tsn")));
-          vernWriter.set(ColdpTerm.name,      vName.trim());
-          String lang = rs.getString("language");
-          if (lang != null && !lang.isBlank()) vernWriter.set(ColdpTerm.language, lang.trim());
-          vernWriter.next();
-          nVern++;
-        }
+  // ── VernacularName ─────────────────────────────────────────────────────
+  private static int addVernaculars(ItisDb db, TermWriter vernWriter) throws SQLException, IOException {
+    int nVern = 0;
+    try (Connection conn = db.connect();
+         Statement st = conn.createStatement();
+         ResultSet rs = st.executeQuery(
+             "SELECT tsn, vernacular_name, language FROM vernaculars ORDER BY tsn")) {
+      while (rs.next()) {
+        String vName = rs.getString(2);
+        if (vName == null || vName.isBlank()) continue;
+        vernWriter.set(ColdpTerm.taxonID,  String.valueOf(rs.getInt(1)));
+        vernWriter.set(ColdpTerm.name,      vName.trim());
+        String lang = rs.getString(3);
+        if (lang != null && !lang.isBlank()) vernWriter.set(ColdpTerm.language, lang.trim());
+        vernWriter.next();
+        nVern++;
       }
-      LOG.info("ITIS: {} vernacular names written", nVern);
+    }
+    return nVern;
+  }
 
-      // ── Distribution: geographic_div (global coarse regions) ───────────────
-      int nDist = 0;
-      try (Statement st = conn.createStatement();
-           ResultSet rs = st.executeQuery(
-               "SELECT tsn, geographic_value FROM geographic_div ORDER BY tsn")) {
-        while (rs.next()) {
-          String area = rs.getString("geographic_value");
-          if (area == null || area.isBlank()) continue;
-          distWriter.set(ColdpTerm.taxonID, String.valueOf(rs.getInt("tsn")));
-          distWriter.set(ColdpTerm.area,    area.trim());
-          distWriter.next();
-          nDist++;
-        }
+  // ── Distribution: geographic_div (global coarse regions) ───────────────
+  private static int addGeographicDivisions(ItisDb db, TermWriter distWriter) throws SQLException, IOException {
+    int nDist = 0;
+    try (Connection conn = db.connect();
+         Statement st = conn.createStatement();
+         ResultSet rs = st.executeQuery(
+             "SELECT tsn, geographic_value FROM geographic_div ORDER BY tsn")) {
+      while (rs.next()) {
+        String area = rs.getString(2);
+        if (area == null || area.isBlank()) continue;
+        String taxonID = String.valueOf(rs.getInt(1));
+        distWriter.set(ColdpTerm.taxonID, taxonID);
+        distWriter.set(ColdpTerm.area,    area.trim());
+        distWriter.next();
+        nDist++;
       }
+    }
+    return nDist;
+  }
 
-      // ── Distribution: jurisdiction (North American, with native/introduced origin) ──
-      try (Statement st = conn.createStatement();
-           ResultSet rs = st.executeQuery(
-               "SELECT tsn, jurisdiction_value, origin FROM jurisdiction ORDER BY tsn")) {
-        while (rs.next()) {
-          String area = rs.getString("jurisdiction_value");
-          if (area == null || area.isBlank()) continue;
-          distWriter.set(ColdpTerm.taxonID, String.valueOf(rs.getInt("tsn")));
-          distWriter.set(ColdpTerm.area,    area.trim());
-          String origin = rs.getString("origin");
-          if (origin != null && !origin.isBlank()) distWriter.set(ColdpTerm.remarks, origin.trim());
-          distWriter.next();
-          nDist++;
-        }
+  // ── Distribution: jurisdiction (North American, with native/introduced origin) ──
+  private static int addJurisdictions(ItisDb db, TermWriter distWriter) throws SQLException, IOException {
+    int nDist = 0;
+    try (Connection conn = db.connect();
+         Statement st = conn.createStatement();
+         ResultSet rs = st.executeQuery(
+             "SELECT tsn, jurisdiction_value, origin FROM jurisdiction ORDER BY tsn")) {
+      while (rs.next()) {
+        String area = rs.getString(2);
+        if (area == null || area.isBlank()) continue;
+        String taxonID = String.valueOf(rs.getInt(1));
+        String origin = rs.getString(3);
+        distWriter.set(ColdpTerm.taxonID, taxonID);
+        distWriter.set(ColdpTerm.area,    area.trim());
+        if (origin != null && !origin.isBlank()) distWriter.set(ColdpTerm.remarks, origin.trim());
+        distWriter.next();
+        nDist++;
       }
-      LOG.info("ITIS: {} distribution records written", nDist);
     }
+    return nDist;
   }
 
   @Override
@@ -254,17 +289,6 @@ public class Generator extends AbstractColdpGenerator {
     return dbFile;
   }
 
-  /**
-   * Executes a two-column query (INTEGER key, TEXT value) and returns a map.
-   */
-  private static Map<Integer, String> queryIntStringMap(Connection conn, String sql) throws SQLException {
-    Map<Integer, String> map = new HashMap<>();
-    try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
-      while (rs.next()) map.put(rs.getInt(1), rs.getString(2));
-    }
-    return map;
-  }
-
   /** Returns the ColDP nomenclatural code acronym for the given ITIS kingdom name. */
   private static String nomCode(String kingdomName) {
     if (kingdomName == null) return null;
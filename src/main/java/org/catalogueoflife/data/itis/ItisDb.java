@@ -0,0 +1,65 @@
+package org.catalogueoflife.data.itis;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.sqlite.SQLiteConfig;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Read-only access to the ITIS SQLite dump.
+ *
+ * <p>The dump is never modified, so connections open it as an immutable database:
+ * SQLite then skips all file locking and change detection, and several connections can read it concurrently from
+ * different threads. Each connection memory maps the file and uses a large page cache.
+ */
+class ItisDb {
+  private static final long MMAP_SIZE = 4L * 1024 * 1024 * 1024;
+  private static final int CACHE_SIZE_KB = 256 * 1024;
+
+  private final String url;
+  private final SQLiteConfig config;
+
+  ItisDb(File dbFile) {
+    url = "jdbc:sqlite:file:" + dbFile.getAbsolutePath() + "?immutable=1";
+    config = new SQLiteConfig();
+    config.setReadOnly(true);
+    config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(MMAP_SIZE));
+    // negative values are KiB instead of pages
+    config.setCacheSize(-CACHE_SIZE_KB);
+    config.setTempStore(SQLiteConfig.TempStore.MEMORY);
+  }
+
+  /**
+   * Opens a new tuned, read-only connection. Connections must not be shared between threads.
+   */
+  Connection connect() throws SQLException {
+    return config.createConnection(url);
+  }
+
+  /**
+   * Executes a two-column query (INTEGER key, TEXT value) and returns a map.
+   */
+  static Int2ObjectOpenHashMap<String> intStringMap(Connection conn, String sql) throws SQLException {
+    var map = new Int2ObjectOpenHashMap<String>();
+    try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+      while (rs.next()) map.put(rs.getInt(1), rs.getString(2));
+    }
+    return map;
+  }
+
+  /**
+   * Executes a two-column query (INTEGER key, INTEGER value) and returns a map with 0 as the default value.
+   */
+  static Int2IntOpenHashMap intIntMap(Connection conn, String sql) throws SQLException {
+    var map = new Int2IntOpenHashMap();
+    try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+      while (rs.next()) map.put(rs.getInt(1), rs.getInt(2));
+    }
+    return map;
+  }
+}
@@ -0,0 +1,61 @@
+package org.catalogueoflife.data.ncbi;
+
+import org.catalogueoflife.data.utils.ReadAheadInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads the .dmp files of the NCBI taxdump directly from the zip archive without extracting them.
+ *
+ * <p>Every opened entry is inflated on its own thread by a {@link ReadAheadInputStream},
+ * so decompression runs ahead of and in parallel to the parsing thread,
+ * and entries that are read concurrently are also inflated concurrently.
+ */
+class DmpArchive implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(DmpArchive.class);
+
+  private final ZipFile zip;
+  private final Map<String, ZipEntry> entries = new HashMap<>();
+
+  DmpArchive(File zipFile) throws IOException {
+    zip = new ZipFile(zipFile);
+    Enumeration<? extends ZipEntry> iter = zip.entries();
+    while (iter.hasMoreElements()) {
+      ZipEntry entry = iter.nextElement();
+      // Entry names may include a path prefix; match on the bare filename
+      entries.put(new File(entry.getName()).getName(), entry);
+    }
+  }
+
+  boolean contains(String filename) {
+    return entries.containsKey(filename);
+  }
+
+  /**
+   * Opens a reader on the given .dmp file and starts inflating it in the background.
+   * @throws FileNotFoundException if the archive does not contain the file
+   */
+  DmpReader open(String filename) throws IOException {
+    ZipEntry entry = entries.get(filename);
+    if (entry == null) {
+      throw new FileNotFoundException(filename + " not found in " + zip.getName());
+    }
+    LOG.info("Streaming {} ({} bytes) from {}", filename, entry.getSize() < 0 ? "?" : entry.getSize(), zip.getName());
+    return new DmpReader(new ReadAheadInputStream(zip.getInputStream(entry)));
+  }
+
+  @Override
+  public void close() throws IOException {
+    zip.close();
+  }
+}
@@ -0,0 +1,184 @@
+package org.catalogueoflife.data.ncbi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte level reader for NCBI .dmp files.
+ * Fields are delimited by {@code \t|\t} and records are terminated by {@code \t|} and a newline.
+ *
+ * <p>The reader scans the raw UTF-8 bytes for delimiters and only remembers the field offsets of the current record.
+ * Strings are decoded lazily by {@link #get(int)}, integers are parsed straight from the bytes,
+ * so columns that are never looked at cost nothing. Blank lines are skipped.
+ *
+ * <pre>{@code
+ *   try (DmpReader r = new DmpReader(in)) {
+ *     while (r.next()) {
+ *       int taxId = r.getInt(0);
+ *       String name = r.get(1);
+ *     }
+ *   }
+ * }</pre>
+ */
+class DmpReader implements Closeable {
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final InputStream in;
+  private byte[] buf = new byte[BUFFER_SIZE];
+  private int pos;   // start of the unconsumed bytes in buf
+  private int limit; // end of the valid bytes in buf
+  private boolean eof;
+  // field offsets of the current record
+  private int[] starts = new int[16];
+  private int[] ends = new int[16];
+  private int size;
+
+  DmpReader(InputStream in) {
+    this.in = in;
+  }
+
+  /**
+   * Advances to the next non blank record.
+   * @return false if the end of the stream was reached
+   */
+  boolean next() throws IOException {
+    while (true) {
+      int nl = indexOf((byte) '\n', pos);
+      while (nl < 0 && !eof) {
+        fill();
+        nl = indexOf((byte) '\n', pos);
+      }
+      if (nl < 0) {
+        if (pos >= limit) {
+          size = 0;
+          return false;
+        }
+        nl = limit; // last line without newline
+      }
+      int start = pos;
+      pos = Math.min(nl + 1, limit);
+      if (parse(start, nl)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Splits the line buf[start, end) into fields.
+   * @return false for blank lines
+   */
+  private boolean parse(int start, int end) {
+    // strip trailing whitespace incl \r, then the record terminator \t| or |
+    int e = end;
+    while (e > start && isSpace(buf[e - 1])) e--;
+    if (e == start) return false;
+    if (buf[e - 1] == '|') {
+      e--;
+      if (e > start && buf[e - 1] == '\t') e--;
+    }
+    size = 0;
+    int fieldStart = start;
+    int i = start;
+    while (i < e - 1) {
+      if (buf[i] == '\t' && buf[i + 1] == '|') {
+        addField(fieldStart, i);
+        i += 2;
+        if (i < e && buf[i] == '\t') i++;
+        fieldStart = i;
+      } else {
+        i++;
+      }
+    }
+    addField(fieldStart, e);
+    return true;
+  }
+
+  private void addField(int start, int end) {
+    if (size == starts.length) {
+      starts = Arrays.copyOf(starts, size * 2);
+      ends = Arrays.copyOf(ends, size * 2);
+    }
+    // trim like String.trim()
+    while (start < end && isSpace(buf[start])) start++;
+    while (end > start && isSpace(buf[end - 1])) end--;
+    starts[size] = start;
+    ends[size] = end;
+    size++;
+  }
+
+  private static boolean isSpace(byte b) {
+    return b >= 0 && b <= ' ';
+  }
+
+  private int indexOf(byte b, int from) {
+    for (int i = from; i < limit; i++) {
+      if (buf[i] == b) return i;
+    }
+    return -1;
+  }
+
+  /**
+   * Moves the unconsumed bytes to the start of the buffer, growing it for very long lines, and reads more data.
+   */
+  private void fill() throws IOException {
+    int remaining = limit - pos;
+    if (pos > 0) {
+      System.arraycopy(buf, pos, buf, 0, remaining);
+      pos = 0;
+      limit = remaining;
+    } else if (limit == buf.length) {
+      buf = Arrays.copyOf(buf, buf.length * 2);
+    }
+    int n = in.read(buf, limit, buf.length - limit);
+    if (n < 0) {
+      eof = true;
+    } else {
+      limit += n;
+    }
+  }
+
+  /**
+   * @return number of fields in the current record
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the trimmed value at column {@code i}, or {@code null} if absent or blank.
+   */
+  String get(int i) {
+    if (i >= size || starts[i] == ends[i]) return null;
+    return new String(buf, starts[i], ends[i] - starts[i], StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Parses the integer at column {@code i}, returning 0 for absent/unparseable values.
+   */
+  int getInt(int i) {
+    if (i >= size || starts[i] == ends[i]) return 0;
+    int p = starts[i];
+    int end = ends[i];
+    boolean neg = buf[p] == '-';
+    if (neg || buf[p] == '+') {
+      if (++p == end) return 0;
+    }
+    long val = 0;
+    for (; p < end; p++) {
+      int d = buf[p] - '0';
+      if (d < 0 || d > 9) return 0;
+      val = val * 10 + d;
+      if (val > (long) Integer.MAX_VALUE + 1) return 0;
+    }
+    val = neg ? -val : val;
+    return val < Integer.MIN_VALUE || val > Integer.MAX_VALUE ? 0 : (int) val;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
@@ -5,19 +5,23 @@ import life.catalogue.common.io.TermWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.catalogueoflife.data.AbstractColdpGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.gbif.nameparser.api.NomCode;
 
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 /**
  * NCBI Taxonomy generator.
@@ -34,6 +38,9 @@ import java.util.zip.ZipFile;
  *   division.dmp      – division codes (BCT, PLN, VRT …) → nomenclatural code
  *   images.dmp        – organism images (url, license, attribution, source, taxid_list)
  *
+ * The .dmp files are streamed straight from the downloaded zip without extracting them,
+ * see {@link DmpArchive} and {@link DmpReader}.
+ *
  * Processing order:
  *   1. division.dmp   → build divCodes lookup
  *   2. names.dmp      → build sciNames / authorities / synonyms maps; write VernacularName
@@ -43,6 +50,9 @@ import java.util.zip.ZipFile;
  *   6. typematerial.dmp → write TypeMaterial
  *   7. images.dmp     → write Media
  *   8. host.dmp       → write SpeciesInteraction
+ * Steps 5-8 run concurrently with steps 1-4, each on its own thread and writer.
+ * Name strings are kept as UTF-8 in a shared {@link NameArena} behind int keyed primitive maps,
+ * which keeps the ~5 million names of the taxdump within a few hundred MB of heap.
  */
 public class Generator extends AbstractColdpGenerator {
 
@@ -52,9 +62,6 @@ public class Generator extends AbstractColdpGenerator {
   private static final String TAXON_URL     = "https://www.ncbi.nlm.nih.gov/Taxonomy/Browser/wwwtax.cgi?id=";
   private static final String PUBMED_URL    = "https://pubmed.ncbi.nlm.nih.gov/";
 
-  // NCBI field delimiter is TAB-PIPE-TAB; lines terminate with TAB-PIPE
-  static final Pattern SPLITTER = Pattern.compile("\t\\|\t?");
-
   // Extracts a URL from a license string like "CC BY-SA 3.0 (https://...)"
   private static final Pattern LICENSE_URL_PAT = Pattern.compile("\\(([^)]+)\\)\\s*$");
 
@@ -67,18 +74,21 @@ public class Generator extends AbstractColdpGenerator {
 
   // ── In-memory lookups ──────────────────────────────────────────────────────
   /** division_id → GenBank division code (e.g. "BCT", "PLN") */
-  private final Map<Integer, String> divCodes  = new HashMap<>();
-  /** tax_id → scientific name text */
-  private final Map<Integer, String> sciNames  = new HashMap<>(3_000_000);
+  private final Int2ObjectMap<String> divCodes = new Int2ObjectOpenHashMap<>();
+  /** UTF-8 bytes of all scientific names, authorities and synonyms */
+  private final NameArena arena = new NameArena();
+  /** tax_id → arena handle of the scientific name text, -1 if missing */
+  private final Int2LongOpenHashMap sciNames = new Int2LongOpenHashMap(3_000_000);
   /** tax_id → all authority strings for that taxon (there may be several for different synonymous names) */
-  private final Map<Integer, List<String>> authorities = new HashMap<>(2_000_000);
+  private final NameMultimap authorities = new NameMultimap(arena, 2_000_000);
   /** tax_id (of accepted taxon) → list of synonym name strings */
-  private final Map<Integer, List<String>> synonyms = new HashMap<>(500_000);
+  private final NameMultimap synonyms = new NameMultimap(arena, 500_000);
 
   private String version;
 
   public Generator(GeneratorConfig cfg) throws IOException {
     super(cfg, true);
+    sciNames.defaultReturnValue(-1);
   }
 
   // ── Lifecycle ──────────────────────────────────────────────────────────────
@@ -106,8 +116,12 @@ public class Generator extends AbstractColdpGenerator {
   @Override
   protected void addData() throws Exception {
     File zipFile = download(ZIP_FN, DOWNLOAD_URI);
-    extractDmpFiles(zipFile);
+    try (DmpArchive archive = new DmpArchive(zipFile)) {
+      addData(archive);
+    }
+  }
 
+  private void addData(DmpArchive archive) throws Exception {
     // ── Writers ────────────────────────────────────────────────────────────
     newWriter(ColdpTerm.NameUsage, List.of(
         ColdpTerm.ID,
@@ -151,24 +165,44 @@ public class Generator extends AbstractColdpGenerator {
         ColdpTerm.link
     ));
 
+    // ── Steps 5-8 are independent of the name lookups and have their own writers ──
+    ExecutorService exec = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> tasks = List.of(
+          exec.submit(() -> { writeReferences(archive); return null; }),
+          exec.submit(() -> { writeTypeMaterial(archive, typeMatWriter); return null; }),
+          exec.submit(() -> { writeMedia(archive, mediaWriter); return null; }),
+          exec.submit(() -> { writeHosts(archive, siWriter); return null; })
+      );
+      addNameUsages(archive, vernWriter);
+      for (Future<?> f : tasks) {
+        f.get();
+      }
+    } finally {
+      exec.shutdownNow();
+    }
+  }
+
+  /**
+   * Steps 1-4 which build the name lookups and use them to write the NameUsage file.
+   */
+  private void addNameUsages(DmpArchive archive, TermWriter vernWriter) throws IOException {
     // ── Step 1: division.dmp → divCodes ───────────────────────────────────
-    loadDivisions();
+    loadDivisions(archive);
 
     // ── Step 2: names.dmp pass 1 → sciNames / authorities / synonyms + VernacularName ──
     LOG.info("Processing names.dmp (pass 1: collecting names, synonyms, vernaculars)…");
     int nVern = 0;
-    try (BufferedReader br = reader(sourceFile("names.dmp"))) {
-      for (String line = br.readLine(); line != null; line = br.readLine()) {
-        String[] row = split(line);
-        if (row == null) continue;
-        int    taxId    = parseInt(row, 0);
-        String name     = col(row, 1);
-        String nameClass = col(row, 3);
+    try (DmpReader row = archive.open("names.dmp")) {
+      while (row.next()) {
+        int    taxId    = row.getInt(0);
+        String name     = row.get(1);
+        String nameClass = row.get(3);
         if (name == null || nameClass == null) continue;
 
         switch (nameClass) {
-          case "scientific name" -> sciNames.put(taxId, name);
-          case "authority"       -> authorities.computeIfAbsent(taxId, k -> new ArrayList<>()).add(name);
+          case "scientific name" -> sciNames.put(taxId, arena.add(name));
+          case "authority"       -> authorities.put(taxId, name);
           case "common name", "genbank common name", "blast name" -> {
             vernWriter.set(ColdpTerm.taxonID, taxId);
             vernWriter.set(ColdpTerm.name,    name);
@@ -181,33 +215,32 @@ public class Generator extends AbstractColdpGenerator {
           }
           default -> {
             if (SYNONYM_CLASSES.contains(nameClass)) {
-              synonyms.computeIfAbsent(taxId, k -> new ArrayList<>()).add(name);
+              synonyms.put(taxId, name);
             }
           }
         }
       }
     }
-    LOG.info("Loaded {} scientific names, {} taxa with authority strings, {} synonym groups, {} vernacular names",
-        sciNames.size(), authorities.size(), synonyms.size(), nVern);
+    LOG.info("Loaded {} scientific names, {} taxa with authority strings, {} synonym groups ({} MB of name strings), {} vernacular names",
+        sciNames.size(), authorities.size(), synonyms.size(), arena.bytes() / (1024 * 1024), nVern);
 
     // ── Step 3: nodes.dmp → NameUsage (accepted) ──────────────────────────
     LOG.info("Processing nodes.dmp…");
     int nNodes = 0;
-    try (BufferedReader br = reader(sourceFile("nodes.dmp"))) {
-      for (String line = br.readLine(); line != null; line = br.readLine()) {
-        String[] row = split(line);
-        if (row == null) continue;
-        int    taxId   = parseInt(row, 0);
-        int    parentId = parseInt(row, 1);
-        String rank    = col(row, 2);
-        int    divId   = parseInt(row, 4);
-        String comments = col(row, 12);
-
-        String sciName = sciNames.get(taxId);
-        if (sciName == null) {
+    try (DmpReader row = archive.open("nodes.dmp")) {
+      while (row.next()) {
+        int    taxId   = row.getInt(0);
+        int    parentId = row.getInt(1);
+        String rank    = row.get(2);
+        int    divId   = row.getInt(4);
+        String comments = row.get(12);
+
+        long sciNameHandle = sciNames.get(taxId);
+        if (sciNameHandle < 0) {
           LOG.warn("No scientific name for taxId {}, skipping", taxId);
           continue;
         }
+        String sciName = arena.get(sciNameHandle);
         List<String> authList = authorities.get(taxId);
         String authorship = extractAuthorship(sciName, authList);
 
@@ -244,10 +277,9 @@ public class Generator extends AbstractColdpGenerator {
     // ── Step 4: synonyms map → NameUsage (synonyms) ───────────────────────
     LOG.info("Writing synonym NameUsage records…");
     int nSyn = 0;
-    for (Map.Entry<Integer, List<String>> e : synonyms.entrySet()) {
-      int acceptedId = e.getKey();
+    for (int acceptedId : synonyms.keys()) {
       int n = 1;
-      for (String synName : e.getValue()) {
+      for (String synName : synonyms.get(acceptedId)) {
         writer.set(ColdpTerm.ID,             acceptedId + "-s" + n++);
         writer.set(ColdpTerm.parentID,       acceptedId);
         writer.set(ColdpTerm.status,         "synonym");
@@ -258,18 +290,20 @@ public class Generator extends AbstractColdpGenerator {
     }
     LOG.info("Written {} synonym NameUsage records", nSyn);
     synonyms.clear();  // release memory
+  }
 
-    // ── Step 5: citations.dmp → Reference ─────────────────────────────────
+  /**
+   * citations.dmp → Reference
+   */
+  private void writeReferences(DmpArchive archive) throws IOException {
     LOG.info("Processing citations.dmp…");
     int nRefs = 0;
-    try (BufferedReader br = reader(sourceFile("citations.dmp"))) {
-      for (String line = br.readLine(); line != null; line = br.readLine()) {
-        String[] row = split(line);
-        if (row == null) continue;
-        String citId   = col(row, 0);
-        String pubmedId = col(row, 3);
-        String url     = col(row, 4);
-        String text    = col(row, 5);
+    try (DmpReader row = archive.open("citations.dmp")) {
+      while (row.next()) {
+        String citId   = row.get(0);
+        String pubmedId = row.get(3);
+        String url     = row.get(4);
+        String text    = row.get(5);
 
         // unescape \" and \\
         if (text != null) {
@@ -296,17 +330,19 @@ public class Generator extends AbstractColdpGenerator {
       }
     }
     LOG.info("Written {} Reference records", nRefs);
+  }
 
-    // ── Step 6: typematerial.dmp → TypeMaterial ───────────────────────────
+  /**
+   * typematerial.dmp → TypeMaterial
+   */
+  private void writeTypeMaterial(DmpArchive archive, TermWriter typeMatWriter) throws IOException {
     LOG.info("Processing typematerial.dmp…");
     int nTypes = 0;
-    try (BufferedReader br = reader(sourceFile("typematerial.dmp"))) {
-      for (String line = br.readLine(); line != null; line = br.readLine()) {
-        String[] row = split(line);
-        if (row == null) continue;
-        String taxId      = col(row, 0);
-        String typeStatus = col(row, 2);   // holotype, paratype, …
-        String identifier = col(row, 3);   // specimen catalogue number / voucher
+    try (DmpReader row = archive.open("typematerial.dmp")) {
+      while (row.next()) {
+        String taxId      = row.get(0);
+        String typeStatus = row.get(2);   // holotype, paratype, …
+        String identifier = row.get(3);   // specimen catalogue number / voucher
 
         if (StringUtils.isBlank(identifier)) continue;
 
@@ -318,28 +354,29 @@ public class Generator extends AbstractColdpGenerator {
       }
     }
     LOG.info("Written {} TypeMaterial records", nTypes);
+  }
 
-    // ── Step 7: images.dmp → Media ────────────────────────────────────────────
+  /**
+   * images.dmp → Media
+   */
+  private void writeMedia(DmpArchive archive, TermWriter mediaWriter) throws IOException {
     LOG.info("Processing images.dmp…");
     int nMedia = 0;
-    File imagesFile = sourceFile("images.dmp");
-    if (imagesFile.exists()) {
-      try (BufferedReader br = reader(imagesFile)) {
-        for (String line = br.readLine(); line != null; line = br.readLine()) {
-          String[] row = split(line);
-          if (row == null) continue;
+    if (archive.contains("images.dmp")) {
+      try (DmpReader row = archive.open("images.dmp")) {
+        while (row.next()) {
           // col 1: image_key like "image:Homo sapiens"  → strip "image:" prefix for title
           // col 2: url
           // col 3: license string (may contain URL in parentheses)
           // col 4: attribution / creator
           // col 5: source (Wikimedia Commons, iNaturalist, …)
           // col 7: taxid_list – space-separated tax_ids
-          String imageKey  = col(row, 1);
-          String url       = col(row, 2);
-          String licenseRaw = col(row, 3);
-          String creator   = col(row, 4);
-          String source    = col(row, 5);
-          String taxIdList = col(row, 7);
+          String imageKey  = row.get(1);
+          String url       = row.get(2);
+          String licenseRaw = row.get(3);
+          String creator   = row.get(4);
+          String source    = row.get(5);
+          String taxIdList = row.get(7);
 
           if (url == null || taxIdList == null) continue;
 
@@ -365,18 +402,19 @@ public class Generator extends AbstractColdpGenerator {
       LOG.warn("images.dmp not found — no Media records written");
     }
     LOG.info("Written {} Media records", nMedia);
+  }
 
-    // ── Step 8: host.dmp → SpeciesInteraction ────────────────────────────────
+  /**
+   * host.dmp → SpeciesInteraction
+   */
+  private void writeHosts(DmpArchive archive, TermWriter siWriter) throws IOException {
     LOG.info("Processing host.dmp…");
     int nSI = 0;
-    File hostFile = sourceFile("host.dmp");
-    if (hostFile.exists()) {
-      try (BufferedReader br = reader(hostFile)) {
-        for (String line = br.readLine(); line != null; line = br.readLine()) {
-          String[] row = split(line);
-          if (row == null) continue;
-          String taxId = col(row, 0);
-          String hosts = col(row, 1);
+    if (archive.contains("host.dmp")) {
+      try (DmpReader row = archive.open("host.dmp")) {
+        while (row.next()) {
+          String taxId = row.get(0);
+          String hosts = row.get(1);
           if (taxId == null || hosts == null) continue;
           for (String host : hosts.split(",")) {
             host = host.trim();
@@ -407,99 +445,18 @@ public class Generator extends AbstractColdpGenerator {
   /**
    * Loads division.dmp into {@link #divCodes}: division_id → GenBank code (BCT, PLN, …).
    */
-  private void loadDivisions() throws IOException {
-    try (BufferedReader br = reader(sourceFile("division.dmp"))) {
-      for (String line = br.readLine(); line != null; line = br.readLine()) {
-        String[] row = split(line);
-        if (row == null || row.length < 2) continue;
-        int    id   = parseInt(row, 0);
-        String code = col(row, 1);
+  private void loadDivisions(DmpArchive archive) throws IOException {
+    try (DmpReader row = archive.open("division.dmp")) {
+      while (row.next()) {
+        if (row.size() < 2) continue;
+        int    id   = row.getInt(0);
+        String code = row.get(1);
         if (code != null) divCodes.put(id, code);
       }
     }
     LOG.info("Loaded {} division codes: {}", divCodes.size(), divCodes);
   }
 
-  /**
-   * Extracts the .dmp files needed for processing from the downloaded ZIP archive.
-   * Already-extracted files are reused without re-reading the ZIP.
-   */
-  private void extractDmpFiles(File zipFile) throws IOException {
-    String[] needed = {
-        "nodes.dmp", "names.dmp", "citations.dmp", "typematerial.dmp", "division.dmp",
-        "images.dmp", "host.dmp"
-    };
-    Set<String> missing = new HashSet<>();
-    for (String fn : needed) {
-      if (!sourceFile(fn).exists()) missing.add(fn);
-    }
-    if (missing.isEmpty()) {
-      LOG.info("All .dmp files already extracted under {}", sources);
-      return;
-    }
-    LOG.info("Extracting {} from {} …", missing, zipFile.getName());
-    try (ZipFile zip = new ZipFile(zipFile)) {
-      Enumeration<? extends ZipEntry> entries = zip.entries();
-      while (entries.hasMoreElements() && !missing.isEmpty()) {
-        ZipEntry entry = entries.nextElement();
-        // Entry names may include a path prefix; match on the bare filename
-        String entryName = new File(entry.getName()).getName();
-        if (!missing.contains(entryName)) continue;
-        File dest = sourceFile(entryName);
-        LOG.info("  Extracting {} ({} bytes) …", entryName,
-            entry.getSize() < 0 ? "?" : entry.getSize());
-        try (InputStream in  = zip.getInputStream(entry);
-             OutputStream out = new FileOutputStream(dest)) {
-          in.transferTo(out);
-        }
-        missing.remove(entryName);
-      }
-    }
-    if (!missing.isEmpty()) {
-      LOG.warn("Could not find in ZIP: {}", missing);
-    }
-  }
-
-  /**
-   * Splits an NCBI .dmp line on the {@code \t|\t} delimiter, stripping the
-   * trailing {@code \t|} record terminator. Returns {@code null} for blank lines.
-   */
-  static String[] split(String line) {
-    if (line == null || line.isBlank()) return null;
-    // Strip trailing record terminator \t| (may or may not have a trailing newline already stripped)
-    String s = line;
-    if (s.endsWith("\t|")) s = s.substring(0, s.length() - 2);
-    else if (s.endsWith("|"))  s = s.substring(0, s.length() - 1);
-    return SPLITTER.split(s, -1);
-  }
-
-  /**
-   * Returns the trimmed value at column {@code i}, or {@code null} if absent or blank.
-   */
-  static String col(String[] row, int i) {
-    if (row == null || i >= row.length) return null;
-    String v = row[i].trim();
-    return v.isEmpty() ? null : v;
-  }
-
-  /**
-   * Parses the integer at column {@code i}, returning 0 for absent/unparseable values.
-   */
-  static int parseInt(String[] row, int i) {
-    String v = col(row, i);
-    if (v == null) return 0;
-    try {
-      return Integer.parseInt(v);
-    } catch (NumberFormatException e) {
-      return 0;
-    }
-  }
-
-  static BufferedReader reader(File f) throws IOException {
-    return new BufferedReader(
-        new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8));
-  }
-
   /**
    * Extracts the authorship from an NCBI "authority" name string by stripping
    * the leading scientific name.
@@ -0,0 +1,68 @@
+package org.catalogueoflife.data.ncbi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only store for millions of short strings, kept as UTF-8 bytes in a few large chunks
+ * instead of one String object each. Strings are addressed by a long handle
+ * and decoded again on {@link #get(long)}.
+ *
+ * <p>Each record is a varint length followed by the UTF-8 bytes.
+ * A handle holds the chunk index in the upper and the record offset in the lower 32 bits.
+ * Not thread safe.
+ */
+class NameArena {
+  private static final int CHUNK_SIZE = 16 * 1024 * 1024;
+
+  private final List<byte[]> chunks = new ArrayList<>();
+  private byte[] chunk;
+  private int pos;
+  private long bytes;
+
+  /**
+   * @return the handle of the added string
+   */
+  long add(String s) {
+    byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+    int recLen = utf8.length + 5;
+    if (chunk == null || pos + recLen > chunk.length) {
+      chunk = new byte[Math.max(CHUNK_SIZE, recLen)];
+      chunks.add(chunk);
+      pos = 0;
+    }
+    long handle = ((long) (chunks.size() - 1) << 32) | pos;
+    int len = utf8.length;
+    while ((len & ~0x7F) != 0) {
+      chunk[pos++] = (byte) ((len & 0x7F) | 0x80);
+      len >>>= 7;
+    }
+    chunk[pos++] = (byte) len;
+    System.arraycopy(utf8, 0, chunk, pos, utf8.length);
+    pos += utf8.length;
+    bytes += utf8.length;
+    return handle;
+  }
+
+  String get(long handle) {
+    byte[] c = chunks.get((int) (handle >>> 32));
+    int p = (int) handle;
+    int len = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = c[p++];
+      len |= (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return new String(c, p, len, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return total number of string bytes stored, excluding length prefixes
+   */
+  long bytes() {
+    return bytes;
+  }
+}
@@ -0,0 +1,79 @@
+package org.catalogueoflife.data.ncbi;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maps a tax_id to several name strings held in a shared {@link NameArena}.
+ * The values of a key form a linked list of entry numbers in two primitive arrays,
+ * so a key costs one map slot and each value 12 bytes plus its UTF-8 bytes.
+ * Not thread safe.
+ */
+class NameMultimap {
+  private final NameArena arena;
+  private final Int2IntOpenHashMap last; // key -> number of its last entry
+  private final LongArrayList handles;   // entry -> arena handle
+  private final IntArrayList prev;       // entry -> previous entry of the same key, -1 for the first
+
+  NameMultimap(NameArena arena, int expectedKeys) {
+    this.arena = arena;
+    last = new Int2IntOpenHashMap(expectedKeys);
+    last.defaultReturnValue(-1);
+    handles = new LongArrayList(expectedKeys);
+    prev = new IntArrayList(expectedKeys);
+  }
+
+  void put(int key, String value) {
+    int entry = handles.size();
+    handles.add(arena.add(value));
+    prev.add(last.put(key, entry));
+  }
+
+  /**
+   * @return the values of the key in insertion order or null if there are none
+   */
+  List<String> get(int key) {
+    int entry = last.get(key);
+    if (entry < 0) return null;
+    List<String> values = new ArrayList<>(2);
+    for (; entry >= 0; entry = prev.getInt(entry)) {
+      values.add(arena.get(handles.getLong(entry)));
+    }
+    Collections.reverse(values);
+    return values;
+  }
+
+  /**
+   * @return all keys in ascending order
+   */
+  int[] keys() {
+    int[] keys = last.keySet().toIntArray();
+    Arrays.sort(keys);
+    return keys;
+  }
+
+  /**
+   * @return number of keys
+   */
+  int size() {
+    return last.size();
+  }
+
+  /**
+   * Releases all entries. The strings stay in the arena.
+   */
+  void clear() {
+    last.clear();
+    last.trim();
+    handles.clear();
+    handles.trim();
+    prev.clear();
+    prev.trim();
+  }
+}
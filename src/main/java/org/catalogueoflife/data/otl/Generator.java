@@ -16,19 +16,14 @@
 package org.catalogueoflife.data.otl;
 
 import com.google.common.annotations.VisibleForTesting;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import life.catalogue.coldp.ColdpTerm;
-import life.catalogue.common.io.CompressionUtil;
 import life.catalogue.common.io.UTF8IoUtils;
-import org.apache.commons.io.FileUtils;
 import org.catalogueoflife.data.GeneratorConfig;
-import org.catalogueoflife.newick.SimpleNode;
-import org.catalogueoflife.newick.SimpleParser;
+import org.catalogueoflife.data.ott.OttTable;
 
 import javax.annotation.Nullable;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.net.URI;
 import java.time.LocalDate;
@@ -43,38 +38,16 @@ public class Generator extends org.catalogueoflife.data.ott.Generator {
   private static final String VERSION = "13.4";
   private static final URI DOWNLOAD = URI.create("http://files.opentreeoflife.org/synthesis/opentree" + VERSION + "/opentree" + VERSION + ".tgz");
   private static final Pattern OTT_PATTERN = Pattern.compile("ott(\\d+)");
+  private static final String UNRANKED = "unranked";
   @VisibleForTesting
-  protected final Int2ObjectMap<OttName> ott = new Int2ObjectOpenHashMap<>();
+  protected OttTable ott;
 
   public Generator(GeneratorConfig cfg) throws IOException {
     super(cfg, DOWNLOAD, VERSION);
   }
 
-  static class OttName {
-    public final String name;
-    public final String rank;
-
-    public OttName(String name, String rank) {
-      this.name = name;
-      this.rank = rank;
-    }
-  }
-
   @Override
   protected void prepare() throws IOException {
-    LOG.info("Unpack archive {}", sourceFile(srcFN));
-    ottSources = new File(dir, "sources");
-    CompressionUtil.decompressFile(ottSources, sourceFile(srcFN));
-
-    LOG.info("Read OTT taxonomy");
-    var iter = iterate("taxonomy.tsv");
-    while (iter.hasNext()) {
-      var row = iter.next();
-      OttName sn = new OttName(row[2], translateRank(row[3]));
-      int id = Integer.parseInt(row[0]);
-      ott.put(id, sn);
-    }
-
     // write just the NameUsage file
     newWriter(ColdpTerm.NameUsage, List.of(
       ColdpTerm.ID,
@@ -86,65 +59,64 @@ public class Generator extends org.catalogueoflife.data.ott.Generator {
     ));
   }
 
-  private OttName lookupOTT(int id) {
-    return ott.getOrDefault(id, new OttName("OTT"+id, "unranked"));
+  private String lookupName(int id) {
+    String name = ott.name(id);
+    return name == null ? "OTT" + id : name;
   }
 
   @VisibleForTesting
-  protected void writeNode(SimpleNode n, @Nullable SimpleNode parent) throws IOException {
-    OttName sn = null;
-    if (n.getLabel().startsWith("mrc")) {
-      StringBuilder name = new StringBuilder();
-      name.append("[");
-      var m = OTT_PATTERN.matcher(n.getLabel());
+  protected void writeNode(String label, @Nullable String parent) throws IOException {
+    String name = null;
+    String rank = null;
+    if (label.startsWith("mrc")) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("[");
+      var m = OTT_PATTERN.matcher(label);
       while (m.find()) {
         int id = Integer.parseInt(m.group(1));
-        var ottSN = lookupOTT(id);
-        if (name.length()>1) {
-          name.append(" + ");
+        if (sb.length()>1) {
+          sb.append(" + ");
         }
-        name.append(ottSN.name);
+        sb.append(lookupName(id));
       }
-      name.append("]");
-      sn = new OttName(name.toString(), "clade");
+      sb.append("]");
+      name = sb.toString();
+      rank = "clade";
 
-    } else if (n.getLabel().startsWith("ott")) {
-      int ott = Integer.parseInt(n.getLabel().substring(3));
-      sn = lookupOTT(ott);
+    } else if (label.startsWith("ott")) {
+      int id = Integer.parseInt(label.substring(3));
+      name = lookupName(id);
+      rank = ott.contains(id) ? ott.rank(id) : UNRANKED;
 
     } else {
-      LOG.warn("Unknown node label {}", n.getLabel());
+      LOG.warn("Unknown node label {}", label);
     }
-    writer.set(ColdpTerm.ID, n.getLabel());
+    writer.set(ColdpTerm.ID, label);
     if (parent != null) {
-      writer.set(ColdpTerm.parentID, parent.getLabel());
+      writer.set(ColdpTerm.parentID, parent);
     }
-    if (sn != null) {
-      writer.set(ColdpTerm.scientificName, sn.name);
-      writer.set(ColdpTerm.rank, sn.rank);
+    if (name != null) {
+      writer.set(ColdpTerm.scientificName, name);
+      writer.set(ColdpTerm.rank, rank);
       writer.set(ColdpTerm.status, "accepted");
     }
     writer.next();
-
-    if (n.getChildren() != null) {
-      for (var c : n.getChildren()) {
-        writeNode(c, n);
-      }
-    }
   }
 
   @Override
   protected void addData() throws Exception {
-    LOG.info("Read Newick tree");
-    Reader br = UTF8IoUtils.readerFromFile(new File(ottSources, "labelled_supertree.tre"));
-    var p = new SimpleParser(br);
-    var root = p.parse();
-
-    LOG.info("Process tree");
-    writeNode(root, null);
+    // read the members straight from the compressed archive, the taxonomy is needed before the tree
+    archive()
+        .on("taxonomy.tsv", in -> ott = readTable(in))
+        .on("labelled_supertree.tre", this::addTree)
+        .read();
+  }
 
-    LOG.info("Remove source files");
-    FileUtils.deleteQuietly(ottSources);
+  private void addTree(InputStream in) throws IOException {
+    Reader br = UTF8IoUtils.readerFromStream(in);
+    // nodes are written as soon as their parent label is parsed, the tree is never held in memory
+    long nodes = new NewickReader(br).read(this::writeNode);
+    LOG.info("Wrote {} tree nodes", nodes);
   }
 
   protected LocalDate extractIssueDate() {
@@ -0,0 +1,197 @@
+package org.catalogueoflife.data.otl;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Event based Newick reader that reports every node with the label of its parent while parsing,
+ * without building the tree in memory.
+ *
+ * In Newick the label of an inner node follows its children, e.g. {@code ((a,b)c,d)e;}.
+ * The reader therefore keeps an explicit stack with one frame per open parenthesis holding the
+ * labels of the already parsed children, and reports them once the label of their parent is read.
+ * Nodes are reported children first, the root last with a null parent.
+ * Memory is bounded by the depth of the tree and the siblings pending on the current path,
+ * deep lineages need no call stack.
+ *
+ * Quoted labels ({@code 'a b'} with {@code ''} as an escaped quote), branch lengths and
+ * {@code [comments]} are supported. Unquoted labels are returned as they are.
+ * Every node must be labelled.
+ */
+class NewickReader {
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  @FunctionalInterface
+  interface NodeHandler {
+    void node(String label, @Nullable String parent) throws IOException;
+  }
+
+  private final Reader in;
+  private final char[] buf = new char[BUFFER_SIZE];
+  private int pos;
+  private int limit;
+  private long offset; // chars consumed before buf[0], for error messages
+  private final StringBuilder sb = new StringBuilder();
+  // reused child lists of closed frames to avoid garbage on wide trees
+  private final ArrayDeque<List<String>> pool = new ArrayDeque<>();
+
+  NewickReader(Reader in) {
+    this.in = in;
+  }
+
+  /**
+   * Reads the first tree of the stream.
+   * @return number of reported nodes
+   */
+  long read(NodeHandler handler) throws IOException {
+    ArrayDeque<List<String>> stack = new ArrayDeque<>();
+    List<String> top = new ArrayList<>(1); // pending roots
+    long nodes = 0;
+    boolean expectNode = true; // at the start of a subtree, i.e. after '(' or ','
+    int c;
+    while ((c = skipToToken()) >= 0) {
+      if (c == ';') {
+        pos++;
+        break;
+      }
+      switch (c) {
+        case '(' -> {
+          if (!expectNode) throw error("Unexpected '('");
+          pos++;
+          stack.push(top);
+          top = children();
+        }
+        case ',' -> {
+          if (expectNode || stack.isEmpty()) throw error("Unexpected ','");
+          pos++;
+          expectNode = true;
+        }
+        case ')' -> {
+          if (expectNode || stack.isEmpty()) throw error("Unexpected ')'");
+          pos++;
+          String label = label();
+          if (label == null) throw error("Unlabelled inner node");
+          for (String child : top) {
+            handler.node(child, label);
+          }
+          nodes += top.size();
+          top.clear();
+          pool.push(top);
+          top = stack.pop();
+          top.add(label);
+          skipBranchLength();
+          expectNode = false;
+        }
+        default -> {
+          if (!expectNode) throw error("Unexpected '" + (char) c + "'");
+          String label = label();
+          if (label == null) throw error("Unlabelled leaf");
+          top.add(label);
+          skipBranchLength();
+          expectNode = false;
+        }
+      }
+    }
+    if (!stack.isEmpty()) {
+      throw error("Unbalanced parentheses, " + stack.size() + " open at end of tree");
+    }
+    for (String root : top) {
+      handler.node(root, null);
+    }
+    return nodes + top.size();
+  }
+
+  private List<String> children() {
+    List<String> l = pool.poll();
+    return l == null ? new ArrayList<>() : l;
+  }
+
+  /**
+   * Reads an optional quoted or unquoted label at the current position.
+   * @return the label or null if there is none
+   */
+  private String label() throws IOException {
+    int c = skipToToken();
+    if (c < 0) return null;
+    sb.setLength(0);
+    if (c == '\'') {
+      pos++;
+      while (true) {
+        if (pos >= limit && !fill()) throw error("Unterminated quoted label");
+        char x = buf[pos++];
+        if (x == '\'') {
+          if ((pos < limit || fill()) && buf[pos] == '\'') {
+            sb.append('\'');
+            pos++;
+          } else {
+            break;
+          }
+        } else {
+          sb.append(x);
+        }
+      }
+      return sb.toString();
+    }
+    while (pos < limit || fill()) {
+      char x = buf[pos];
+      if (isDelimiter(x) || Character.isWhitespace(x)) break;
+      sb.append(x);
+      pos++;
+    }
+    return sb.isEmpty() ? null : sb.toString();
+  }
+
+  private void skipBranchLength() throws IOException {
+    if (skipToToken() == ':') {
+      pos++;
+      skipToToken();
+      while ((pos < limit || fill()) && !isDelimiter(buf[pos]) && !Character.isWhitespace(buf[pos])) {
+        pos++;
+      }
+    }
+  }
+
+  private static boolean isDelimiter(char c) {
+    return c == '(' || c == ')' || c == ',' || c == ':' || c == ';' || c == '[' || c == '\'';
+  }
+
+  /**
+   * Skips whitespace and comments.
+   * @return the next char without consuming it or -1 at the end of the stream
+   */
+  private int skipToToken() throws IOException {
+    while (pos < limit || fill()) {
+      char c = buf[pos];
+      if (c == '[') {
+        pos++;
+        while (true) {
+          if (pos >= limit && !fill()) throw error("Unterminated comment");
+          if (buf[pos++] == ']') break;
+        }
+      } else if (Character.isWhitespace(c)) {
+        pos++;
+      } else {
+        return c;
+      }
+    }
+    return -1;
+  }
+
+  private boolean fill() throws IOException {
+    offset += limit;
+    pos = 0;
+    limit = 0;
+    int n = in.read(buf, 0, buf.length);
+    if (n <= 0) return false;
+    limit = n;
+    return true;
+  }
+
+  private IOException error(String msg) {
+    return new IOException(msg + " at char " + (offset + pos));
+  }
+}
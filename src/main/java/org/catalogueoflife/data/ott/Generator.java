@@ -16,9 +16,7 @@
 package org.catalogueoflife.data.ott;
 
 import life.catalogue.coldp.ColdpTerm;
-import life.catalogue.common.io.CompressionUtil;
 import life.catalogue.common.io.UTF8IoUtils;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.catalogueoflife.data.AbstractColdpGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
@@ -26,6 +24,7 @@ import org.catalogueoflife.data.GeneratorConfig;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -49,7 +48,6 @@ public class Generator extends AbstractColdpGenerator {
   );
   private final String version;
   protected static final String srcFN = "data.tgz";
-  protected File ottSources;
 
   public Generator(GeneratorConfig cfg) throws IOException {
     this(cfg, DOWNLOAD, VERSION);
@@ -62,10 +60,6 @@ public class Generator extends AbstractColdpGenerator {
 
   @Override
   protected void prepare() throws IOException {
-    LOG.info("Unpack archive {}", srcFN);
-    ottSources = new File(dir, "sources");
-    CompressionUtil.decompressFile(ottSources, sourceFile(srcFN));
-
     // write just the NameUsage file
     newWriter(ColdpTerm.NameUsage, List.of(
         ColdpTerm.ID,
@@ -80,8 +74,22 @@ public class Generator extends AbstractColdpGenerator {
 
   @Override
   protected void addData() throws Exception {
-    LOG.info("Process taxonomy.tsv");
-    var iter = iterate("taxonomy.tsv");
+    // read the members straight from the compressed archive, nothing is unpacked
+    archive()
+        .on("taxonomy.tsv", this::addTaxonomy)
+        .on("synonyms.tsv", this::addSynonyms)
+        .read();
+  }
+
+  /**
+   * @return a reader for members of the downloaded archive
+   */
+  protected TarGzReader archive() {
+    return new TarGzReader(sourceFile(srcFN), sources);
+  }
+
+  private void addTaxonomy(InputStream in) throws IOException {
+    var iter = iterate(in);
     while(iter.hasNext()) {
       var row = iter.next();
       writer.set(ColdpTerm.ID, row[0]);
@@ -96,9 +104,10 @@ public class Generator extends AbstractColdpGenerator {
       }
       writer.next();
     }
+  }
 
-    LOG.info("Process synonyms.tsv");
-    iter = iterate("synonyms.tsv");
+  private void addSynonyms(InputStream in) throws IOException {
+    var iter = iterate(in);
     Map<String, AtomicInteger> types = new HashMap<>();
     while(iter.hasNext()) {
       var row = iter.next();
@@ -116,9 +125,22 @@ public class Generator extends AbstractColdpGenerator {
     for (var e : types.entrySet()) {
       LOG.debug("{} -> {}", e.getKey(), e.getValue());
     }
+  }
 
-    LOG.info("Remove source files");
-    FileUtils.deleteQuietly(ottSources);
+  /**
+   * Reads taxonomy.tsv into a compact table for parent, name and rank lookups by OTT id.
+   */
+  protected OttTable readTable(InputStream in) throws IOException {
+    var iter = iterate(in);
+    var tb = OttTable.builder();
+    while (iter.hasNext()) {
+      var row = iter.next();
+      int parent = StringUtils.isBlank(row[1]) ? 0 : Integer.parseInt(row[1]);
+      tb.add(Integer.parseInt(row[0]), parent, row[2], translateRank(row[3]));
+    }
+    var table = tb.build();
+    LOG.info("Read {} OTT taxa", table.size());
+    return table;
   }
 
   protected static String translateRank(String value) {
@@ -131,8 +153,8 @@ public class Generator extends AbstractColdpGenerator {
     return value;
   }
 
-  protected Iterator<String[]> iterate(String filename) throws IOException {
-    BufferedReader br = UTF8IoUtils.readerFromFile(new File(ottSources, filename));
+  protected Iterator<String[]> iterate(InputStream in) throws IOException {
+    BufferedReader br = UTF8IoUtils.readerFromStream(in);
     Iterator<String[]> iter = br.lines().map(this::split).iterator();
     iter.next(); // skip header row
     return iter;
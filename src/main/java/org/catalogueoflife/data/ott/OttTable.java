@@ -0,0 +1,158 @@
+package org.catalogueoflife.data.ott;
+
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, columnar id → parent, name and rank table for the millions of OTT taxa.
+ *
+ * Instead of an object with two Strings per taxon it keeps a sorted id array with a parallel
+ * parent id array, a dictionary encoded rank byte per taxon and all names as UTF-8 in a single
+ * byte arena addressed by offsets. Ids are found by binary search and names are only decoded when
+ * looked up. Safe for concurrent reads once built.
+ */
+public class OttTable {
+  private static final int NO_RANK = 0xFF;
+
+  private final int[] ids;      // sorted
+  private final int[] parents;  // 0 for roots
+  private final byte[] ranks;   // index into rankNames, NO_RANK for none
+  private final int[] offsets;  // name of ids[i] is names[offsets[i], offsets[i+1])
+  private final byte[] names;
+  private final String[] rankNames;
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private final IntArrayList ids = new IntArrayList();
+    private final IntArrayList parents = new IntArrayList();
+    private final ByteArrayList ranks = new ByteArrayList();
+    private final IntArrayList offsets = new IntArrayList();
+    private final Object2IntOpenHashMap<String> rankCodes = new Object2IntOpenHashMap<>();
+    private final List<String> rankNames = new ArrayList<>();
+    private byte[] names = new byte[1 << 20];
+    private int size; // used bytes in names
+
+    private Builder() {
+      rankCodes.defaultReturnValue(-1);
+    }
+
+    /**
+     * @param parentId parent taxon id, 0 for a root
+     * @param rank     the rank, stored as is, may be null
+     */
+    public Builder add(int id, int parentId, String name, @Nullable String rank) {
+      ids.add(id);
+      parents.add(parentId);
+      ranks.add((byte) rankCode(rank));
+      offsets.add(size);
+      byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+      if (size + utf8.length > names.length) {
+        names = Arrays.copyOf(names, Math.max(names.length * 2, size + utf8.length));
+      }
+      System.arraycopy(utf8, 0, names, size, utf8.length);
+      size += utf8.length;
+      return this;
+    }
+
+    private int rankCode(String rank) {
+      if (rank == null) return NO_RANK;
+      int code = rankCodes.getInt(rank);
+      if (code < 0) {
+        code = rankNames.size();
+        if (code == NO_RANK) {
+          throw new IllegalStateException("More than " + NO_RANK + " distinct ranks");
+        }
+        rankCodes.put(rank, code);
+        rankNames.add(rank);
+      }
+      return code;
+    }
+
+    public OttTable build() {
+      return new OttTable(this);
+    }
+  }
+
+  private OttTable(Builder b) {
+    final int n = b.ids.size();
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    int[] rawIds = b.ids.elements();
+    IntArrays.parallelQuickSort(order, (x, y) -> Integer.compare(rawIds[x], rawIds[y]));
+
+    // rewrite all columns incl the arena in id order, so offsets[i+1] ends the name of i
+    ids = new int[n];
+    parents = new int[n];
+    ranks = new byte[n];
+    offsets = new int[n + 1];
+    names = new byte[b.size];
+    int pos = 0;
+    for (int i = 0; i < n; i++) {
+      int o = order[i];
+      ids[i] = rawIds[o];
+      if (i > 0 && ids[i] == ids[i - 1]) {
+        throw new IllegalArgumentException("Duplicate OTT id " + ids[i]);
+      }
+      parents[i] = b.parents.getInt(o);
+      ranks[i] = b.ranks.getByte(o);
+      int start = b.offsets.getInt(o);
+      int end = o + 1 < n ? b.offsets.getInt(o + 1) : b.size;
+      offsets[i] = pos;
+      System.arraycopy(b.names, start, names, pos, end - start);
+      pos += end - start;
+    }
+    offsets[n] = pos;
+    rankNames = b.rankNames.toArray(new String[0]);
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  private int index(int id) {
+    return Arrays.binarySearch(ids, id);
+  }
+
+  public boolean contains(int id) {
+    return index(id) >= 0;
+  }
+
+  /**
+   * @return the name or null if the id is unknown
+   */
+  public String name(int id) {
+    int i = index(id);
+    return i < 0 ? null : new String(names, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return the rank or null if the id is unknown or has no rank
+   */
+  public String rank(int id) {
+    int i = index(id);
+    if (i < 0) return null;
+    int code = ranks[i] & 0xFF;
+    return code == NO_RANK ? null : rankNames[code];
+  }
+
+  /**
+   * @return the parent id, 0 for roots and unknown ids
+   */
+  public int parent(int id) {
+    int i = index(id);
+    return i < 0 ? 0 : parents[i];
+  }
+}
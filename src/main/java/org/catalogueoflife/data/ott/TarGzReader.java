@@ -0,0 +1,105 @@
+package org.catalogueoflife.data.ott;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Processes selected members of a tar.gz archive straight from the compressed stream
+ * in a single sequential read, without unpacking the archive.
+ *
+ * Members are matched by their file name, ignoring the folders inside the archive, and handed to
+ * their handler in the order they were registered. A member that shows up in the archive before
+ * the members registered ahead of it were processed is spooled to a temporary file and processed
+ * once its turn comes, so handlers can rely on the order, e.g. read the names before the tree.
+ */
+public class TarGzReader {
+  private static final Logger LOG = LoggerFactory.getLogger(TarGzReader.class);
+
+  @FunctionalInterface
+  public interface MemberHandler {
+    /**
+     * @param in the member content, closed by the reader
+     */
+    void process(InputStream in) throws IOException;
+  }
+
+  private final File archive;
+  private final File tmpDir;
+  private final LinkedHashMap<String, MemberHandler> handlers = new LinkedHashMap<>();
+
+  /**
+   * @param tmpDir directory for members that have to be spooled because they come out of order
+   */
+  public TarGzReader(File archive, File tmpDir) {
+    this.archive = archive;
+    this.tmpDir = tmpDir;
+  }
+
+  public TarGzReader on(String filename, MemberHandler handler) {
+    handlers.put(filename, handler);
+    return this;
+  }
+
+  /**
+   * Reads the archive once and processes all registered members.
+   * @throws FileNotFoundException if a registered member is missing from the archive
+   */
+  public void read() throws IOException {
+    List<String> order = new ArrayList<>(handlers.keySet());
+    Map<String, File> spooled = new HashMap<>();
+    int next = 0; // index of the next member to process
+    try (TarArchiveInputStream tar = new TarArchiveInputStream(new GzipCompressorInputStream(
+        new BufferedInputStream(new FileInputStream(archive), 1 << 16)))) {
+      TarArchiveEntry e;
+      while (next < order.size() && (e = tar.getNextTarEntry()) != null) {
+        if (!e.isFile()) continue;
+        String name = new File(e.getName()).getName();
+        int idx = order.indexOf(name);
+        if (idx < next) continue; // not registered or a duplicate
+        if (idx == next) {
+          process(name, CloseShieldInputStream.wrap(tar));
+          next++;
+          // members that were waiting for this one
+          while (next < order.size() && spooled.containsKey(order.get(next))) {
+            replay(order.get(next), spooled.remove(order.get(next)));
+            next++;
+          }
+        } else if (!spooled.containsKey(name)) {
+          File tmp = Files.createTempFile(tmpDir.toPath(), name, ".spool").toFile();
+          LOG.info("Spool {} from {} as it precedes {} in the archive", name, archive.getName(), order.get(next));
+          FileUtils.copyInputStreamToFile(CloseShieldInputStream.wrap(tar), tmp);
+          spooled.put(name, tmp);
+        }
+      }
+    } finally {
+      spooled.values().forEach(FileUtils::deleteQuietly);
+    }
+    if (next < order.size()) {
+      throw new FileNotFoundException("Missing " + order.subList(next, order.size()) + " in archive " + archive);
+    }
+  }
+
+  private void process(String name, InputStream in) throws IOException {
+    LOG.info("Process {} from {}", name, archive.getName());
+    try (in) {
+      handlers.get(name).process(in);
+    }
+  }
+
+  private void replay(String name, File spool) throws IOException {
+    try {
+      process(name, new BufferedInputStream(new FileInputStream(spool)));
+    } finally {
+      FileUtils.deleteQuietly(spool);
+    }
+  }
+}
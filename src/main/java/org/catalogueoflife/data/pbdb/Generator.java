@@ -20,6 +20,7 @@ import com.univocity.parsers.common.IterableResult;
 import com.univocity.parsers.common.ParsingContext;
 import com.univocity.parsers.csv.CsvParser;
 import org.catalogueoflife.data.utils.CsvUtils;
+import org.catalogueoflife.data.utils.HostThrottle;
 import life.catalogue.api.model.Agent;
 import life.catalogue.coldp.ColdpTerm;
 import life.catalogue.common.io.TermWriter;
@@ -59,8 +60,10 @@ public class Generator extends AbstractColdpGenerator {
   private TermWriter nomRelWriter;
   private TermWriter materialWriter;
   final Pattern NOT_SPECIFIED = Pattern.compile("NO_[A-Z]+_SPECIFIED");
-  final Set<String> people = new HashSet<>();
+  private static final int PERSON_THREADS = 4;
+  final Map<String, String> people = new LinkedHashMap<>(); // person id -> name given in the data
   final TypeReference<Wrapper<Person>> personTYPE = new TypeReference<>() {};
+  private final HostThrottle throttle = new HostThrottle(PERSON_THREADS, 250);
 
   public Generator(GeneratorConfig cfg) throws IOException {
     super(cfg, true, Map.of(
@@ -72,47 +75,54 @@ public class Generator extends AbstractColdpGenerator {
     ));
   }
 
-  void loadPerson(String id, String name) throws IOException {
-    if (!people.contains(id)) {
-      // https://paleobiodb.org/data1.2/people/single.json?id=prs:18
-      authorWriter.set(ColdpTerm.ID, id);
-      authorWriter.set(ColdpTerm.family, name);
-      try {
-        // Skip sentinel / invalid person IDs (PBDB uses large unsigned values like 0xFFFFFFFC
-        // to indicate "no person"; the API returns 401 for these rather than a proper record).
-        boolean sentinel = false;
-        try {
-          String numPart = id.startsWith("prs:") ? id.substring(4) : id;
-          sentinel = Long.parseLong(numPart) >= 0x80000000L;
-        } catch (NumberFormatException ignored) {}
-        if (!sentinel) {
-          String json = http.getJSON(URI.create(API + "/people/single.json?id=" + id));
-          var p = mapper.readValue(json, personTYPE).records.get(0);
-          LOG.info("Load person {} --> {}", id, p.getNam());
-          if (p.getNam() != null) {
-            name = p.getNam();
-          }
-          authorWriter.set(ColdpTerm.country, p.getCtr());
-          authorWriter.set(ColdpTerm.affiliation, p.getIst());
-          if (p.getOrc() != null) {
-            authorWriter.set(ColdpTerm.alternativeID, "orcid:" + p.getOrc());
-          }
-        } else {
-          LOG.debug("Skipping sentinel person id {}", id);
+  /**
+   * Registers a contributor for the Author file, resolved in batches once all data is written.
+   * @param name the name given in the record, used if PBDB does not know the person
+   */
+  void addPerson(String id, String name) {
+    people.putIfAbsent(id, name);
+  }
+
+  /**
+   * Resolves all registered contributors through the person list API and writes the Author file.
+   * Resolved persons are cached outside the sources folder, so --clear-sources refreshes the
+   * downloads but keeps the people.
+   */
+  private void writeAuthors() throws IOException, InterruptedException {
+    File cacheFile = new File(cfg.tmpSourceDir, cfg.source + "-people.jsonl");
+    var resolver = new PersonResolver(mapper, cacheFile, this::fetchPersons, PERSON_THREADS);
+    var persons = resolver.resolve(people.keySet());
+    for (var e : people.entrySet()) {
+      String name = e.getValue();
+      authorWriter.set(ColdpTerm.ID, e.getKey());
+      var p = persons.get(e.getKey());
+      if (p != null) {
+        if (p.getNam() != null) {
+          name = p.getNam();
         }
-      } catch (IOException e) {
-        LOG.warn("Person {} not found. Use {}", id, name, e);
-
-      } finally {
-        var ag = Agent.parse(name);
-        if (ag.getFamily() != null && ag.getGiven() != null) {
-          authorWriter.set(ColdpTerm.family, ag.getFamily());
-          authorWriter.set(ColdpTerm.given, ag.getGiven());
+        authorWriter.set(ColdpTerm.country, p.getCtr());
+        authorWriter.set(ColdpTerm.affiliation, p.getIst());
+        if (p.getOrc() != null) {
+          authorWriter.set(ColdpTerm.alternativeID, "orcid:" + p.getOrc());
         }
-        authorWriter.next();
-        people.add(id);
-
       }
+      authorWriter.set(ColdpTerm.family, name);
+      var ag = Agent.parse(name);
+      if (ag.getFamily() != null && ag.getGiven() != null) {
+        authorWriter.set(ColdpTerm.family, ag.getFamily());
+        authorWriter.set(ColdpTerm.given, ag.getGiven());
+      }
+      authorWriter.next();
+    }
+    LOG.info("{} authors written", people.size());
+  }
+
+  private List<Person> fetchPersons(List<String> ids) throws IOException, InterruptedException {
+    // https://paleobiodb.org/data1.2/people/list.json?id=prs:18,prs:19
+    URI uri = URI.create(API + "/people/list.json?id=" + String.join(",", ids));
+    try (var permit = throttle.acquire(uri)) {
+      String json = http.getJSON(uri);
+      return mapper.readValue(json, personTYPE).records;
     }
   }
 
@@ -194,17 +204,18 @@ public class Generator extends AbstractColdpGenerator {
     ));
 
     parseDataFiles();
+    writeAuthors();
   }
 
   void parseDataFiles() throws IOException {
-    TypeReference<Wrapper<BibRef>> refTYPE = new TypeReference<>() {};
-    try (var in = UTF8IoUtils.readerFromFile(sourceFile(refFN))) {
-      var res = mapper.readValue(in, refTYPE);
-      LOG.info("{} references discovered", res.records.size());
-      boolean first = true;
-      try (var writer = UTF8IoUtils.writerFromFile(new File(dir,"reference.json"))) {
-        writer.append('[');
-        for (var bref : res.records) {
+    // the downloads are streamed record by record, none is held in memory as a whole
+    try (var writer = UTF8IoUtils.writerFromFile(new File(dir,"reference.json"))) {
+      writer.append('[');
+      long cnt = new RecordReader<>(mapper, BibRef.class).read(sourceFile(refFN), new RecordReader.RecordHandler<>() {
+        boolean first = true;
+
+        @Override
+        public void accept(BibRef bref) throws IOException {
           if (!first) {
             writer.append(',');
             writer.append('\n');
@@ -212,8 +223,9 @@ public class Generator extends AbstractColdpGenerator {
           mapper.writeValue(writer, bref.toCSL());
           first = false;
         }
-        writer.append(']');
-      }
+      });
+      writer.append(']');
+      LOG.info("{} references written", cnt);
     }
 
     // load rank vocab
@@ -235,142 +247,134 @@ public class Generator extends AbstractColdpGenerator {
       LOG.info("{} ranks found in vocabulary", ranks.size());
     }
 
-    TypeReference<Wrapper<Taxon>> taxTYPE = new TypeReference<>() {};
-    try (var in = UTF8IoUtils.readerFromFile(sourceFile(taxaFN))) {
-      var res = mapper.readValue(in, taxTYPE);
-      LOG.info("{} taxa discovered", res.records.size());
-      for (var t : res.records) {
-        var remarks = new RemarksBuilder();
-        // flg="V" marks a variant (alternative combination, misspelling, previous rank)
-        boolean isVariant = t.getFlg() != null && t.getFlg().contains("V");
-        // Variants may lack a vid; fall back to oid#name as a stable unique ID
-        String id = isVariant
-            ? (t.getVid() != null ? t.getVid() : t.getOid() + "#" + t.getNam())
-            : t.getOid();
-        writer.set(ColdpTerm.ID, id);
-        if (t.getRnk() != null) {
-          writer.set(ColdpTerm.rank, ranks.get(t.getRnk()));
-        }
-        writer.set(ColdpTerm.scientificName, t.getNam());
-        writer.set(ColdpTerm.authorship, t.getAtt());
-        writer.set(ColdpTerm.referenceID, t.getRid());
-        writer.set(ColdpTerm.environment, t.getJev());
-        if (t.isExtant() != null) {
-          // True if this taxon is extant on earth today, false if not, not present if unrecorded
-          writer.set(ColdpTerm.extinct, !t.isExtant());
-        }
-
-        if (isVariant) {
-          // Alternative combination or spelling: synonym of the canonical taxon concept
-          writer.set(ColdpTerm.parentID, t.getOid());
-          writer.set(ColdpTerm.status, "synonym");
-          writer.set(ColdpTerm.nameStatus, t.getTdf());
-          remarks.append(t.getTdf());
-        } else if (t.getAcc() != null && !t.getAcc().equals(t.getOid())) {
-          writer.set(ColdpTerm.parentID, t.getAcc());
-          writer.set(ColdpTerm.status, "synonym");
-          writer.set(ColdpTerm.nameStatus, t.getTdf());
-          remarks.append(t.getTdf());
-        } else {
-          writer.set(ColdpTerm.parentID, t.getPar());
-        }
+    long taxa = new RecordReader<>(mapper, Taxon.class).read(sourceFile(taxaFN), t -> {
+      var remarks = new RemarksBuilder();
+      // flg="V" marks a variant (alternative combination, misspelling, previous rank)
+      boolean isVariant = t.getFlg() != null && t.getFlg().contains("V");
+      // Variants may lack a vid; fall back to oid#name as a stable unique ID
+      String id = isVariant
+          ? (t.getVid() != null ? t.getVid() : t.getOid() + "#" + t.getNam())
+          : t.getOid();
+      writer.set(ColdpTerm.ID, id);
+      if (t.getRnk() != null) {
+        writer.set(ColdpTerm.rank, ranks.get(t.getRnk()));
+      }
+      writer.set(ColdpTerm.scientificName, t.getNam());
+      writer.set(ColdpTerm.authorship, t.getAtt());
+      writer.set(ColdpTerm.referenceID, t.getRid());
+      writer.set(ColdpTerm.environment, t.getJev());
+      if (t.isExtant() != null) {
+        // True if this taxon is extant on earth today, false if not, not present if unrecorded
+        writer.set(ColdpTerm.extinct, !t.isExtant());
+      }
 
-        //writeHigherRank(ColdpTerm.kingdom, t.getKgl());
-        //writeHigherRank(ColdpTerm.phylum, t.getPhl());
-        //writeHigherRank(ColdpTerm.class_, t.getCll());
-        //writeHigherRank(ColdpTerm.order, t.getOdl());
-        //writeHigherRank(ColdpTerm.family, t.getFml());
-        //writeHigherRank(ColdpTerm.genus, t.getGnl());
-
-        writer.set(ColdpTerm.scrutinizer, t.getEnt());
-        if (t.getEni() != null) {
-          loadPerson(t.getEni(), t.getEnt());
-          writer.set(ColdpTerm.scrutinizerID, t.getEni());
-        }
+      if (isVariant) {
+        // Alternative combination or spelling: synonym of the canonical taxon concept
+        writer.set(ColdpTerm.parentID, t.getOid());
+        writer.set(ColdpTerm.status, "synonym");
+        writer.set(ColdpTerm.nameStatus, t.getTdf());
+        remarks.append(t.getTdf());
+      } else if (t.getAcc() != null && !t.getAcc().equals(t.getOid())) {
+        writer.set(ColdpTerm.parentID, t.getAcc());
+        writer.set(ColdpTerm.status, "synonym");
+        writer.set(ColdpTerm.nameStatus, t.getTdf());
+        remarks.append(t.getTdf());
+      } else {
+        writer.set(ColdpTerm.parentID, t.getPar());
+      }
 
-        // geological times
-        writer.set(ColdpTerm.temporalRangeStart, millionYears(t.getFea()));
-        writer.set(ColdpTerm.temporalRangeEnd, millionYears(t.getLla()));
+      //writeHigherRank(ColdpTerm.kingdom, t.getKgl());
+      //writeHigherRank(ColdpTerm.phylum, t.getPhl());
+      //writeHigherRank(ColdpTerm.class_, t.getCll());
+      //writeHigherRank(ColdpTerm.order, t.getOdl());
+      //writeHigherRank(ColdpTerm.family, t.getFml());
+      //writeHigherRank(ColdpTerm.genus, t.getGnl());
+
+      writer.set(ColdpTerm.scrutinizer, t.getEnt());
+      if (t.getEni() != null) {
+        addPerson(t.getEni(), t.getEnt());
+        writer.set(ColdpTerm.scrutinizerID, t.getEni());
+      }
 
-        writer.set(ColdpTerm.link, LINK_TAXON + t.getOid());
-        writer.set(ColdpTerm.remarks, remarks.toString());
+      // geological times
+      writer.set(ColdpTerm.temporalRangeStart, millionYears(t.getFea()));
+      writer.set(ColdpTerm.temporalRangeEnd, millionYears(t.getLla()));
 
-        writer.next();
+      writer.set(ColdpTerm.link, LINK_TAXON + t.getOid());
+      writer.set(ColdpTerm.remarks, remarks.toString());
 
-        boolean isAccepted = !isVariant && (t.getAcc() == null || t.getAcc().equals(t.getOid()));
-        if (isAccepted) {
-          // type species — concept-level, not per-combination
-          if (t.getTtn() != null) {
-            nomRelWriter.set(ColdpTerm.nameID, t.getOid());
-            nomRelWriter.set(ColdpTerm.type, "TYPE");
-            nomRelWriter.set(ColdpTerm.relatedNameID, t.getTtn());
-            nomRelWriter.next();
-          }
+      writer.next();
 
-          // common names — concept-level
-          if (t.getNm2() != null) {
-            vernacularWriter.set(ColdpTerm.taxonID, t.getOid());
-            vernacularWriter.set(ColdpTerm.name, t.getNm2());
-            vernacularWriter.set(ColdpTerm.language, "eng");
-            vernacularWriter.next();
-          }
+      boolean isAccepted = !isVariant && (t.getAcc() == null || t.getAcc().equals(t.getOid()));
+      if (isAccepted) {
+        // type species — concept-level, not per-combination
+        if (t.getTtn() != null) {
+          nomRelWriter.set(ColdpTerm.nameID, t.getOid());
+          nomRelWriter.set(ColdpTerm.type, "TYPE");
+          nomRelWriter.set(ColdpTerm.relatedNameID, t.getTtn());
+          nomRelWriter.next();
+        }
 
-          // property values — concept-level
-          writeFact(t.getOid(), "motility", t.getJmo());
-          writeFact(t.getOid(), "life habit", t.getJlh());
-          writeFact(t.getOid(), "vision", t.getJvs());
-          writeFact(t.getOid(), "diet", t.getJdt());
-          writeFact(t.getOid(), "reproduction", t.getJre());
-          writeFact(t.getOid(), "ontogeny", t.getJon());
-          writeFact(t.getOid(), "composition", t.getJco());
+        // common names — concept-level
+        if (t.getNm2() != null) {
+          vernacularWriter.set(ColdpTerm.taxonID, t.getOid());
+          vernacularWriter.set(ColdpTerm.name, t.getNm2());
+          vernacularWriter.set(ColdpTerm.language, "eng");
+          vernacularWriter.next();
         }
 
-        // modified
-        writeModified(writer, t);
+        // property values — concept-level
+        writeFact(t.getOid(), "motility", t.getJmo());
+        writeFact(t.getOid(), "life habit", t.getJlh());
+        writeFact(t.getOid(), "vision", t.getJvs());
+        writeFact(t.getOid(), "diet", t.getJdt());
+        writeFact(t.getOid(), "reproduction", t.getJre());
+        writeFact(t.getOid(), "ontogeny", t.getJon());
+        writeFact(t.getOid(), "composition", t.getJco());
       }
-    }
+
+      // modified
+      writeModified(writer, t);
+    });
+    LOG.info("{} taxa written", taxa);
     writer.close();
     vernacularWriter.close();
     factWriter.close();
 
-    TypeReference<Wrapper<Specimen>> specTYPE = new TypeReference<>() {};
-    try (var in = UTF8IoUtils.readerFromFile(sourceFile(specFN))) {
-      var res = mapper.readValue(in, specTYPE);
-      LOG.info("{} specimens discovered", res.records.size());
-      for (var sp : res.records) {
-        var remarks = new RemarksBuilder();
-        materialWriter.set(ColdpTerm.ID, sp.getOid());
-        materialWriter.set(ColdpTerm.nameID, sp.getTid());
-        materialWriter.set(ColdpTerm.referenceID, sp.getRid());
-        materialWriter.set(ColdpTerm.status, sp.getSmt());
-
-        materialWriter.set(ColdpTerm.institutionCode, sp.getCcu()); // The museum or museums which hold the specimens.
-        materialWriter.set(ColdpTerm.catalogNumber, sp.getSmi()); // The identifier for this specimen according to its custodial institution
-        materialWriter.set(ColdpTerm.collector, sp.getCcc()); // Names of the collectors.
-        materialWriter.set(ColdpTerm.date, sp.getCcd()); // Dates on which the collection was done.
-        materialWriter.set(ColdpTerm.locality, sp.getCnm());
-        materialWriter.set(ColdpTerm.country, sp.getCc2());
-        materialWriter.set(ColdpTerm.latitude, sp.getLng());
-        materialWriter.set(ColdpTerm.longitude, sp.getLat());
-
-        remarks.append(sp.getSmp()); // specimen part
-        remarks.append(sp.getGgc()); // geographic comments
-        remarks.append(sp.getSmc()); // stratigraphic comments
-        remarks.append(sp.getCcm()); // Collection comments
-        remarks.append(sp.getTcm()); // Taxonomy comments
-        materialWriter.set(ColdpTerm.remarks, remarks.toString());
-
-        writeModified(materialWriter, sp);
-        materialWriter.set(ColdpTerm.link, LINK_COLLECTION + sp.getCid());
-        materialWriter.next();
-      }
-    }
+    long specimens = new RecordReader<>(mapper, Specimen.class).read(sourceFile(specFN), sp -> {
+      var remarks = new RemarksBuilder();
+      materialWriter.set(ColdpTerm.ID, sp.getOid());
+      materialWriter.set(ColdpTerm.nameID, sp.getTid());
+      materialWriter.set(ColdpTerm.referenceID, sp.getRid());
+      materialWriter.set(ColdpTerm.status, sp.getSmt());
+
+      materialWriter.set(ColdpTerm.institutionCode, sp.getCcu()); // The museum or museums which hold the specimens.
+      materialWriter.set(ColdpTerm.catalogNumber, sp.getSmi()); // The identifier for this specimen according to its custodial institution
+      materialWriter.set(ColdpTerm.collector, sp.getCcc()); // Names of the collectors.
+      materialWriter.set(ColdpTerm.date, sp.getCcd()); // Dates on which the collection was done.
+      materialWriter.set(ColdpTerm.locality, sp.getCnm());
+      materialWriter.set(ColdpTerm.country, sp.getCc2());
+      materialWriter.set(ColdpTerm.latitude, sp.getLng());
+      materialWriter.set(ColdpTerm.longitude, sp.getLat());
+
+      remarks.append(sp.getSmp()); // specimen part
+      remarks.append(sp.getGgc()); // geographic comments
+      remarks.append(sp.getSmc()); // stratigraphic comments
+      remarks.append(sp.getCcm()); // Collection comments
+      remarks.append(sp.getTcm()); // Taxonomy comments
+      materialWriter.set(ColdpTerm.remarks, remarks.toString());
+
+      writeModified(materialWriter, sp);
+      materialWriter.set(ColdpTerm.link, LINK_COLLECTION + sp.getCid());
+      materialWriter.next();
+    });
+    LOG.info("{} specimens written", specimens);
   }
 
   private void writeModified(TermWriter writer, Base obj) throws IOException {
     writer.set(ColdpTerm.modified, obj.getDmd());
     if (obj.getMdi() != null) {
-      loadPerson(obj.getMdi(), obj.getMdf());
+      addPerson(obj.getMdi(), obj.getMdf());
       writer.set(ColdpTerm.modifiedBy, obj.getMdi());
     }
   }
@@ -0,0 +1,162 @@
+package org.catalogueoflife.data.pbdb;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import life.catalogue.common.io.UTF8IoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Resolves PBDB person ids like {@code prs:18} in batches of many ids per request and keeps every
+ * resolved person in a JSON-lines cache file that is reused by later builds.
+ * Only ids missing from the cache are requested, so a rebuild without new contributors
+ * does not call the API at all.
+ *
+ * Ids the API does not return are cached without a name and not requested again.
+ * A failed batch is retried one id at a time, so a single bad id does not block the rest of its batch.
+ * Ids that still fail are logged and stay unresolved, to be retried by the next build.
+ */
+class PersonResolver {
+  private static final Logger LOG = LoggerFactory.getLogger(PersonResolver.class);
+  static final int BATCH_SIZE = 100;
+
+  @FunctionalInterface
+  interface BatchFetcher {
+    /**
+     * @return the persons found for the given ids, in any order
+     */
+    List<Person> fetch(List<String> ids) throws IOException, InterruptedException;
+  }
+
+  private final ObjectMapper mapper;
+  private final File cacheFile;
+  private final BatchFetcher fetcher;
+  private final int threads;
+  private final Map<String, Person> cache = new HashMap<>();
+
+  PersonResolver(ObjectMapper mapper, File cacheFile, BatchFetcher fetcher, int threads) throws IOException {
+    this.mapper = mapper;
+    this.cacheFile = cacheFile;
+    this.fetcher = fetcher;
+    this.threads = threads;
+    load();
+  }
+
+  private void load() throws IOException {
+    if (!cacheFile.exists()) return;
+    try (var br = UTF8IoUtils.readerFromFile(cacheFile)) {
+      String line;
+      while ((line = br.readLine()) != null) {
+        if (line.isBlank()) continue;
+        try {
+          Person p = mapper.readValue(line, Person.class);
+          cache.put(p.getOid(), p);
+        } catch (IOException e) {
+          // a build killed while writing leaves a truncated last line
+          LOG.warn("Ignore corrupt person cache line {}", line);
+        }
+      }
+    }
+    LOG.info("Loaded {} cached persons from {}", cache.size(), cacheFile);
+  }
+
+  /**
+   * PBDB uses large unsigned values like 0xFFFFFFFC to indicate "no person";
+   * the API returns 401 for these rather than a proper record.
+   */
+  static boolean isSentinel(String id) {
+    try {
+      String numPart = id.startsWith("prs:") ? id.substring(4) : id;
+      return Long.parseLong(numPart) >= 0x80000000L;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Resolves all ids not yet cached and returns the persons known for the given ids.
+   * Persons the API does not know are returned without a name.
+   */
+  Map<String, Person> resolve(Collection<String> ids) throws IOException, InterruptedException {
+    List<String> missing = ids.stream()
+        .filter(id -> !cache.containsKey(id) && !isSentinel(id))
+        .distinct()
+        .toList();
+    LOG.info("{} of {} persons cached, request {} in batches of {}",
+        ids.size() - missing.size(), ids.size(), missing.size(), BATCH_SIZE);
+
+    if (!missing.isEmpty()) {
+      cacheFile.getParentFile().mkdirs();
+      ExecutorService exec = Executors.newFixedThreadPool(threads);
+      try (Writer w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(cacheFile, true), StandardCharsets.UTF_8))) {
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < missing.size(); i += BATCH_SIZE) {
+          List<String> batch = missing.subList(i, Math.min(i + BATCH_SIZE, missing.size()));
+          tasks.add(exec.submit(() -> fetch(batch, w)));
+        }
+        for (Future<?> f : tasks) {
+          f.get();
+        }
+      } catch (ExecutionException e) {
+        throw new IOException("Failed to resolve persons", e.getCause());
+      } finally {
+        exec.shutdownNow();
+      }
+    }
+
+    Map<String, Person> result = new HashMap<>();
+    for (String id : ids) {
+      Person p = cache.get(id);
+      if (p != null) {
+        result.put(id, p);
+      }
+    }
+    return result;
+  }
+
+  private Void fetch(List<String> batch, Writer w) throws IOException, InterruptedException {
+    List<Person> found;
+    try {
+      found = fetcher.fetch(batch);
+    } catch (IOException e) {
+      if (batch.size() == 1) {
+        LOG.warn("Failed to load person {}", batch.get(0), e);
+      } else {
+        LOG.warn("Failed to load {} persons, retry them one by one", batch.size(), e);
+        for (String id : batch) {
+          fetch(List.of(id), w);
+        }
+      }
+      return null;
+    }
+    Map<String, Person> byId = new HashMap<>();
+    for (Person p : found) {
+      byId.put(p.getOid(), p);
+    }
+    for (String id : batch) {
+      Person p = byId.get(id);
+      if (p == null) {
+        LOG.debug("Person {} not found", id);
+        p = new Person();
+        p.setOid(id);
+      }
+      String json = mapper.writeValueAsString(p);
+      synchronized (this) {
+        cache.put(id, p);
+        w.write(json);
+        w.write('\n');
+      }
+    }
+    synchronized (this) {
+      w.flush();
+    }
+    return null;
+  }
+}
@@ -0,0 +1,56 @@
+package org.catalogueoflife.data.pbdb;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import life.catalogue.common.io.UTF8IoUtils;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Streams the {@code records} array of a PBDB list response such as
+ * <pre>{"elapsed_time":1.2,"records":[{...},{...}]}</pre>
+ * binding one record at a time, so memory does not grow with the size of the download.
+ * Other top level fields are skipped.
+ */
+class RecordReader<T> {
+  private final ObjectMapper mapper;
+  private final ObjectReader reader;
+
+  @FunctionalInterface
+  interface RecordHandler<T> {
+    void accept(T record) throws IOException;
+  }
+
+  RecordReader(ObjectMapper mapper, Class<T> type) {
+    this.mapper = mapper;
+    this.reader = mapper.readerFor(type);
+  }
+
+  /**
+   * @return number of records passed to the handler
+   */
+  long read(File f, RecordHandler<T> handler) throws IOException {
+    long count = 0;
+    try (JsonParser p = mapper.getFactory().createParser(UTF8IoUtils.readerFromFile(f))) {
+      if (p.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Expected a JSON object in " + f);
+      }
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        JsonToken t = p.nextToken();
+        if ("records".equals(field) && t == JsonToken.START_ARRAY) {
+          while (p.nextToken() == JsonToken.START_OBJECT) {
+            handler.accept(reader.readValue(p));
+            count++;
+          }
+        } else {
+          p.skipChildren();
+        }
+      }
+    }
+    return count;
+  }
+}
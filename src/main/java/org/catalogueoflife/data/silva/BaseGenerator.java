@@ -3,12 +3,14 @@ package org.catalogueoflife.data.silva;
 import life.catalogue.coldp.ColdpTerm;
 import org.catalogueoflife.data.AbstractColdpGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
+import org.catalogueoflife.data.utils.HttpUtils;
 
 import java.io.*;
 import java.net.URI;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +23,8 @@ import java.util.zip.GZIPInputStream;
  * Source file: tax_slv_{unit}_{version}.txt.gz
  * Format: tab-separated, 5 columns — path, taxid, rank, remark, release.
  * All taxa are accepted higher-rank entries; no synonyms, authors, or references.
+ * Parents are listed before their children, so the file is converted in a single streaming pass.
+ * Both units can be built together with the {@code silva} source, see {@link Generator}.
  */
 public abstract class BaseGenerator extends AbstractColdpGenerator {
 
@@ -33,16 +37,34 @@ public abstract class BaseGenerator extends AbstractColdpGenerator {
   private String version;
 
   protected BaseGenerator(GeneratorConfig cfg, String unit) throws IOException {
+    this(cfg, unit, null);
+  }
+
+  /**
+   * @param version the SILVA release or null to detect the current one
+   */
+  protected BaseGenerator(GeneratorConfig cfg, String unit, String version) throws IOException {
     super(cfg, true);
     this.unit = unit;
+    this.version = version;
+  }
+
+  /**
+   * @return the current SILVA release, e.g. 138.2
+   */
+  static String detectVersion(HttpUtils http) throws IOException {
+    String version = http.get(VERSION_URL).trim();
+    LOG.info("Detected SILVA version: {}", version);
+    return version;
   }
 
   // ── Lifecycle ──────────────────────────────────────────────────────────────
 
   @Override
   protected void prepare() throws Exception {
-    version = http.get(VERSION_URL).trim();
-    LOG.info("Detected SILVA version: {}", version);
+    if (version == null) {
+      version = detectVersion(http);
+    }
   }
 
   @Override
@@ -60,48 +82,55 @@ public abstract class BaseGenerator extends AbstractColdpGenerator {
         ColdpTerm.remarks
     ));
 
-    // Pass 1: build path → taxid map
+    // single pass: parents precede their children, so their taxid is already known
     Map<String, Integer> pathMap = new HashMap<>();
-    try (BufferedReader br = gzipReader(gz)) {
-      for (String line = br.readLine(); line != null; line = br.readLine()) {
-        String[] f = splitLine(line);
-        if (f == null) continue;
-        String path  = f[0].trim();
-        int    taxid = parseId(f[1]);
-        if (taxid > 0) pathMap.put(path, taxid);
-      }
-    }
-    LOG.info("Pass 1: {} paths indexed", pathMap.size());
-
-    // Pass 2: write NameUsage rows
+    List<String[]> orphans = new ArrayList<>();
     int n = 0;
     try (BufferedReader br = gzipReader(gz)) {
       for (String line = br.readLine(); line != null; line = br.readLine()) {
         String[] f = splitLine(line);
         if (f == null) continue;
         if (f.length < 3) { LOG.warn("Skipping short line: {}", line); continue; }
-        String path   = f[0].trim();
-        int    taxid  = parseId(f[1]);
-        String rank   = f[2].trim();
-        String remark = f.length > 3 ? f[3].trim() : "";
+        String path  = f[0].trim();
+        int    taxid = parseId(f[1]);
         if (taxid <= 0) continue;
-
-        String name      = extractName(path);
-        String parent    = parentPath(path);
-        Integer parentId = parent != null ? pathMap.get(parent) : null;
-        String remarks   = mapRemark(remark);
-
-        writer.set(ColdpTerm.ID,            taxid);
-        if (parentId != null) writer.set(ColdpTerm.parentID, parentId);
-        if (!rank.isEmpty())  writer.set(ColdpTerm.rank,     rank);
-        writer.set(ColdpTerm.scientificName, name);
-        writer.set(ColdpTerm.status,         "accepted");
-        if (remarks != null)  writer.set(ColdpTerm.remarks,  remarks);
-        writer.next();
+        pathMap.put(path, taxid);
+
+        String parent = parentPath(path);
+        if (parent != null && !pathMap.containsKey(parent)) {
+          // keep the rare child listed before its parent until the end
+          orphans.add(f);
+          continue;
+        }
+        write(f, pathMap);
         n++;
       }
     }
-    LOG.info("Pass 2: {} NameUsage records written", n);
+    for (String[] f : orphans) {
+      write(f, pathMap);
+      n++;
+    }
+    LOG.info("{} NameUsage records written, {} of them listed before their parent", n, orphans.size());
+  }
+
+  private void write(String[] f, Map<String, Integer> pathMap) throws IOException {
+    String path   = f[0].trim();
+    int    taxid  = parseId(f[1]);
+    String rank   = f[2].trim();
+    String remark = f.length > 3 ? f[3].trim() : "";
+
+    String name      = extractName(path);
+    String parent    = parentPath(path);
+    Integer parentId = parent != null ? pathMap.get(parent) : null;
+    String remarks   = mapRemark(remark);
+
+    writer.set(ColdpTerm.ID,            taxid);
+    if (parentId != null) writer.set(ColdpTerm.parentID, parentId);
+    if (!rank.isEmpty())  writer.set(ColdpTerm.rank,     rank);
+    writer.set(ColdpTerm.scientificName, name);
+    writer.set(ColdpTerm.status,         "accepted");
+    if (remarks != null)  writer.set(ColdpTerm.remarks,  remarks);
+    writer.next();
   }
 
   @Override
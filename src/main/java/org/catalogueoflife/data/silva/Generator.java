@@ -0,0 +1,72 @@
+package org.catalogueoflife.data.silva;
+
+import org.catalogueoflife.data.GeneratorConfig;
+import org.catalogueoflife.data.utils.HttpUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds the SILVA SSU and LSU archives together, {@code -s silva}.
+ *
+ * The current release is detected once and both units are downloaded and converted concurrently
+ * into {@code silva-ssu.zip} and {@code silva-lsu.zip}, the same archives as separate
+ * {@code silva-ssu} and {@code silva-lsu} runs.
+ */
+public class Generator implements Runnable {
+  private static final Logger LOG = LoggerFactory.getLogger(Generator.class);
+  private final GeneratorConfig cfg;
+
+  public Generator(GeneratorConfig cfg) {
+    this.cfg = cfg;
+  }
+
+  @Override
+  public void run() {
+    try {
+      build(BaseGenerator.detectVersion(new HttpUtils()));
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while building SILVA archives", e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Builds both units for the given release.
+   */
+  void build(String version) throws IOException, InterruptedException, ExecutionException {
+    ExecutorService exec = Executors.newFixedThreadPool(2);
+    try {
+      List<Future<?>> units = new ArrayList<>();
+      units.add(exec.submit(new org.catalogueoflife.data.silvassu.Generator(unitConfig("silva-ssu"), version)));
+      units.add(exec.submit(new org.catalogueoflife.data.silvalsu.Generator(unitConfig("silva-lsu"), version)));
+      for (Future<?> f : units) {
+        f.get();
+      }
+      LOG.info("SILVA {} SSU and LSU archives completed", version);
+    } finally {
+      exec.shutdownNow();
+    }
+  }
+
+  /**
+   * @return a copy of the complete config with the source of a single unit
+   */
+  private GeneratorConfig unitConfig(String source) {
+    GeneratorConfig uc = cfg.copy();
+    uc.source = source;
+    return uc;
+  }
+}
@@ -9,4 +9,8 @@ public class Generator extends BaseGenerator {
   public Generator(GeneratorConfig cfg) throws IOException {
     super(cfg, "ssu");
   }
+
+  public Generator(GeneratorConfig cfg, String version) throws IOException {
+    super(cfg, "ssu", version);
+  }
 }
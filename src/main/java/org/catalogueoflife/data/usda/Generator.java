@@ -8,7 +8,9 @@ import life.catalogue.common.io.TermWriter;
 import life.catalogue.common.io.UTF8IoUtils;
 import org.catalogueoflife.data.AbstractColdpGenerator;
 import org.catalogueoflife.data.GeneratorConfig;
+import org.catalogueoflife.data.utils.AdaptiveLimiter;
 import org.catalogueoflife.data.utils.CsvUtils;
+import org.catalogueoflife.data.utils.HttpException;
 import org.gbif.nameparser.NameParserGBIF;
 import org.gbif.nameparser.api.ParsedName;
 import org.gbif.nameparser.api.Rank;
@@ -20,6 +22,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 
 public class Generator extends AbstractColdpGenerator {
 
@@ -29,7 +32,10 @@ public class Generator extends AbstractColdpGenerator {
   private static final String API_BASE    = "https://plantsservices.sc.egov.usda.gov/api/";
   private static final String PROFILE_URL = "https://plants.sc.egov.usda.gov/plant-profile/";
   private static final String IMG_URL     = "https://plants.sc.egov.usda.gov/ImageLibrary/standard/";
-  private static final int    ENRICH_THREADS = 10;
+  private static final int    ENRICH_INITIAL_LIMIT = 10;
+  private static final int    ENRICH_MAX_LIMIT     = 64;
+  private static final int    ENRICH_MAX_ATTEMPTS  = 5;
+  private static final int    ENRICH_WINDOW        = 1024; // max profiles in flight
 
   private static final NameParserGBIF NAME_PARSER = new NameParserGBIF();
 
@@ -45,6 +51,11 @@ public class Generator extends AbstractColdpGenerator {
   private final Set<String>         familyNames   = new LinkedHashSet<>();
   private final List<String>        acceptedSymbols = new ArrayList<>();
 
+  // enrichment counters
+  private final LongAdder profileHits     = new LongAdder();
+  private final LongAdder profileMisses   = new LongAdder();
+  private final LongAdder profileFailures = new LongAdder();
+
   public Generator(GeneratorConfig cfg) throws IOException {
     super(cfg, true);
   }
@@ -254,43 +265,130 @@ public class Generator extends AbstractColdpGenerator {
     @JsonProperty("Status") String status;
   }
 
+  /** A profile fetch in flight, kept in {@code acceptedSymbols} order. */
+  private record PendingProfile(String symbol, Future<PlantProfile> profile) {}
+
+  /**
+   * Streams PlantProfiles through a fetch/parse/write pipeline. Every symbol gets its own virtual
+   * thread which reads the cached JSON or fetches it under an {@link AdaptiveLimiter} and parses it.
+   * At most {@link #ENRICH_WINDOW} profiles are in flight: their futures are kept in a FIFO in
+   * {@code acceptedSymbols} order and once the window is full this thread waits for the oldest one
+   * before submitting the next. The TermWriters are not thread safe so all rows are written here,
+   * in the same order as the symbols, which keeps memory bounded and the output deterministic.
+   */
   private void enrich(TermWriter distWriter, TermWriter propWriter, TermWriter mediaWriter)
       throws Exception {
-    LOG.info("Enrichment: fetching {} profiles with {} threads", acceptedSymbols.size(), ENRICH_THREADS);
-    ExecutorService exec = Executors.newFixedThreadPool(ENRICH_THREADS);
+    AdaptiveLimiter limiter = new AdaptiveLimiter(ENRICH_INITIAL_LIMIT, 1, ENRICH_MAX_LIMIT);
+    Deque<PendingProfile> window = new ArrayDeque<>(ENRICH_WINDOW);
+    LOG.info("Enrichment: streaming {} profiles, initial concurrency {}", acceptedSymbols.size(), ENRICH_INITIAL_LIMIT);
+    ExecutorService exec = Executors.newVirtualThreadPerTaskExecutor();
     try {
-      List<CompletableFuture<Void>> fetches = new ArrayList<>();
-      for (String symbol : acceptedSymbols) {
-        fetches.add(CompletableFuture.runAsync(() -> {
-          try { downloadProfile(symbol); }
-          catch (Exception ex) { LOG.warn("Profile download failed for {}: {}", symbol, ex.getMessage()); }
-        }, exec));
-      }
-      CompletableFuture.allOf(fetches.toArray(new CompletableFuture[0])).join();
-      LOG.info("Enrichment downloads complete; writing ColDP output");
-
+      int done = 0;
+      int written = 0;
       for (String symbol : acceptedSymbols) {
-        File cache = sourceFile("profile-" + symbol + ".json");
-        if (!cache.exists()) continue;
-        try {
-          PlantProfile profile = mapper.readValue(cache, PlantProfile.class);
-          writeEnrichment(symbol, profile, distWriter, propWriter, mediaWriter);
-        } catch (Exception ex) {
-          LOG.warn("Failed to process profile for {}: {}", symbol, ex.getMessage());
+        if (window.size() >= ENRICH_WINDOW) {
+          if (writeNext(window.poll(), distWriter, propWriter, mediaWriter)) written++;
+          logProgress(++done, limiter);
         }
+        window.add(new PendingProfile(symbol, exec.submit(() -> fetchOrNull(symbol, limiter))));
+      }
+      while (!window.isEmpty()) {
+        if (writeNext(window.poll(), distWriter, propWriter, mediaWriter)) written++;
+        logProgress(++done, limiter);
       }
+      LOG.info("Enrichment complete: {} profiles written, {} cache hits, {} fetched, {} failures, final concurrency limit {}",
+          written, profileHits.sum(), profileMisses.sum(), profileFailures.sum(), limiter.getLimit());
     } finally {
-      exec.shutdown();
+      exec.shutdownNow();
+    }
+  }
+
+  /**
+   * @return the profile or null if it could not be obtained
+   */
+  private PlantProfile fetchOrNull(String symbol, AdaptiveLimiter limiter) throws InterruptedException {
+    try {
+      return loadProfile(symbol, limiter);
+    } catch (InterruptedException e) {
+      throw e;
+    } catch (Exception ex) {
+      profileFailures.increment();
+      LOG.warn("Profile download failed for {}: {}", symbol, ex.getMessage());
+      return null;
     }
   }
 
-  private void downloadProfile(String symbol) throws IOException {
+  /**
+   * Waits for the profile and writes its rows. A profile that fails to write is logged and skipped.
+   * @return true if the profile was written
+   */
+  private boolean writeNext(PendingProfile pending, TermWriter distWriter, TermWriter propWriter,
+                            TermWriter mediaWriter) throws InterruptedException, ExecutionException {
+    PlantProfile profile = pending.profile().get();
+    if (profile == null) return false;
+    try {
+      writeEnrichment(pending.symbol(), profile, distWriter, propWriter, mediaWriter);
+      return true;
+    } catch (Exception ex) {
+      LOG.warn("Failed to process profile for {}: {}", pending.symbol(), ex.getMessage());
+      return false;
+    }
+  }
+
+  private void logProgress(int done, AdaptiveLimiter limiter) {
+    if (done % 5000 == 0) {
+      LOG.info("Enrichment progress: {}/{} profiles, {} cache hits, {} fetched, {} failures, concurrency limit {}",
+          done, acceptedSymbols.size(), profileHits.sum(), profileMisses.sum(), profileFailures.sum(), limiter.getLimit());
+    }
+  }
+
+  /**
+   * Reads a profile from the cache or fetches and caches it.
+   * @return the parsed profile or null if it is not cached and --no-download is set
+   */
+  private PlantProfile loadProfile(String symbol, AdaptiveLimiter limiter) throws IOException, InterruptedException {
     File cache = sourceFile("profile-" + symbol + ".json");
-    if (cache.exists() || cfg.noDownload) return;
-    String json = http.getJSON(URI.create(API_BASE + "PlantProfile?symbol=" + symbol));
+    if (cache.exists()) {
+      profileHits.increment();
+      return mapper.readValue(cache, PlantProfile.class);
+    }
+    if (cfg.noDownload) return null;
+    profileMisses.increment();
+    String json = fetchProfile(symbol, limiter);
+    PlantProfile profile = mapper.readValue(json, PlantProfile.class);
     try (var w = UTF8IoUtils.writerFromFile(cache)) {
       w.write(json);
     }
+    return profile;
+  }
+
+  /**
+   * Fetches the profile JSON, backing off and retrying when the API throttles us with 429 or 503.
+   */
+  private String fetchProfile(String symbol, AdaptiveLimiter limiter) throws IOException, InterruptedException {
+    URI uri = URI.create(API_BASE + "PlantProfile?symbol=" + symbol);
+    for (int attempt = 1; ; attempt++) {
+      limiter.acquire();
+      long start = System.nanoTime();
+      try {
+        String json = http.getJSON(uri);
+        limiter.onSuccess(System.nanoTime() - start);
+        return json;
+      } catch (HttpException e) {
+        boolean throttled = e.status == 429 || e.status == 503;
+        if (throttled) {
+          limiter.onThrottled();
+        } else {
+          limiter.onFailure();
+        }
+        if (!throttled || attempt >= ENRICH_MAX_ATTEMPTS) throw e;
+        LOG.debug("Profile request for {} throttled with {}. Retry {}", symbol, e.status, attempt);
+        TimeUnit.SECONDS.sleep(1L << attempt);
+      } catch (IOException | RuntimeException e) {
+        limiter.onFailure();
+        throw e;
+      }
+    }
   }
 
   private void writeEnrichment(String symbol, PlantProfile p,
@@ -0,0 +1,147 @@
+package org.catalogueoflife.data.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit for remote API calls that adapts to the observed latency and to throttling
+ * responses (AIMD: additive increase, multiplicative decrease).
+ *
+ * <p>Callers {@link #acquire()} a permit before each request and report the outcome with either
+ * {@link #onSuccess(long)} or {@link #onThrottled()}. The limit grows by roughly one permit per
+ * round trip while latencies stay within {@code tolerance} times the best latency seen so far,
+ * shrinks by 10% when latencies degrade and is halved on HTTP 429 / 503 responses.
+ *
+ * <p>Uses a {@link ReentrantLock} rather than {@code synchronized} so that virtual threads waiting
+ * for a permit do not pin their carrier thread.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ *   AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 64);
+ *   limiter.acquire();
+ *   long start = System.nanoTime();
+ *   try {
+ *     String json = http.getJSON(uri);
+ *     limiter.onSuccess(System.nanoTime() - start);
+ *   } catch (HttpException e) {
+ *     if (e.status == 429) limiter.onThrottled(); else limiter.onFailure();
+ *   }
+ * }</pre>
+ */
+public class AdaptiveLimiter {
+  private static final double TOLERANCE = 2.0;
+  private static final double BACKOFF_SLOW = 0.9;
+  private static final double BACKOFF_THROTTLED = 0.5;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition available = lock.newCondition();
+  private double limit;
+  private int inFlight;
+  private long minLatency = Long.MAX_VALUE;
+
+  /**
+   * @param initialLimit number of concurrent permits to start with
+   * @param minLimit     the limit never drops below this, must be at least 1
+   * @param maxLimit     the limit never grows beyond this
+   */
+  public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("Invalid limiter bounds " + minLimit + "-" + maxLimit);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  /**
+   * Blocks until a permit is available.
+   */
+  public void acquire() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (inFlight >= (int) limit) {
+        available.await();
+      }
+      inFlight++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases a permit after a successful request and adjusts the limit based on its latency.
+   * @param latencyNanos duration of the request in nanoseconds
+   */
+  public void onSuccess(long latencyNanos) {
+    lock.lock();
+    try {
+      minLatency = Math.min(minLatency, latencyNanos);
+      if (latencyNanos > minLatency * TOLERANCE) {
+        limit = Math.max(minLimit, limit * BACKOFF_SLOW);
+      } else {
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+      }
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases a permit after the server signalled overload (HTTP 429 or 503) and halves the limit.
+   */
+  public void onThrottled() {
+    lock.lock();
+    try {
+      limit = Math.max(minLimit, limit * BACKOFF_THROTTLED);
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases a permit after a failed request that says nothing about server load, e.g. a 404.
+   * The limit is left unchanged.
+   */
+  public void onFailure() {
+    lock.lock();
+    try {
+      release();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release() {
+    inFlight--;
+    available.signalAll();
+  }
+
+  /**
+   * @return the current concurrency limit
+   */
+  public int getLimit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the best request latency observed so far in milliseconds, or -1 if none was recorded
+   */
+  public long getMinLatencyMillis() {
+    lock.lock();
+    try {
+      return minLatency == Long.MAX_VALUE ? -1 : TimeUnit.NANOSECONDS.toMillis(minLatency);
+    } finally {
+      lock.unlock();
+    }
+  }
+}
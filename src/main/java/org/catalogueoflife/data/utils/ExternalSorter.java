@@ -0,0 +1,146 @@
+package org.catalogueoflife.data.utils;
+
+import life.catalogue.common.io.UTF8IoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Sorts an unbounded number of text lines with bounded memory.
+ * Lines are buffered until a limit is reached, then sorted and spilled to a temporary run file.
+ * {@link #sorted()} merges all runs into a single ascending stream of lines.
+ * Lines must not contain line breaks.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ *   try (ExternalSorter sorter = new ExternalSorter(tmpDir, 500_000)) {
+ *     sorter.add(key + "\t" + value);
+ *     ...
+ *     Iterator<String> iter = sorter.sorted();
+ *   }
+ * }</pre>
+ */
+public class ExternalSorter implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(ExternalSorter.class);
+
+  private final File dir;
+  private final int maxLines;
+  private final List<String> buffer = new ArrayList<>();
+  private final List<File> runs = new ArrayList<>();
+  private final List<BufferedReader> readers = new ArrayList<>();
+  private long size;
+
+  /**
+   * @param dir      directory to write the temporary run files to
+   * @param maxLines maximum number of lines kept in memory before a run is spilled to disk
+   */
+  public ExternalSorter(File dir, int maxLines) {
+    this.dir = dir;
+    this.maxLines = maxLines;
+  }
+
+  public void add(String line) throws IOException {
+    buffer.add(line);
+    size++;
+    if (buffer.size() >= maxLines) {
+      spill();
+    }
+  }
+
+  private void spill() throws IOException {
+    Collections.sort(buffer);
+    dir.mkdirs();
+    File run = File.createTempFile("run-", ".txt", dir);
+    runs.add(run);
+    try (Writer w = UTF8IoUtils.writerFromFile(run)) {
+      for (String line : buffer) {
+        w.write(line);
+        w.write('\n');
+      }
+    }
+    LOG.debug("Spilled sorted run {} with {} lines", run.getName(), buffer.size());
+    buffer.clear();
+  }
+
+  /**
+   * @return total number of added lines
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Finishes adding lines and merges all runs. Can only be called once.
+   * The iterator throws an {@link UncheckedIOException} if a run cannot be read.
+   */
+  public Iterator<String> sorted() throws IOException {
+    if (runs.isEmpty()) {
+      // everything fits into memory
+      Collections.sort(buffer);
+      return buffer.iterator();
+    }
+    if (!buffer.isEmpty()) {
+      spill();
+    }
+    LOG.info("Merging {} sorted runs with {} lines", runs.size(), size);
+    for (File run : runs) {
+      readers.add(UTF8IoUtils.readerFromFile(run));
+    }
+    return new MergeIterator(readers);
+  }
+
+  /**
+   * Deletes all run files.
+   */
+  @Override
+  public void close() throws IOException {
+    for (BufferedReader br : readers) {
+      br.close();
+    }
+    for (File run : runs) {
+      if (!run.delete()) {
+        LOG.warn("Failed to delete sort run {}", run);
+      }
+    }
+    buffer.clear();
+  }
+
+  private static class MergeIterator implements Iterator<String> {
+    private record Head(String line, BufferedReader reader) {}
+    private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::line));
+
+    MergeIterator(List<BufferedReader> readers) {
+      for (BufferedReader br : readers) {
+        advance(br);
+      }
+    }
+
+    private void advance(BufferedReader br) {
+      try {
+        String line = br.readLine();
+        if (line != null) {
+          heads.add(new Head(line, br));
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !heads.isEmpty();
+    }
+
+    @Override
+    public String next() {
+      Head h = heads.poll();
+      if (h == null) {
+        throw new NoSuchElementException();
+      }
+      advance(h.reader);
+      return h.line;
+    }
+  }
+}
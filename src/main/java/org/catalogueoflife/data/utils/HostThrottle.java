@@ -0,0 +1,83 @@
+package org.catalogueoflife.data.utils;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-host politeness for concurrent crawlers. Limits the number of requests in flight to each host
+ * and enforces a minimum interval between the start of two requests to the same host.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ *   HostThrottle throttle = new HostThrottle(4, 200);
+ *   try (var permit = throttle.acquire(uri)) {
+ *     html = http.get(uri);
+ *   }
+ * }</pre>
+ */
+public class HostThrottle {
+  private final int maxPerHost;
+  private final long minIntervalNanos;
+  private final ConcurrentHashMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+  /**
+   * A granted request slot which must be closed once the request has completed.
+   */
+  public interface Permit extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static class Host {
+    final Semaphore inFlight;
+    final ReentrantLock lock = new ReentrantLock();
+    long nextStart;
+
+    Host(int maxPerHost) {
+      inFlight = new Semaphore(maxPerHost, true);
+      nextStart = System.nanoTime();
+    }
+  }
+
+  /**
+   * @param maxPerHost    maximum number of concurrent requests per host
+   * @param minIntervalMs minimum delay in milliseconds between the start of two requests to the same host
+   */
+  public HostThrottle(int maxPerHost, long minIntervalMs) {
+    if (maxPerHost < 1) {
+      throw new IllegalArgumentException("At least one request per host must be allowed");
+    }
+    this.maxPerHost = maxPerHost;
+    this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMs);
+  }
+
+  /**
+   * Blocks until a request to the host of the given URI may start.
+   */
+  public Permit acquire(URI uri) throws InterruptedException {
+    Host h = hosts.computeIfAbsent(String.valueOf(uri.getHost()), k -> new Host(maxPerHost));
+    h.inFlight.acquire();
+    long wait;
+    h.lock.lock();
+    try {
+      long now = System.nanoTime();
+      long start = Math.max(now, h.nextStart);
+      h.nextStart = start + minIntervalNanos;
+      wait = start - now;
+    } finally {
+      h.lock.unlock();
+    }
+    if (wait > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(wait);
+      } catch (InterruptedException e) {
+        h.inFlight.release();
+        throw e;
+      }
+    }
+    return h.inFlight::release;
+  }
+}
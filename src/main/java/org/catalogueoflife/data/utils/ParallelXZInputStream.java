@@ -0,0 +1,146 @@
+package org.catalogueoflife.data.utils;
+
+import org.tukaani.xz.SeekableFileInputStream;
+import org.tukaani.xz.SeekableXZInputStream;
+import org.tukaani.xz.XZInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Decompresses a multi-block XZ file using several threads.
+ * Block boundaries are read from the XZ index, each block is decoded independently by a worker
+ * and the decoded blocks are concatenated again in their original order,
+ * so lines and UTF-8 characters that cross a block edge come out intact.
+ *
+ * <p>Files written by {@code xz -T} or {@code pixz} consist of many blocks.
+ * Files with a single block cannot be split and are decoded by a streaming reader on a background thread instead,
+ * see {@link #open(File)}.
+ *
+ * <p>At most threads+1 decoded blocks are held in memory.
+ */
+public class ParallelXZInputStream extends InputStream {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelXZInputStream.class);
+
+  private final File file;
+  private final int blockCount;
+  private final int maxPending;
+  private final ExecutorService exec;
+  private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+  private int nextBlock;
+  private byte[] block;
+  private int pos;
+
+  /**
+   * Opens the XZ file for parallel decoding if it consists of several blocks,
+   * otherwise for streaming decoding on a background thread.
+   */
+  public static InputStream open(File xz) throws IOException {
+    return open(xz, Runtime.getRuntime().availableProcessors());
+  }
+
+  public static InputStream open(File xz, int threads) throws IOException {
+    int blocks;
+    long largest;
+    try (var in = new SeekableXZInputStream(new SeekableFileInputStream(xz))) {
+      blocks = in.getBlockCount();
+      largest = in.getLargestBlockSize();
+    }
+    if (blocks > 1 && threads > 1 && largest < Integer.MAX_VALUE - 8) {
+      LOG.info("Decode {} with {} blocks using {} threads", xz.getName(), blocks, threads);
+      return new ParallelXZInputStream(xz, blocks, threads);
+    }
+    LOG.info("Decode {} with {} block(s) as a stream", xz.getName(), blocks);
+    return new ReadAheadInputStream(new XZInputStream(new BufferedInputStream(new FileInputStream(xz))));
+  }
+
+  private ParallelXZInputStream(File file, int blockCount, int threads) {
+    this.file = file;
+    this.blockCount = blockCount;
+    this.maxPending = threads + 1;
+    exec = Executors.newFixedThreadPool(threads);
+    submit();
+  }
+
+  private void submit() {
+    while (pending.size() < maxPending && nextBlock < blockCount) {
+      final int b = nextBlock++;
+      pending.add(exec.submit(() -> decode(b)));
+    }
+  }
+
+  /**
+   * Decodes a single block. Every call opens its own seekable stream, which only reads the small index
+   * at the end of the file before seeking to the block.
+   */
+  private byte[] decode(int blockNumber) throws IOException {
+    try (var in = new SeekableXZInputStream(new SeekableFileInputStream(file))) {
+      in.seekToBlock(blockNumber);
+      byte[] buf = new byte[(int) in.getBlockSize(blockNumber)];
+      int n = in.readNBytes(buf, 0, buf.length);
+      if (n != buf.length) {
+        throw new EOFException("Block " + blockNumber + " of " + file.getName() + " truncated at " + n + " of " + buf.length + " bytes");
+      }
+      return buf;
+    }
+  }
+
+  /**
+   * @return false at the end of the file
+   */
+  private boolean ensure() throws IOException {
+    while (block == null || pos == block.length) {
+      Future<byte[]> f = pending.poll();
+      if (f == null) return false;
+      try {
+        block = f.get();
+        pos = 0;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while decoding " + file.getName());
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException("Failed to decode " + file.getName(), e.getCause());
+      }
+      submit();
+    }
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    return ensure() ? block[pos++] & 0xff : -1;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) return 0;
+    if (!ensure()) return -1;
+    int n = Math.min(len, block.length - pos);
+    System.arraycopy(block, pos, b, off, n);
+    pos += n;
+    return n;
+  }
+
+  @Override
+  public int available() {
+    return block == null ? 0 : block.length - pos;
+  }
+
+  @Override
+  public void close() {
+    exec.shutdownNow();
+    pending.clear();
+    block = null;
+    nextBlock = blockCount;
+  }
+}
@@ -0,0 +1,118 @@
+package org.catalogueoflife.data.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a wrapped stream on its own thread into a bounded queue of chunks.
+ * Useful for expensive streams like XZ or zip decompression, which then runs in parallel
+ * to the thread parsing the data while memory stays bounded by the queue size.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ *   try (var in = new ReadAheadInputStream(new XZCompressorInputStream(new FileInputStream(f)))) {
+ *     BufferedReader br = UTF8IoUtils.readerFromStream(in);
+ *     ...
+ *   }
+ * }</pre>
+ */
+public class ReadAheadInputStream extends InputStream {
+  private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+  private static final int DEFAULT_CHUNKS = 8;
+  private static final byte[] EOF = new byte[0];
+
+  private final BlockingQueue<byte[]> queue;
+  private final Thread producer;
+  private volatile IOException error;
+  private byte[] chunk;
+  private int pos;
+
+  public ReadAheadInputStream(InputStream in) {
+    this(in, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNKS);
+  }
+
+  /**
+   * @param chunkSize size of the chunks handed over to the reading thread
+   * @param chunks    maximum number of chunks read ahead
+   */
+  public ReadAheadInputStream(InputStream in, int chunkSize, int chunks) {
+    queue = new ArrayBlockingQueue<>(chunks);
+    producer = Thread.ofPlatform()
+        .name("read-ahead")
+        .daemon()
+        .start(() -> produce(in, chunkSize));
+  }
+
+  private void produce(InputStream in, int chunkSize) {
+    try (in) {
+      while (true) {
+        byte[] buf = in.readNBytes(chunkSize);
+        if (buf.length == 0) break;
+        queue.put(buf);
+      }
+    } catch (IOException e) {
+      error = e;
+    } catch (InterruptedException e) {
+      return; // closed by the consumer
+    }
+    try {
+      queue.put(EOF);
+    } catch (InterruptedException e) {
+      // closed by the consumer
+    }
+  }
+
+  /**
+   * @return false at the end of the stream
+   */
+  private boolean ensure() throws IOException {
+    if (chunk == EOF) return false;
+    if (chunk == null || pos == chunk.length) {
+      try {
+        chunk = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while reading ahead");
+      }
+      pos = 0;
+      if (chunk == EOF) {
+        if (error != null) throw error;
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    return ensure() ? chunk[pos++] & 0xff : -1;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) return 0;
+    if (!ensure()) return -1;
+    int n = Math.min(len, chunk.length - pos);
+    System.arraycopy(chunk, pos, b, off, n);
+    pos += n;
+    return n;
+  }
+
+  @Override
+  public int available() {
+    return chunk == null || chunk == EOF ? 0 : chunk.length - pos;
+  }
+
+  /**
+   * Stops the reading thread if the stream was not read to the end. The wrapped stream is closed by that thread.
+   */
+  @Override
+  public void close() {
+    producer.interrupt();
+    chunk = EOF;
+    queue.clear();
+  }
+}
@@ -0,0 +1,241 @@
+package org.catalogueoflife.data.utils;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.annotation.Nullable;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the rows of a single xlsx sheet with the POI XSSF event model
+ * instead of loading the whole workbook into memory.
+ *
+ * Only the shared strings table and the styles are kept in memory, cells are parsed with SAX
+ * and handed out one row at a time. Formulas are not evaluated, their cached results are used
+ * as stored by Excel. Values are formatted with the given DataFormatter just like the usermodel does.
+ *
+ * Hyperlinks are stored after the cell data of a sheet, so they are collected in a separate,
+ * optional first pass over the sheet that only keeps the links.
+ */
+public class XlsxStreamReader {
+  private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+  private static final String NS_REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+  @FunctionalInterface
+  public interface RowHandler {
+    /**
+     * @return false to stop reading the sheet
+     */
+    boolean row(XlsRow row) throws IOException;
+  }
+
+  /**
+   * A single sheet row with all cells formatted as strings.
+   */
+  public static class XlsRow {
+    private final String sheet;
+    private final int rowNum;
+    private final String[] cells;
+    private final Long2ObjectMap<String> links;
+
+    private XlsRow(String sheet, int rowNum, String[] cells, Long2ObjectMap<String> links) {
+      this.sheet = sheet;
+      this.rowNum = rowNum;
+      this.cells = cells;
+      this.links = links;
+    }
+
+    public String getSheetName() {
+      return sheet;
+    }
+
+    /**
+     * @return zero based row number as in the sheet, i.e. including skipped empty rows
+     */
+    public int getRowNum() {
+      return rowNum;
+    }
+
+    /**
+     * @return the formatted cell value or null for a missing cell
+     */
+    @Nullable
+    public String get(int column) {
+      return column < cells.length ? cells[column] : null;
+    }
+
+    /**
+     * @return the hyperlink address of the cell or null. Always null if links were not read.
+     */
+    @Nullable
+    public String link(int column) {
+      return links.get(key(rowNum, column));
+    }
+  }
+
+  private final File file;
+  private final DataFormatter formatter;
+
+  public XlsxStreamReader(File file, DataFormatter formatter) {
+    this.file = file;
+    this.formatter = formatter;
+  }
+
+  /**
+   * Reads all rows of a sheet in their order.
+   * @param sheetIdx zero based sheet index
+   * @param links if true also reads the hyperlinks of the sheet
+   * @return number of rows handed to the handler
+   */
+  public int read(int sheetIdx, boolean links, RowHandler handler) throws IOException {
+    try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+      XSSFReader reader = new XSSFReader(pkg);
+      var strings = new ReadOnlySharedStringsTable(pkg, false);
+      var iter = (XSSFReader.SheetIterator) reader.getSheetsData();
+      int idx = 0;
+      while (iter.hasNext()) {
+        try (InputStream in = iter.next()) {
+          if (idx++ < sheetIdx) continue;
+          PackagePart part = iter.getSheetPart();
+          Long2ObjectMap<String> linkMap = links ? readLinks(part) : new Long2ObjectOpenHashMap<>();
+          var rows = new RowCollector(iter.getSheetName(), linkMap, handler);
+          XMLReader xml = XMLHelper.newXMLReader();
+          xml.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings, rows, formatter, false));
+          try {
+            xml.parse(new InputSource(in));
+          } catch (StopSignal e) {
+            // handler asked to stop or failed
+          }
+          if (rows.error != null) {
+            throw rows.error;
+          }
+          return rows.counter;
+        }
+      }
+      throw new IllegalArgumentException("No sheet with index " + sheetIdx + " in " + file);
+    } catch (SAXException | OpenXML4JException | ParserConfigurationException e) {
+      throw new IOException("Failed to read sheet " + sheetIdx + " of " + file, e);
+    }
+  }
+
+  private static long key(int row, int col) {
+    return ((long) row << 32) | col;
+  }
+
+  /**
+   * Reads the hyperlinks element of a sheet, resolving external links via the sheet relations.
+   */
+  private static Long2ObjectMap<String> readLinks(PackagePart part) throws IOException, SAXException, ParserConfigurationException {
+    Long2ObjectMap<String> links = new Long2ObjectOpenHashMap<>();
+    XMLReader xml = XMLHelper.newXMLReader();
+    xml.setContentHandler(new DefaultHandler() {
+      @Override
+      public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+        if (NS_MAIN.equals(uri) && localName.equals("hyperlink")) {
+          String ref = atts.getValue("ref");
+          String rid = atts.getValue(NS_REL, "id");
+          String address = atts.getValue("location");
+          if (rid != null) {
+            try {
+              PackageRelationship rel = part.getRelationship(rid);
+              if (rel != null) {
+                address = rel.getTargetURI().toString();
+              }
+            } catch (Exception e) {
+              throw new SAXException("Bad hyperlink relation " + rid, e);
+            }
+          }
+          if (ref != null && address != null) {
+            var range = CellRangeAddress.valueOf(ref);
+            for (int r = range.getFirstRow(); r <= range.getLastRow(); r++) {
+              for (int c = range.getFirstColumn(); c <= range.getLastColumn(); c++) {
+                links.put(key(r, c), address);
+              }
+            }
+          }
+        }
+      }
+    });
+    try (InputStream in = part.getInputStream()) {
+      xml.parse(new InputSource(in));
+    }
+    return links;
+  }
+
+  private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+    private final String sheet;
+    private final Long2ObjectMap<String> links;
+    private final RowHandler handler;
+    private final List<String> cells = new ArrayList<>();
+    private int counter;
+    private IOException error;
+
+    RowCollector(String sheet, Long2ObjectMap<String> links, RowHandler handler) {
+      this.sheet = sheet;
+      this.links = links;
+      this.handler = handler;
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+      cells.clear();
+    }
+
+    @Override
+    public void cell(String ref, String value, XSSFComment comment) {
+      int col = ref == null ? cells.size() : new CellReference(ref).getCol();
+      while (cells.size() < col) {
+        cells.add(null);
+      }
+      String val = StringUtils.isEmpty(value) ? null : value;
+      if (col < cells.size()) {
+        cells.set(col, val);
+      } else {
+        cells.add(val);
+      }
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+      counter++;
+      boolean proceed;
+      try {
+        proceed = handler.row(new XlsRow(sheet, rowNum, cells.toArray(new String[0]), links));
+      } catch (IOException e) {
+        error = e;
+        proceed = false;
+      }
+      if (!proceed) {
+        // SheetContentsHandler cannot throw checked exceptions, unwind the parser unchecked
+        throw new StopSignal();
+      }
+    }
+  }
+
+  private static class StopSignal extends RuntimeException {
+  }
+}
@@ -21,7 +21,7 @@ import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.function.Consumer;
+import java.util.concurrent.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,7 +41,14 @@ public class Generator extends AbstractColdpGenerator {
   private TermWriter vernWriter;
   private TermWriter nameRelWriter;
   private TermWriter distWriter;
-  private final WikitextParser parser;
+  private final int threads; // parse workers
+  // marks the end of pass 2 in the writer queue
+  private static final Future<ParsedTaxon> END_OF_PAGES = CompletableFuture.completedFuture(null);
+  // Sweble parsers are not thread safe, each parse worker gets its own
+  private final ThreadLocal<WikitextParser> parser = ThreadLocal.withInitial(() -> {
+    ParserConfig pcfg = new SimpleParserConfig();
+    return new WikitextParser(pcfg);
+  });
 
   private static final Pattern DIST_SKIP =
       Pattern.compile("(?i)continental|regional|\u02D0");
@@ -55,11 +62,31 @@ public class Generator extends AbstractColdpGenerator {
   record NavInfo(String parentTemplate, String rank) {}
   record TaxonavResult(String parentId, String rank, String remarks) {}
   record SynonymData(String name, String authorship, String status) {}
+  /**
+   * Everything extracted from a taxon page, produced by the parse workers and written in page order.
+   * Immutable, so it can be handed from a worker to the writer thread safely.
+   */
+  record ParsedTaxon(String id, String parentId, String rank, String sciName, String authorship, String nameYear,
+                     String primaryRefId, List<String> additionalRefIds, String wikidataQid, String remarks,
+                     List<VernacularExtractor.VernacularName> vernaculars, List<SynonymData> synonyms,
+                     List<String> areas, Set<String> refIds) {
+    ParsedTaxon {
+      additionalRefIds = List.copyOf(additionalRefIds);
+      vernaculars = List.copyOf(vernaculars);
+      synonyms = List.copyOf(synonyms);
+      areas = List.copyOf(areas);
+      // keep the page order of the references
+      refIds = Collections.unmodifiableSet(new LinkedHashSet<>(refIds));
+    }
+  }
 
   public Generator(GeneratorConfig cfg) throws IOException {
+    this(cfg, Runtime.getRuntime().availableProcessors());
+  }
+
+  Generator(GeneratorConfig cfg, int threads) throws IOException {
     super(cfg, true);
-    ParserConfig pcfg = new SimpleParserConfig();
-    parser = new WikitextParser(pcfg);
+    this.threads = threads;
   }
 
   @Override
@@ -130,29 +157,41 @@ public class Generator extends AbstractColdpGenerator {
     });
     LOG.info("Loaded {} navigation templates", navTemplates.size());
 
-    // Pass 2: process taxon and redirect pages
-    LOG.info("Pass 2: processing taxon pages...");
-    Set<String> taxonIds = new HashSet<>();
+    // Pass 2: process taxon and redirect pages.
+    // This thread reads the dump and submits every taxon page to a pool of parse workers.
+    // The futures are queued in dump order and a single writer drains them in that order,
+    // so the output and the sequential synonym ids are the same as with a single thread.
+    // The bounded queue keeps the reader from running far ahead of the writer.
+    LOG.info("Pass 2: processing taxon pages with {} parse workers...", threads);
+    Set<String> taxonIds = ConcurrentHashMap.newKeySet();
+    Set<String> writtenRefIds = ConcurrentHashMap.newKeySet();
     List<WikiPage> redirects = new ArrayList<>();
-    Set<String> writtenRefIds = new HashSet<>();
 
-    streamXml(src, page -> {
-      if (page.title == null || page.title.contains(":") || SKIP_TITLES.contains(page.title)) return;
-      if (page.redirect != null) {
-        redirects.add(page);
-      } else if (page.text != null && "wikitext".equalsIgnoreCase(page.model)) {
-        // Fast pre-filter: all taxon pages have a Name or Taxonavigation section;
-        // person/author pages (e.g. botanists, zoologists) have neither.
-        if (!page.text.contains("{{int:Name}}") && !page.text.contains("{{int:Taxonavigation}}")) {
-          LOG.debug("Skipping non-taxon page: {}", page.title);
-        } else try {
-          processTaxonPage(page, navTemplates, taxonIds, writtenRefIds);
-        } catch (Exception e) {
-          LOG.warn("Failed to process page '{}': {}", page.title, e.getMessage());
+    BlockingQueue<Future<ParsedTaxon>> queue = new ArrayBlockingQueue<>(threads * 64);
+    ExecutorService exec = Executors.newFixedThreadPool(threads);
+    ExecutorService writerExec = Executors.newSingleThreadExecutor();
+    try {
+      Future<Integer> writerTask = writerExec.submit(() -> writeTaxa(queue, taxonIds, writtenRefIds));
+      streamXml(src, page -> {
+        if (page.title == null || page.title.contains(":") || SKIP_TITLES.contains(page.title)) return;
+        if (page.redirect != null) {
+          redirects.add(page);
+        } else if (page.text != null && "wikitext".equalsIgnoreCase(page.model)) {
+          // Fast pre-filter: all taxon pages have a Name or Taxonavigation section;
+          // person/author pages (e.g. botanists, zoologists) have neither.
+          if (!page.text.contains("{{int:Name}}") && !page.text.contains("{{int:Taxonavigation}}")) {
+            LOG.debug("Skipping non-taxon page: {}", page.title);
+          } else {
+            enqueue(queue, exec.submit(() -> parseTaxonPage(page, navTemplates)), writerTask);
+          }
         }
-      }
-    });
-    LOG.info("Processed {} taxon pages", taxonCount);
+      });
+      enqueue(queue, END_OF_PAGES, writerTask);
+      LOG.info("Processed {} taxon pages", writerTask.get());
+    } finally {
+      exec.shutdownNow();
+      writerExec.shutdownNow();
+    }
 
     // Write redirects as synonyms where target is a known taxon
     for (WikiPage redirect : redirects) {
@@ -170,10 +209,53 @@ public class Generator extends AbstractColdpGenerator {
     LOG.info("Written {} synonyms ({} from redirects)", synCount + redirectCount, redirectCount);
   }
 
-  private void processTaxonPage(WikiPage page, Map<String, NavInfo> navTemplates,
-                                Set<String> taxonIds, Set<String> writtenRefIds) throws Exception {
-    WtNode article = parser.parseArticle(page.text, page.title);
+  /**
+   * Puts a parsed page into the writer queue, failing fast if the writer died instead of blocking forever.
+   */
+  private static void enqueue(BlockingQueue<Future<ParsedTaxon>> queue, Future<ParsedTaxon> f,
+                              Future<Integer> writerTask) throws Exception {
+    while (!queue.offer(f, 1, TimeUnit.SECONDS)) {
+      if (writerTask.isDone()) {
+        writerTask.get(); // rethrows the writer failure
+        throw new IllegalStateException("Taxon writer stopped unexpectedly");
+      }
+    }
+  }
+
+  /**
+   * Writer stage: takes parsed pages in dump order until the end marker and writes them.
+   * @return number of written taxon pages
+   */
+  private int writeTaxa(BlockingQueue<Future<ParsedTaxon>> queue,
+                        Set<String> taxonIds, Set<String> writtenRefIds) throws Exception {
+    Future<ParsedTaxon> f;
+    while ((f = queue.take()) != END_OF_PAGES) {
+      ParsedTaxon t = f.get();
+      if (t == null) continue; // page failed to parse
+      try {
+        writeTaxon(t, taxonIds, writtenRefIds);
+      } catch (Exception e) {
+        LOG.warn("Failed to write page '{}': {}", t.id(), e.getMessage());
+      }
+    }
+    return taxonCount;
+  }
+
+  /**
+   * Parse stage, runs concurrently on the workers with one Sweble parser per worker thread.
+   * @return the extracted taxon or null if the page could not be parsed
+   */
+  private ParsedTaxon parseTaxonPage(WikiPage page, Map<String, NavInfo> navTemplates) {
+    try {
+      return extractTaxon(page, navTemplates);
+    } catch (Exception e) {
+      LOG.warn("Failed to process page '{}': {}", page.title, e.getMessage());
+      return null;
+    }
+  }
 
+  private ParsedTaxon extractTaxon(WikiPage page, Map<String, NavInfo> navTemplates) throws Exception {
+    WtNode article = parser.get().parseArticle(page.text, page.title);
     String parentId = null;
     String rank = null;
     String sciName = null;
@@ -263,11 +345,25 @@ public class Generator extends AbstractColdpGenerator {
 
     String id = WikiPage.id(page.title);
 
+    // Distribution from {{nadi|...}} templates anywhere in the article
+    List<WtTemplate> nadiTemplates = new ArrayList<>();
+    findTemplates(article, "nadi", nadiTemplates);
+    List<String> areas = new ArrayList<>();
+    for (WtTemplate nadi : nadiTemplates) {
+      areas.addAll(extractDistAreas(nadi));
+    }
+
+    return new ParsedTaxon(id, parentId, rank, sciName, authorship, nameYear, primaryRefId, additionalRefIds,
+        wikidataQid, remarks, vernaculars, synonyms, areas, refIds);
+  }
+
+  private void writeTaxon(ParsedTaxon t, Set<String> taxonIds, Set<String> writtenRefIds) throws Exception {
+    String id = t.id();
     // Pre-scan synonyms to locate the basionym's future ID (assigned sequentially)
     String basionymSynId = null;
     {
       int tempSeq = synSeq;
-      for (var syn : synonyms) {
+      for (var syn : t.synonyms()) {
         if (syn.name() == null || syn.name().isEmpty()) continue;
         tempSeq++;
         if ("basionym".equals(syn.status())) {
@@ -278,26 +374,26 @@ public class Generator extends AbstractColdpGenerator {
     }
 
     writer.set(ColdpTerm.ID, id);
-    writer.set(ColdpTerm.parentID, parentId);
+    writer.set(ColdpTerm.parentID, t.parentId());
     writer.set(ColdpTerm.basionymID, basionymSynId);
     writer.set(ColdpTerm.status, "accepted");
-    writer.set(ColdpTerm.rank, rank);
-    writer.set(ColdpTerm.scientificName, sciName);
-    writer.set(ColdpTerm.authorship, authorship);
-    writer.set(ColdpTerm.nameReferenceID, primaryRefId);
-    writer.set(ColdpTerm.publishedInYear, nameYear);
-    if (!additionalRefIds.isEmpty()) {
-      writer.set(ColdpTerm.referenceID, String.join(",", additionalRefIds));
-    }
-    if (wikidataQid != null) writer.set(ColdpTerm.alternativeID, "wd:" + wikidataQid);
+    writer.set(ColdpTerm.rank, t.rank());
+    writer.set(ColdpTerm.scientificName, t.sciName());
+    writer.set(ColdpTerm.authorship, t.authorship());
+    writer.set(ColdpTerm.nameReferenceID, t.primaryRefId());
+    writer.set(ColdpTerm.publishedInYear, t.nameYear());
+    if (!t.additionalRefIds().isEmpty()) {
+      writer.set(ColdpTerm.referenceID, String.join(",", t.additionalRefIds()));
+    }
+    if (t.wikidataQid() != null) writer.set(ColdpTerm.alternativeID, "wd:" + t.wikidataQid());
     writer.set(ColdpTerm.link, "https://species.wikimedia.org/wiki/" + id);
-    writer.set(ColdpTerm.remarks, remarks);
+    writer.set(ColdpTerm.remarks, t.remarks());
     writer.next();
     taxonCount++;
     taxonIds.add(id);
 
     // Vernacular names
-    for (var vn : vernaculars) {
+    for (var vn : t.vernaculars()) {
       vernWriter.set(ColdpTerm.taxonID, id);
       vernWriter.set(ColdpTerm.language, vn.language());
       vernWriter.set(ColdpTerm.name, vn.name());
@@ -305,7 +401,7 @@ public class Generator extends AbstractColdpGenerator {
     }
 
     // Synonyms from synonymy section
-    for (var syn : synonyms) {
+    for (var syn : t.synonyms()) {
       if (syn.name() == null || syn.name().isEmpty()) continue;
       String synId = id + "_syn_" + (++synSeq);
       boolean isBasionymEntry = "basionym".equals(syn.status());
@@ -334,19 +430,14 @@ public class Generator extends AbstractColdpGenerator {
       }
     }
 
-    // Distribution from {{nadi|...}} templates anywhere in the article
-    List<WtTemplate> nadiTemplates = new ArrayList<>();
-    findTemplates(article, "nadi", nadiTemplates);
-    for (WtTemplate nadi : nadiTemplates) {
-      for (String area : extractDistAreas(nadi)) {
-        distWriter.set(ColdpTerm.taxonID, id);
-        distWriter.set(ColdpTerm.area, area);
-        distWriter.next();
-      }
+    for (String area : t.areas()) {
+      distWriter.set(ColdpTerm.taxonID, id);
+      distWriter.set(ColdpTerm.area, area);
+      distWriter.next();
     }
 
     // References
-    for (String refId : refIds) {
+    for (String refId : t.refIds()) {
       if (writtenRefIds.add(refId)) {
         refWriter.set(ColdpTerm.ID, refId);
         refWriter.set(ColdpTerm.citation, refId.replace("ref:", "").replace("_", " "));
@@ -694,7 +785,12 @@ public class Generator extends AbstractColdpGenerator {
 
   // ─── XML streaming ────────────────────────────────────────────────────────
 
-  private void streamXml(File src, Consumer<WikiPage> handler) throws Exception {
+  @FunctionalInterface
+  private interface PageHandler {
+    void accept(WikiPage page) throws Exception;
+  }
+
+  private void streamXml(File src, PageHandler handler) throws Exception {
     var factory = XMLInputFactory.newInstance();
     try (InputStream in = new BZip2CompressorInputStream(new FileInputStream(src), true)) {
       XMLStreamReader xmlReader = factory.createXMLStreamReader(
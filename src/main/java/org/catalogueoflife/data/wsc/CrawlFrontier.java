@@ -0,0 +1,237 @@
+package org.catalogueoflife.data.wsc;
+
+import life.catalogue.common.io.UTF8IoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Persistent crawl frontier for the WSC API, which only allows a limited number of requests per day.
+ * It records every LSID we know about with its crawl status and the time it was last fetched,
+ * so an interrupted or quota-limited crawl resumes where it stopped on the next run.
+ *
+ * <p>Pending LSIDs are handed out by {@link Priority}: LSIDs from the update feed first, then
+ * higher taxa needed as parents, then the plain species id range. A self-imposed daily budget
+ * spreads a large crawl over several days, leaving the remaining LSIDs pending.
+ *
+ * <p>State lives next to the cached JSON files in two small text files:
+ * <ul>
+ *   <li>{@code frontier.tsv}: an append-only journal with one {@code lsid, status, priority, fetched}
+ *   line per state change. It is compacted to the latest line per LSID whenever it is opened.</li>
+ *   <li>{@code quota.tsv}: the date and number of API requests issued on that day.</li>
+ * </ul>
+ */
+class CrawlFrontier implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(CrawlFrontier.class);
+  private static final String JOURNAL_FN = "frontier.tsv";
+  private static final String QUOTA_FN = "quota.tsv";
+
+  enum Status {PENDING, DONE, NOT_FOUND, ERROR}
+
+  /**
+   * Crawl priority, highest first.
+   */
+  enum Priority {UPDATE, HIGHER, SPECIES}
+
+  static class Entry {
+    final String lsid;
+    final Status status;
+    final Priority priority;
+    final long fetched; // epoch millis, 0 if never fetched
+
+    Entry(String lsid, Status status, Priority priority, long fetched) {
+      this.lsid = lsid;
+      this.status = status;
+      this.priority = priority;
+      this.fetched = fetched;
+    }
+  }
+
+  private static final Comparator<Entry> ORDER = Comparator.<Entry, Priority>comparing(e -> e.priority)
+      .thenComparing(e -> e.lsid);
+
+  private final File dir;
+  private final int dailyQuota;
+  private final Map<String, Entry> entries = new HashMap<>();
+  private final TreeSet<Entry> pending = new TreeSet<>(ORDER);
+  private final Writer journal;
+  private LocalDate quotaDay;
+  private int requestsToday;
+  private boolean exhausted;
+
+  /**
+   * @param dir        directory holding the cached API responses
+   * @param dailyQuota maximum number of API requests per day, zero or negative for no limit
+   */
+  CrawlFrontier(File dir, int dailyQuota) throws IOException {
+    this.dir = dir;
+    this.dailyQuota = dailyQuota;
+    File jf = new File(dir, JOURNAL_FN);
+    if (jf.exists()) {
+      replay(jf);
+      compact(jf);
+    }
+    journal = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(jf, true), StandardCharsets.UTF_8));
+    readQuota();
+    LOG.info("Crawl frontier with {} known LSIDs, {} pending. {} API requests used today{}", entries.size(), pending.size(),
+        requestsToday, dailyQuota > 0 ? " of " + dailyQuota : "");
+  }
+
+  private void replay(File jf) throws IOException {
+    try (var br = UTF8IoUtils.readerFromFile(jf)) {
+      String line;
+      while ((line = br.readLine()) != null) {
+        String[] cols = line.split("\t");
+        if (cols.length < 4) continue; // truncated last line after a crash
+        try {
+          put(new Entry(cols[0], Status.valueOf(cols[1]), Priority.valueOf(cols[2]), Long.parseLong(cols[3])));
+        } catch (IllegalArgumentException e) {
+          LOG.warn("Ignore corrupt frontier line: {}", line);
+        }
+      }
+    }
+  }
+
+  private void compact(File jf) throws IOException {
+    File tmp = new File(dir, JOURNAL_FN + ".tmp");
+    try (var w = UTF8IoUtils.writerFromFile(tmp)) {
+      for (Entry e : entries.values()) {
+        write(w, e);
+      }
+    }
+    Files.move(tmp.toPath(), jf.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private void readQuota() throws IOException {
+    quotaDay = LocalDate.now();
+    requestsToday = 0;
+    File qf = new File(dir, QUOTA_FN);
+    if (qf.exists()) {
+      String[] cols = UTF8IoUtils.readString(qf).trim().split("\t");
+      if (cols.length == 2 && LocalDate.parse(cols[0]).equals(quotaDay)) {
+        requestsToday = Integer.parseInt(cols[1]);
+      }
+    }
+  }
+
+  private void writeQuota() throws IOException {
+    try (var w = UTF8IoUtils.writerFromFile(new File(dir, QUOTA_FN))) {
+      w.write(quotaDay + "\t" + requestsToday + "\n");
+    }
+  }
+
+  private static void write(Writer w, Entry e) throws IOException {
+    w.write(e.lsid + "\t" + e.status + "\t" + e.priority + "\t" + e.fetched + "\n");
+  }
+
+  private void put(Entry e) {
+    Entry prev = entries.put(e.lsid, e);
+    if (prev != null) {
+      pending.remove(prev);
+    }
+    if (e.status == Status.PENDING) {
+      pending.add(e);
+    }
+  }
+
+  private void update(Entry e) throws IOException {
+    put(e);
+    write(journal, e);
+  }
+
+  boolean isKnown(String lsid) {
+    return entries.containsKey(lsid);
+  }
+
+  /**
+   * Schedules an LSID for crawling. Already fetched LSIDs are only scheduled again if forced,
+   * pending ones are raised to the given priority if it is higher than their current one.
+   */
+  void enqueue(String lsid, Priority priority, boolean force) throws IOException {
+    Entry e = entries.get(lsid);
+    if (e == null) {
+      update(new Entry(lsid, Status.PENDING, priority, 0));
+    } else if (e.status == Status.PENDING) {
+      if (priority.compareTo(e.priority) < 0) {
+        update(new Entry(lsid, Status.PENDING, priority, e.fetched));
+      }
+    } else if (force) {
+      update(new Entry(lsid, Status.PENDING, priority, e.fetched));
+    }
+  }
+
+  /**
+   * Records an LSID whose JSON already exists in the cache but was fetched before the frontier existed.
+   */
+  void cached(String lsid, long fetched) throws IOException {
+    update(new Entry(lsid, Status.DONE, Priority.SPECIES, fetched));
+  }
+
+  /**
+   * @return the pending LSID with the highest priority or null if nothing is pending
+   */
+  String peek() {
+    return pending.isEmpty() ? null : pending.first().lsid;
+  }
+
+  /**
+   * Records the outcome of an API request for the given LSID.
+   */
+  void fetched(String lsid, Status status) throws IOException {
+    Entry e = entries.get(lsid);
+    Priority p = e == null ? Priority.SPECIES : e.priority;
+    update(new Entry(lsid, status, p, System.currentTimeMillis()));
+    request();
+  }
+
+  /**
+   * Counts an API request against the daily budget, e.g. for an update feed page,
+   * and persists the journal and the quota.
+   */
+  void request() throws IOException {
+    LocalDate today = LocalDate.now();
+    if (!today.equals(quotaDay)) {
+      quotaDay = today;
+      requestsToday = 0;
+    }
+    requestsToday++;
+    // persist after every request, a killed build must neither refetch cached LSIDs nor exceed the budget
+    journal.flush();
+    writeQuota();
+  }
+
+  /**
+   * @return true if the daily budget allows another API request
+   */
+  boolean hasBudget() {
+    return !exhausted && (dailyQuota <= 0 || !LocalDate.now().equals(quotaDay) || requestsToday < dailyQuota);
+  }
+
+  /**
+   * Marks the budget of this run as used up because the API refused further requests
+   * before our own daily budget was reached.
+   */
+  void exhausted() {
+    exhausted = true;
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  int pendingSize() {
+    return pending.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    journal.close();
+    writeQuota();
+  }
+}
@@ -31,6 +31,9 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -40,9 +43,10 @@ public class Generator extends AbstractColdpGenerator {
   private static final Pattern LSID_PATTERN = Pattern.compile("nmbe.ch:spider(sp|gen|fam):([0-9]+)");
   private static final String ERROR = "error: ";
   static final Pattern yearSuffix = Pattern.compile("(\\d+)[abcdefg]$");
+  private static final int PARSE_CHUNK_SIZE = 500;
   private final String apiKey;
   private final File json;
-  private final Set<String> higherLSIDs = new HashSet<>();
+  private CrawlFrontier frontier;
   private String rootId;
   private int synIdGen = 1;
 
@@ -59,23 +63,23 @@ public class Generator extends AbstractColdpGenerator {
 
   @Override
   protected void addData() throws Exception {
-    if (cfg.date != null) {
-      if (cfg.date.equalsIgnoreCase("skip")) {
-        LOG.info("Skip WSC updates");
-      } else {
-        LOG.info("Look for WSC updates since {}", cfg.date);
-        update();
-      }
+    if (cfg.date != null && cfg.date.equalsIgnoreCase("skip")) {
+      LOG.info("Skip WSC updates");
 
     } else {
-      int max = cfg.wscMaxKey;
-      LOG.info("Crawl all of WSC up to {}", max);
-      for (int id = 1; id <= max; id++) {
-        crawl(String.format("urn:lsid:nmbe.ch:spidersp:%06d", id), false);
-      }
-      LOG.info("Crawl {} higher taxa in WSC", higherLSIDs.size());
-      for (String lsid : higherLSIDs) {
-        crawl(lsid, false);
+      try (var frontier = new CrawlFrontier(json, cfg.wscDailyQuota)) {
+        this.frontier = frontier;
+        if (cfg.date != null) {
+          LOG.info("Look for WSC updates since {}", cfg.date);
+          update();
+        } else {
+          int max = cfg.wscMaxKey;
+          LOG.info("Crawl all of WSC up to {}", max);
+          for (int id = 1; id <= max; id++) {
+            schedule(String.format("urn:lsid:nmbe.ch:spidersp:%06d", id), CrawlFrontier.Priority.SPECIES, false);
+          }
+        }
+        crawlFrontier();
       }
     }
     LOG.info("Parse JSON files");
@@ -105,20 +109,80 @@ public class Generator extends AbstractColdpGenerator {
 
   private void update() throws Exception {
     URI uri = URI.create(API + "updates?date=" + cfg.date + "&apiKey=" + apiKey);
-    var upd = mapper.readValue(http.getStreamJSON(uri), Update.class);
-    crawl(upd);
-    while (upd.hasNext()) {
-      upd = mapper.readValue(http.getStreamJSON(upd.next()), Update.class);
-      crawl(upd);
+    while (uri != null && frontier.hasBudget()) {
+      Update upd;
+      try {
+        frontier.request();
+        upd = mapper.readValue(http.getStreamJSON(uri), Update.class);
+      } catch (HttpException e) {
+        if (e.status == HttpStatus.SC_FORBIDDEN) {
+          LOG.warn("Max daily API usage limit reached while reading the update feed");
+          frontier.exhausted();
+          return;
+        }
+        throw e;
+      }
+      LOG.info("Schedule {} updates", upd.updates.size());
+      for (String lsid : upd.updates) {
+        schedule(lsid, CrawlFrontier.Priority.UPDATE, true);
+      }
+      uri = upd.next();
+    }
+    LOG.info("All updates scheduled");
+  }
+
+  /**
+   * Adds an LSID to the crawl frontier. JSON files cached before the frontier existed are registered
+   * as done without a request, unless the LSID is forced to be refreshed.
+   */
+  private void schedule(String lsid, CrawlFrontier.Priority priority, boolean force) throws IOException {
+    if (!force && !frontier.isKnown(lsid)) {
+      File f = jsonFile(lsid);
+      if (f.exists()) {
+        frontier.cached(lsid, f.lastModified());
+        scheduleHigherTaxa(f);
+        return;
+      }
+    }
+    frontier.enqueue(lsid, priority, force);
+  }
+
+  /**
+   * Extracts the higher taxa of a crawled name to make sure we crawl them too.
+   */
+  private void scheduleHigherTaxa(File f) throws IOException {
+    var to = read(f);
+    if (to.isPresent()) {
+      Set<String> higher = new HashSet<>();
+      to.get().taxon.addHigherTaxa(higher);
+      for (String lsid : higher) {
+        if (lsid != null) {
+          schedule(lsid, CrawlFrontier.Priority.HIGHER, false);
+        }
+      }
     }
-    LOG.info("All updated");
   }
 
-  private void crawl(Update upd) throws IOException, InterruptedException {
-    LOG.info("Crawl {} updates", upd.updates.size());
-    for (String lsid : upd.updates) {
-      crawl(lsid, true);
+  /**
+   * Crawls pending LSIDs by priority until the frontier is empty or the daily API budget is used up.
+   * Running out of budget is not an error: the remaining LSIDs stay pending for the next run
+   * and the archive is built from what is cached so far.
+   */
+  private void crawlFrontier() throws IOException, InterruptedException {
+    LOG.info("Crawl {} pending LSIDs", frontier.pendingSize());
+    int crawled = 0;
+    String lsid;
+    while ((lsid = frontier.peek()) != null) {
+      if (!frontier.hasBudget()) {
+        LOG.warn("Daily WSC API budget used up. {} LSIDs stay pending for the next run, build archive from cached JSON", frontier.pendingSize());
+        return;
+      }
+      crawl(lsid);
+      if (++crawled % 1000 == 0) {
+        LOG.info("Crawled {} LSIDs, {} pending", crawled, frontier.pendingSize());
+      }
     }
+    LOG.info("Crawl complete with {} requests", crawled);
   }
 
   private void initWriters() throws Exception {
@@ -149,85 +213,139 @@ public class Generator extends AbstractColdpGenerator {
     return "https://wsc.nmbe.ch/lsid/" + lsid;
   }
 
+  /**
+   * Compact, already mapped form of a cached API response, produced by the parse workers.
+   * Ranks other than family and genus carry the species parts instead of a uninomial.
+   */
+  record Row(String lsid, String rank, String authorship, String uninomial,
+             String genus, String species, String subspecies,
+             String status, String nameStatus, String parentID, boolean family,
+             String refCitation, String refDoi, String refPage, String distribution) {
+
+    static Row of(Taxon t) {
+      String parent = null;
+      if (t.validTaxon != null) {
+        parent = t.validTaxon.getLSID();
+      } else if (t.genusObject != null) {
+        parent = t.genusObject.genLsid;
+      } else if (t.familyObject != null) {
+        parent = t.familyObject.famLsid;
+      }
+      boolean family = t.taxonRank.equalsIgnoreCase("family");
+      String uninomial = family ? t.family : t.taxonRank.equalsIgnoreCase("genus") ? t.genus : null;
+      var ref = t.referenceObject != null && !StringUtils.isBlank(t.referenceObject.reference) ? t.referenceObject : null;
+      return new Row(t.lsid, t.taxonRank, t.author, uninomial,
+          uninomial == null ? t.genus : null,
+          uninomial == null ? t.species : null,
+          uninomial == null ? t.subspecies : null,
+          mapStatus(t.status), t.status, parent, family,
+          ref == null ? null : ref.reference,
+          ref == null ? null : ref.doi,
+          ref == null ? null : ref.pageDescription,
+          StringUtils.isBlank(t.distribution) ? null : t.distribution
+      );
+    }
+  }
+
+  /**
+   * Reads all cached JSON files with a pool of worker threads, each mapping a chunk of files into {@link Row}s.
+   * Chunks are consumed in file name order by this thread which owns the writers,
+   * so the output is deterministic. At most two chunks per thread are in flight to bound memory.
+   */
   private void parse() throws Exception {
+    String[] files = json.list(new SuffixFileFilter(".json"));
+    Arrays.sort(files);
+    int threads = Runtime.getRuntime().availableProcessors();
+    LOG.info("Parse {} JSON files with {} threads", files.length, threads);
+    ExecutorService exec = Executors.newFixedThreadPool(threads);
     try (var dWriter = additionalWriter(ColdpTerm.Distribution, List.of(
         ColdpTerm.taxonID,
         ColdpTerm.gazetteer,
         ColdpTerm.area
     ))) {
       final IntSet refs = new IntOpenHashSet();
-      // simply loop over all files
-      for (String fn : json.list(new SuffixFileFilter(".json"))) {
-        try {
-          var to = read(new File(json, fn));
-          if (to.isPresent()) {
-            var tax = to.get();
-            writer.set(ColdpTerm.ID, tax.taxon.lsid);
-            writer.set(ColdpTerm.link, link(tax.taxon.lsid));
-            writer.set(ColdpTerm.rank, tax.taxon.taxonRank);
-            writer.set(ColdpTerm.authorship, tax.taxon.author);
-            if (tax.taxon.taxonRank.equalsIgnoreCase("family")) {
-              LOG.debug("{}: {} {}", tax.taxon.lsid, tax.taxon.family, tax.taxon.author);
-              writer.set(ColdpTerm.uninomial, tax.taxon.family);
-              writer.set(ColdpTerm.parentID, rootId);
-
-            } else if (tax.taxon.taxonRank.equalsIgnoreCase("genus")) {
-              LOG.debug("{}: {} {} - {}", tax.taxon.lsid, tax.taxon.genus, tax.taxon.author, tax.taxon.family);
-              writer.set(ColdpTerm.uninomial, tax.taxon.genus);
-
-            } else {
-              String subsp = StringUtils.isBlank(tax.taxon.subspecies) ? "" : " "+tax.taxon.subspecies;
-              LOG.debug("{}: {} {}{} {}", tax.taxon.lsid, tax.taxon.genus, tax.taxon.species, subsp, tax.taxon.author);
-              writer.set(ColdpTerm.genericName, tax.taxon.genus);
-              writer.set(ColdpTerm.specificEpithet, tax.taxon.species);
-              writer.set(ColdpTerm.infraspecificEpithet, tax.taxon.subspecies);
-            }
-
-            writer.set(ColdpTerm.status, mapStatus(tax.taxon.status));
-            writer.set(ColdpTerm.nameStatus, tax.taxon.status);
-            if (tax.taxon.validTaxon != null) {
-              writer.set(ColdpTerm.parentID, tax.taxon.validTaxon.getLSID());
-            } else {
-              if (tax.taxon.genusObject != null) {
-                writer.set(ColdpTerm.parentID, tax.taxon.genusObject.genLsid);
-              } else if (tax.taxon.familyObject != null) {
-                writer.set(ColdpTerm.parentID, tax.taxon.familyObject.famLsid);
-              }
-            }
+      Deque<Future<List<Row>>> inFlight = new ArrayDeque<>();
+      int next = 0;
+      int rows = 0;
+      while (next < files.length || !inFlight.isEmpty()) {
+        while (next < files.length && inFlight.size() < threads * 2) {
+          final int from = next;
+          final int to = Math.min(files.length, next + PARSE_CHUNK_SIZE);
+          inFlight.add(exec.submit(() -> readRows(files, from, to)));
+          next = to;
+        }
+        for (Row r : inFlight.poll().get()) {
+          write(r, refs, dWriter);
+          rows++;
+        }
+      }
+      LOG.info("Parsed {} name usages from {} JSON files", rows, files.length);
+    } finally {
+      exec.shutdownNow();
+    }
+  }
 
-            if (tax.taxon.referenceObject != null && !StringUtils.isBlank(tax.taxon.referenceObject.reference)) {
-              // seen reference before?
-              int rid = tax.taxon.referenceObject.reference.hashCode();
-              if (!refs.contains(rid)) {
-                tax.taxon.referenceObject.write(rid, refWriter);
-                refs.add(rid);
-              }
-              writer.set(ColdpTerm.nameReferenceID, rid);
-              writer.set(ColdpTerm.publishedInPage, tax.taxon.referenceObject.pageDescription);
-            }
-            writer.next();
+  private List<Row> readRows(String[] files, int from, int to) throws IOException {
+    List<Row> rows = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      try {
+        var tax = read(new File(json, files[i]));
+        if (tax.isPresent()) {
+          rows.add(Row.of(tax.get().taxon));
+        }
+      } catch (RuntimeException e) {
+        LOG.error("Error parsing file {}", files[i]);
+        throw e;
+      }
+    }
+    return rows;
+  }
 
-            // scrape alternativ usages in case of valid names
-            if (!tax.isSynonym()) {
-              //scrapeSynonyms(tax.taxon.lsid);
-            }
+  private void write(Row r, IntSet refs, TermWriter dWriter) throws IOException {
+    LOG.debug("{}: {} {} {} {} {}", r.lsid, r.uninomial, r.genus, r.species, r.subspecies, r.authorship);
+    writer.set(ColdpTerm.ID, r.lsid);
+    writer.set(ColdpTerm.link, link(r.lsid));
+    writer.set(ColdpTerm.rank, r.rank);
+    writer.set(ColdpTerm.authorship, r.authorship);
+    if (r.uninomial != null) {
+      writer.set(ColdpTerm.uninomial, r.uninomial);
+    } else {
+      writer.set(ColdpTerm.genericName, r.genus);
+      writer.set(ColdpTerm.specificEpithet, r.species);
+      writer.set(ColdpTerm.infraspecificEpithet, r.subspecies);
+    }
+    writer.set(ColdpTerm.status, r.status);
+    writer.set(ColdpTerm.nameStatus, r.nameStatus);
+    if (r.parentID != null) {
+      writer.set(ColdpTerm.parentID, r.parentID);
+    } else if (r.family) {
+      writer.set(ColdpTerm.parentID, rootId);
+    }
 
-            if (!StringUtils.isBlank(tax.taxon.distribution)) {
-              dWriter.set(ColdpTerm.taxonID, tax.taxon.lsid);
-              dWriter.set(ColdpTerm.area, tax.taxon.distribution);
-              dWriter.set(ColdpTerm.gazetteer, Gazetteer.TEXT);
-              dWriter.next();
-            }
-          }
-        } catch (RuntimeException e) {
-          LOG.error("Error parsing file {}", fn);
-          throw e;
-        }
+    if (r.refCitation != null) {
+      // seen reference before?
+      int rid = r.refCitation.hashCode();
+      if (!refs.contains(rid)) {
+        refWriter.set(ColdpTerm.citation, r.refCitation);
+        refWriter.set(ColdpTerm.doi, r.refDoi);
+        refWriter.set(ColdpTerm.ID, rid);
+        refWriter.next();
+        refs.add(rid);
       }
+      writer.set(ColdpTerm.nameReferenceID, rid);
+      writer.set(ColdpTerm.publishedInPage, r.refPage);
+    }
+    writer.next();
+
+    if (r.distribution != null) {
+      dWriter.set(ColdpTerm.taxonID, r.lsid);
+      dWriter.set(ColdpTerm.area, r.distribution);
+      dWriter.set(ColdpTerm.gazetteer, Gazetteer.TEXT);
+      dWriter.next();
     }
   }
 
-  private String mapStatus(String status) {
+  private static String mapStatus(String status) {
     if (status == null) return null;
     return switch (status.toUpperCase().trim()) {
       case "NOMEN_DUBIUM", "NOMEN_NUDUM" -> "bare name";
@@ -359,61 +477,63 @@ public class Generator extends AbstractColdpGenerator {
     super.addMetadata();
   }
 
-  private void crawl(String lsid, boolean forceUpdate) throws IOException, InterruptedException {
-    crawl(lsid, forceUpdate, 0);
-  }
-  private void crawl(String lsid, boolean forceUpdate, int retry) throws IOException, InterruptedException {
-    // keep local files so we can reuse them - the API limits number of daily requests
+  private File jsonFile(String lsid) {
     var m = LSID_PATTERN.matcher(lsid);
     if (!m.find()) {
       throw new IllegalArgumentException("Unexpected LSID " + lsid);
     }
     String rank = m.group(1);
     int id = Integer.parseInt(m.group(2));
-    File f = new File(json, String.format("%s%06d.json", rank, id));
-    // only load from API if it's not yet existing
-    boolean failed = false;
-    if (f.exists() && !forceUpdate) {
-      LOG.debug("Reuse {}", f.getName());
+    return new File(json, String.format("%s%06d.json", rank, id));
+  }
 
-    } else {
-      String uri = API + "lsid/" + lsid;
+  private void crawl(String lsid) throws IOException, InterruptedException {
+    // keep local files so we can reuse them - the API limits number of daily requests
+    File f = jsonFile(lsid);
+    String uri = API + "lsid/" + lsid;
+    for (int retry = 0; ; retry++) {
       try {
         http.downloadJSON(URI.create(uri + "?apiKey=" + apiKey), new HashMap<>(), f);
         LOG.debug("Crawled {}", lsid);
+        frontier.fetched(lsid, CrawlFrontier.Status.DONE);
+        scheduleHigherTaxa(f);
+        return;
 
       } catch (HttpException e) {
-        failed = true;
         FileUtils.deleteQuietly(f);
-        // WSC uses 403 to limit number of daily requests - abort in that case, we cant get any further today
+        // WSC uses 403 to limit number of daily requests - we cant get any further today
         if (e.status == HttpStatus.SC_FORBIDDEN) {
-          LOG.error("Max daily limit reached. Good bye!", e);
-          throw new IllegalStateException("Max daily API usage limit reached");
+          LOG.warn("Max daily API usage limit reached at {}", lsid);
+          frontier.exhausted();
+          return;
 
         } else if (e.status == HttpStatus.SC_TOO_MANY_REQUESTS) {
           LOG.warn("Too many requests. Wait a little bit before we continue", e);
-          if (retry++ > 10) {
-            throw new IllegalStateException("Too many retries, abort entire crawl!");
+          frontier.request();
+          if (!frontier.hasBudget()) {
+            LOG.warn("Daily WSC API budget used up while retrying {}, it stays pending", lsid);
+            return;
+          }
+          if (retry >= 10) {
+            LOG.warn("Too many retries, stop crawling for today");
+            frontier.exhausted();
+            return;
           }
           TimeUnit.SECONDS.sleep(10);
-          crawl(lsid, forceUpdate, retry);
 
         } else if (e.status == HttpStatus.SC_NOT_FOUND) {
           LOG.info("Not found. Skip", e);
+          frontier.fetched(lsid, CrawlFrontier.Status.NOT_FOUND);
+          return;
 
         } else {
           LOG.warn("Crawl error {}: {}", lsid, e.status);
           FileUtils.write(f, ERROR + String.format("%d - %s - %s", e.status, e.uri, e.getMessage()), StandardCharsets.UTF_8);
+          frontier.fetched(lsid, CrawlFrontier.Status.ERROR);
+          return;
         }
       }
     }
-    // extract higher taxa to make sure we crawl them at the end
-    if (!failed) {
-      var to = read(f);
-      to.ifPresent(nu -> {
-        nu.taxon.addHigherTaxa(higherLSIDs);
-      });
-    }
   }
 
   static class NameUsage {
@@ -476,13 +596,6 @@ public class Generator extends AbstractColdpGenerator {
     public String reference;
     public String doi;
     public String pageDescription;
-
-    void write(int rid, TermWriter w) throws IOException {
-      w.set(ColdpTerm.citation, reference);
-      w.set(ColdpTerm.doi, doi);
-      w.set(ColdpTerm.ID, rid);
-      w.next();
-    }
   }
 
   static class Update {
@@ -0,0 +1,50 @@
+package org.catalogueoflife.data.antcat;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+public class PagedLoaderTest {
+  private final ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  private void page(String endpoint, int startsAt, String json) throws Exception {
+    File dir = new File(tmp.getRoot(), endpoint);
+    dir.mkdirs();
+    Files.writeString(new File(dir, startsAt + ".json").toPath(), json);
+  }
+
+  /** Replays stored pages offline, following the starts_at paging. */
+  @Test
+  public void replay() throws Exception {
+    page("names", 0, "[{\"genus_name\":{\"id\":1,\"name\":\"Atta\"}},{\"species_name\":{\"id\":7,\"name\":\"Atta cephalotes\",\"extra\":[1,{\"a\":2}]}}]");
+    page("names", 8, "[{\"genus_name\":{\"id\":12,\"name\":\"Acromyrmex\"}}]");
+    page("names", 13, "[]");
+
+    var loader = new PagedLoader(mapper, null, null, "https://antcat.org/v1/", tmp.getRoot(), true);
+    var names = new Int2ObjectOpenHashMap<Generator.Name>();
+    int cnt = loader.load(Generator.Name.class, "names", names, t -> t.replaceAll("_name$", ""));
+
+    assertEquals(3, cnt);
+    assertEquals("genus", names.get(1).type);
+    assertEquals("species", names.get(7).type);
+    assertEquals("genus", names.get(12).type);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void missingPageOffline() throws Exception {
+    page("taxa", 0, "[{\"genus\":{\"id\":5}}]");
+    var loader = new PagedLoader(mapper, null, null, "https://antcat.org/v1/", tmp.getRoot(), true);
+    loader.load(Generator.Taxon.class, "taxa", new Int2ObjectOpenHashMap<>(), t -> t);
+  }
+}
@@ -0,0 +1,75 @@
+package org.catalogueoflife.data.colac;
+
+import org.catalogueoflife.data.GeneratorConfig;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AnnualBatchTest {
+
+  @Test
+  public void testParseYears() {
+    assertEquals(List.of(2015), AnnualBatch.parseYears("2015"));
+    assertEquals(List.of(2005, 2010), AnnualBatch.parseYears("2005 2010"));
+    assertEquals(List.of(2005, 2010), AnnualBatch.parseYears(" 2005, 2010 "));
+    assertEquals(List.of(2012, 2013, 2014), AnnualBatch.parseYears("2012-2014"));
+    // duplicates removed, order kept
+    assertEquals(List.of(2019, 2012, 2013), AnnualBatch.parseYears("2019,2012-2013,2019"));
+    assertTrue(AnnualBatch.parseYears("").isEmpty());
+    assertTrue(AnnualBatch.parseYears(null).isEmpty());
+  }
+
+  /** 2001 was never released and is skipped in ranges. */
+  @Test
+  public void testParseYearsSkips2001() {
+    List<Integer> years = AnnualBatch.parseYears("2000-2019");
+    assertEquals(19, years.size());
+    assertEquals(2000, (int) years.get(0));
+    assertEquals(2002, (int) years.get(1));
+    assertEquals(2019, (int) years.get(18));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseYearsInvalidRange() {
+    AnnualBatch.parseYears("2019-2012");
+  }
+
+  @Test
+  public void testParallelism() {
+    // 12 connections allow 3 years, 16 GB heap 5 years of 3 GB
+    assertEquals(3, AnnualBatch.parallelism(19, 12, 16 * 1024, 3072));
+    // heap is the limit
+    assertEquals(2, AnnualBatch.parallelism(19, 40, 8 * 1024, 4096));
+    // never more than the years to build
+    assertEquals(2, AnnualBatch.parallelism(2, 40, 64 * 1024, 1024));
+    // always at least one
+    assertEquals(1, AnnualBatch.parallelism(19, 2, 1024, 4096));
+  }
+
+  @Test
+  public void yearConfig() {
+    GeneratorConfig cfg = new GeneratorConfig();
+    cfg.source = "colac";
+    cfg.years = "2005,2010";
+    cfg.repository = new File("/tmp/colac-repo");
+    cfg.noDownload = true;
+    cfg.date = "2024-01-01";
+    cfg.dbHost = "db.example.org";
+
+    GeneratorConfig yc = new AnnualBatch(cfg).yearConfig(2010);
+    assertEquals("colac", yc.source);
+    assertEquals(new File("/tmp/colac-repo/2010"), yc.repository);
+    assertEquals(new File(cfg.tmpSourceDir, "2010"), yc.tmpSourceDir);
+    assertEquals(2010, (int) yc.year);
+    assertNull(yc.years);
+    assertTrue(yc.noDownload);
+    assertEquals("2024-01-01", yc.date);
+    assertEquals("db.example.org", yc.dbHost);
+    // the batch config is untouched
+    assertEquals("2005,2010", cfg.years);
+    assertNull(cfg.year);
+  }
+}
@@ -0,0 +1,333 @@
+package org.catalogueoflife.data.colac;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * In-memory H2 stand-in for a restored {@code col{year}ac} MariaDB database, filled with synthetic
+ * data in the early (2000–2004), old (2005–2011) or new (2012–2019) schema.
+ * Only the tables and columns read by the schema readers exist.
+ *
+ * The data is generated from a number of accepted species:
+ * 2 kingdoms, a family per 50 and a genus per 10 species,
+ * a synonym for every 2nd, a vernacular name for every 2nd and a distribution for every species,
+ * a reference per 5 species and 5 source databases.
+ */
+class EmbeddedColacDb {
+  static final int SOURCES = 5;
+  private static final String[] KINGDOMS = {"Animalia", "Plantae"};
+
+  /**
+   * Counts of the generated records, i.e. the expected ColDP rows.
+   */
+  record Counts(int species, int families, int genera, int synonyms, int vernaculars, int distributions, int references) {
+    static Counts of(int species) {
+      return new Counts(species, (species + 49) / 50, (species + 9) / 10, species / 2, species / 2, species, (species + 4) / 5);
+    }
+  }
+
+  /**
+   * The early CD-ROM databases keep their upper case table names, which the reader looks up case sensitively.
+   * YEAR is a reserved word in H2 but used as an unquoted column name by the readers.
+   */
+  static String url(int year) {
+    String caseMode = year <= 2004 ? "" : ";DATABASE_TO_LOWER=TRUE";
+    return "jdbc:h2:mem:col" + year + "ac;MODE=MySQL;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1" + caseMode;
+  }
+
+  static Connection connect(int year) throws SQLException {
+    return DriverManager.getConnection(url(year), "sa", "");
+  }
+
+  /**
+   * Creates the schema of the given year and fills it with synthetic data.
+   */
+  static Counts create(int year, int species) throws SQLException {
+    Counts cnt = Counts.of(species);
+    try (Connection c = connect(year)) {
+      if (year <= 2004) {
+        createEarly(c, cnt);
+      } else if (year <= 2011) {
+        createOld(c, cnt);
+      } else {
+        createNew(c, cnt);
+      }
+    }
+    return cnt;
+  }
+
+  static void drop(int year) throws SQLException {
+    try (Connection c = connect(year); Statement st = c.createStatement()) {
+      st.execute("DROP ALL OBJECTS");
+    }
+  }
+
+  private static String kingdom(int family) {
+    return KINGDOMS[family % KINGDOMS.length];
+  }
+
+  private static int family(int genus) {
+    return genus / 5;
+  }
+
+  private static int genus(int species) {
+    return species / 10;
+  }
+
+  private static void execute(Connection c, String... sql) throws SQLException {
+    try (Statement st = c.createStatement()) {
+      for (String s : sql) {
+        st.execute(s);
+      }
+    }
+  }
+
+  // ── 2000–2004: flat HIERARCHY + atomized SCINAMES ─────────────────────────
+
+  private static void createEarly(Connection c, Counts cnt) throws SQLException {
+    execute(c,
+        "CREATE TABLE `CD-Date` (`Date` VARCHAR(20))",
+        "INSERT INTO `CD-Date` VALUES ('2004-03-01')",
+        "CREATE TABLE HIERARCHY (HierarchyCode VARCHAR(20), Kingdom VARCHAR(50), Phylum VARCHAR(50), " +
+            "Class VARCHAR(50), `Order` VARCHAR(50), Family VARCHAR(50))",
+        "CREATE TABLE SCINAMES (NameCode VARCHAR(20), HierarchyCode VARCHAR(20), Family VARCHAR(50), " +
+            "Genus VARCHAR(50), Species VARCHAR(50), InfraSpecies VARCHAR(50), InfraSpMarker VARCHAR(10), " +
+            "ScientificNameAuthor VARCHAR(100), Sp2kStatus VARCHAR(50), AuthorRefNumber VARCHAR(20), " +
+            "DatabaseName VARCHAR(50), Comment VARCHAR(200), AcceptedNameCode VARCHAR(20))",
+        "CREATE TABLE GSDATABASES (DatabaseName VARCHAR(50), DbFullName VARCHAR(200), Abbr VARCHAR(50), " +
+            "Institute VARCHAR(200), Contact VARCHAR(200), Version VARCHAR(20), ReleaseDate VARCHAR(20))",
+        "CREATE TABLE `REFERENCES` (RefNumber VARCHAR(20), ScientificNameAuthor VARCHAR(200), Year VARCHAR(10), " +
+            "Title VARCHAR(200), Source VARCHAR(200))",
+        "CREATE TABLE COMNAMES (NameCode VARCHAR(20), CommonName VARCHAR(100), Language VARCHAR(50), " +
+            "Country VARCHAR(50), RefNumber VARCHAR(20))",
+        "CREATE TABLE DISTRIBUTION (NameCode VARCHAR(20), Distribution VARCHAR(100))"
+    );
+    try (var ins = new Inserter(c, "HIERARCHY", 6)) {
+      for (int f = 0; f < cnt.families(); f++) {
+        ins.row("H" + f, kingdom(f), "Phylum" + f % 3, "Class" + f % 7, "Order" + f % 11, "Family" + f);
+      }
+    }
+    try (var ins = new Inserter(c, "GSDATABASES", 7)) {
+      for (int d = 0; d < SOURCES; d++) {
+        ins.row("GSD" + d, "Global Species Database " + d, "GSD" + d, "Institute " + d,
+            "Smith J., Doe A.", "1." + d, "2003-0" + (d + 1) + "-01");
+      }
+    }
+    try (var ins = new Inserter(c, "`REFERENCES`", 5)) {
+      for (int r = 0; r < cnt.references(); r++) {
+        ins.row("R" + r, "Author " + r, "19" + (50 + r % 50), "Title " + r, "Journal " + r % 20);
+      }
+    }
+    try (var sci = new Inserter(c, "SCINAMES", 13);
+         var com = new Inserter(c, "COMNAMES", 5);
+         var dist = new Inserter(c, "DISTRIBUTION", 2)) {
+      for (int s = 0; s < cnt.species(); s++) {
+        int g = genus(s), f = family(g);
+        sci.row("SP" + s, "H" + f, "Family" + f, "Genus" + g, "species" + s, null, null,
+            "Linnaeus, 1758", "accepted name", "R" + s % cnt.references(), "GSD" + s % SOURCES, null, null);
+        if (s % 2 == 0) {
+          sci.row("SY" + s, "H" + f, "Family" + f, "Genus" + g, "synonymus" + s, null, null,
+              "Smith, 1900", "synonym", null, "GSD" + s % SOURCES, null, "SP" + s);
+          com.row("SP" + s, "Common " + s, "English", "UK", "R" + s % cnt.references());
+        }
+        dist.row("SP" + s, "Area " + s % 30);
+      }
+    }
+  }
+
+  // ── 2005–2011: taxa tree + scientific_names ───────────────────────────────
+
+  private static void createOld(Connection c, Counts cnt) throws SQLException {
+    execute(c,
+        "CREATE TABLE sp2000_statuses (record_id INT, sp2000_status VARCHAR(50))",
+        "INSERT INTO sp2000_statuses VALUES (1, 'accepted name'), (2, 'ambiguous synonym'), " +
+            "(3, 'misapplied name'), (4, 'provisionally accepted name'), (5, 'synonym')",
+        "CREATE TABLE families (record_id INT, kingdom VARCHAR(50))",
+        "CREATE TABLE taxa (record_id INT, parent_id INT, name VARCHAR(100), taxon VARCHAR(20), " +
+            "name_code VARCHAR(20), is_accepted_name INT, database_id INT)",
+        "CREATE TABLE scientific_names (record_id INT, name_code VARCHAR(20), genus VARCHAR(50), " +
+            "species VARCHAR(50), infraspecies VARCHAR(50), infraspecies_marker VARCHAR(10), author VARCHAR(100), " +
+            "accepted_name_code VARCHAR(20), sp2000_status_id INT, database_id INT, comment VARCHAR(200), family_id INT)",
+        "CREATE TABLE scientific_name_references (name_code VARCHAR(20), reference_type VARCHAR(20), reference_id INT)",
+        "CREATE TABLE `databases` (record_id INT, database_full_name VARCHAR(200), database_name VARCHAR(50), " +
+            "version VARCHAR(20), release_date VARCHAR(20), authors_editors VARCHAR(200), organization VARCHAR(200))",
+        "CREATE TABLE `references` (record_id INT, author VARCHAR(200), year VARCHAR(10), title VARCHAR(200), " +
+            "source VARCHAR(200))",
+        "CREATE TABLE common_names (name_code VARCHAR(20), common_name VARCHAR(100), language VARCHAR(50), " +
+            "country VARCHAR(50))",
+        "CREATE TABLE distribution (name_code VARCHAR(20), distribution VARCHAR(100))"
+    );
+    try (var ins = new Inserter(c, "`databases`", 7)) {
+      for (int d = 1; d <= SOURCES; d++) {
+        ins.row(d, "Global Species Database " + d, "GSD" + d, "1." + d, "2007-0" + d + "-01",
+            "Smith J., Doe A.", "Institute " + d);
+      }
+    }
+    try (var ins = new Inserter(c, "`references`", 5)) {
+      for (int r = 1; r <= cnt.references(); r++) {
+        ins.row(r, "Author " + r, "19" + (50 + r % 50), "Title " + r, "Journal " + r % 20);
+      }
+    }
+    // ids: kingdoms 1-2, families from 10, genera and species above
+    final int famBase = 10, genBase = famBase + cnt.families(), spBase = genBase + cnt.genera();
+    try (var taxa = new Inserter(c, "taxa", 7);
+         var fam = new Inserter(c, "families", 2)) {
+      for (int k = 0; k < KINGDOMS.length; k++) {
+        taxa.row(k + 1, 0, KINGDOMS[k], "Kingdom", null, 1, null);
+      }
+      for (int f = 0; f < cnt.families(); f++) {
+        taxa.row(famBase + f, f % KINGDOMS.length + 1, "Family" + f, "Family", null, 1, null);
+        fam.row(famBase + f, kingdom(f));
+      }
+      for (int g = 0; g < cnt.genera(); g++) {
+        taxa.row(genBase + g, famBase + family(g), "Genus" + g, "Genus", null, 1, null);
+      }
+      for (int s = 0; s < cnt.species(); s++) {
+        taxa.row(spBase + s, genBase + genus(s), "Genus" + genus(s) + " species" + s, "Species",
+            "SP" + s, 1, s % SOURCES + 1);
+      }
+    }
+    try (var sci = new Inserter(c, "scientific_names", 12);
+         var refs = new Inserter(c, "scientific_name_references", 3);
+         var com = new Inserter(c, "common_names", 4);
+         var dist = new Inserter(c, "distribution", 2)) {
+      int rid = 1;
+      for (int s = 0; s < cnt.species(); s++) {
+        int g = genus(s), f = family(g);
+        sci.row(rid++, "SP" + s, "Genus" + g, "species" + s, null, null, "Linnaeus, 1758", null,
+            s % 20 == 0 ? 4 : 1, s % SOURCES + 1, null, famBase + f);
+        refs.row("SP" + s, "NomRef", s % cnt.references() + 1);
+        refs.row("SP" + s, "TaxAccRef", (s + 1) % cnt.references() + 1);
+        if (s % 2 == 0) {
+          sci.row(rid++, "SY" + s, "Genus" + g, "synonymus" + s, null, null, "Smith, 1900", "SP" + s,
+              5, s % SOURCES + 1, null, famBase + f);
+          com.row("SP" + s, "Common " + s, "English", "UK");
+          refs.row("SP" + s, "ComNameRef", s % cnt.references() + 1);
+        }
+        dist.row("SP" + s, "Area " + s % 30);
+      }
+    }
+  }
+
+  // ── 2012–2019: Species 2000 format with _taxon_tree / _search_scientific ──
+
+  private static void createNew(Connection c, Counts cnt) throws SQLException {
+    execute(c,
+        "CREATE TABLE scientific_name_status (id INT, name_status VARCHAR(50))",
+        "INSERT INTO scientific_name_status VALUES (1, 'accepted name'), (2, 'ambiguous synonym'), " +
+            "(3, 'misapplied name'), (4, 'provisionally accepted name'), (5, 'synonym')",
+        "CREATE TABLE distribution_status (id INT, status VARCHAR(50))",
+        "INSERT INTO distribution_status VALUES (1, 'native'), (2, 'alien')",
+        "CREATE TABLE region_standard (id INT, standard VARCHAR(100))",
+        "INSERT INTO region_standard VALUES (1, 'TDWG World Geographical Scheme')",
+        "CREATE TABLE region (id INT, name VARCHAR(100), region_standard_id INT)",
+        "CREATE TABLE _taxon_tree (taxon_id INT, parent_id INT, name VARCHAR(100), `rank` VARCHAR(20))",
+        "CREATE TABLE taxon_detail (taxon_id INT, scientific_name_status_id INT)",
+        "CREATE TABLE reference_to_taxon (taxon_id INT, reference_id INT, reference_type_id INT)",
+        "CREATE TABLE reference_to_synonym (synonym_id INT, reference_id INT, reference_type_id INT)",
+        "CREATE TABLE reference_to_common_name (common_name_id INT, reference_id INT)",
+        "CREATE TABLE source_database (id INT, name VARCHAR(200), abbreviated_name VARCHAR(50), " +
+            "authors_and_editors VARCHAR(200), organisation VARCHAR(200), version VARCHAR(20), release_date VARCHAR(20))",
+        "CREATE TABLE `reference` (id INT, authors VARCHAR(200), year VARCHAR(10), title VARCHAR(200), text VARCHAR(500))",
+        "CREATE TABLE _search_scientific (id INT, genus VARCHAR(50), species VARCHAR(50), infraspecies VARCHAR(50), " +
+            "infraspecific_marker VARCHAR(10), author VARCHAR(100), status INT, accepted_species_id INT, " +
+            "source_database_id INT, kingdom VARCHAR(50))",
+        "CREATE TABLE common_name_element (id INT, name VARCHAR(100))",
+        "CREATE TABLE common_name (id INT, taxon_id INT, common_name_element_id INT, language_iso VARCHAR(3), " +
+            "country_iso VARCHAR(3))",
+        "CREATE TABLE distribution (taxon_detail_id INT, region_id INT, distribution_status_id INT)"
+    );
+    try (var ins = new Inserter(c, "region", 3)) {
+      for (int r = 1; r <= 30; r++) {
+        ins.row(r, "Region " + r, 1);
+      }
+    }
+    try (var ins = new Inserter(c, "source_database", 7)) {
+      for (int d = 1; d <= SOURCES; d++) {
+        ins.row(d, "Global Species Database " + d, "GSD" + d, "Smith J., Doe A.", "Institute " + d,
+            "1." + d, "2014-0" + d + "-01");
+      }
+    }
+    try (var ins = new Inserter(c, "`reference`", 5)) {
+      for (int r = 1; r <= cnt.references(); r++) {
+        ins.row(r, "Author " + r, "19" + (50 + r % 50), "Title " + r, "Author " + r + ". Title " + r + ".");
+      }
+    }
+    final int famBase = 10, genBase = famBase + cnt.families(), spBase = genBase + cnt.genera();
+    final int synBase = spBase + cnt.species();
+    try (var tree = new Inserter(c, "_taxon_tree", 4)) {
+      for (int k = 0; k < KINGDOMS.length; k++) {
+        tree.row(k + 1, 0, KINGDOMS[k], "kingdom");
+      }
+      for (int f = 0; f < cnt.families(); f++) {
+        tree.row(famBase + f, f % KINGDOMS.length + 1, "Family" + f, "family");
+      }
+      for (int g = 0; g < cnt.genera(); g++) {
+        tree.row(genBase + g, famBase + family(g), "Genus" + g, "genus");
+      }
+      for (int s = 0; s < cnt.species(); s++) {
+        tree.row(spBase + s, genBase + genus(s), "Genus" + genus(s) + " species" + s, "species");
+      }
+    }
+    try (var search = new Inserter(c, "_search_scientific", 10);
+         var detail = new Inserter(c, "taxon_detail", 2);
+         var refTaxon = new Inserter(c, "reference_to_taxon", 3);
+         var refSyn = new Inserter(c, "reference_to_synonym", 3);
+         var cne = new Inserter(c, "common_name_element", 2);
+         var cn = new Inserter(c, "common_name", 5);
+         var refCn = new Inserter(c, "reference_to_common_name", 2);
+         var dist = new Inserter(c, "distribution", 3)) {
+      for (int s = 0; s < cnt.species(); s++) {
+        int g = genus(s), f = family(g), id = spBase + s;
+        search.row(id, "Genus" + g, "species" + s, null, null, "Linnaeus, 1758", 1, 0, s % SOURCES + 1, kingdom(f));
+        detail.row(id, s % 20 == 0 ? 4 : 1);
+        refTaxon.row(id, s % cnt.references() + 1, 1);
+        refTaxon.row(id, (s + 1) % cnt.references() + 1, 2);
+        if (s % 2 == 0) {
+          int syn = synBase + s;
+          search.row(syn, "Genus" + g, "synonymus" + s, null, null, "Smith, 1900", 5, id, s % SOURCES + 1, kingdom(f));
+          refSyn.row(syn, s % cnt.references() + 1, 1);
+          cne.row(s, "Common " + s);
+          cn.row(s, id, s, "eng", "GBR");
+          refCn.row(s, s % cnt.references() + 1);
+        }
+        dist.row(id, s % 30 + 1, s % 2 + 1);
+      }
+    }
+  }
+
+  /**
+   * Batched inserts into a single table.
+   */
+  private static class Inserter implements AutoCloseable {
+    private static final int BATCH_SIZE = 1000;
+    private final PreparedStatement ps;
+    private int batch;
+
+    Inserter(Connection c, String table, int columns) throws SQLException {
+      ps = c.prepareStatement("INSERT INTO " + table + " VALUES (" + "?,".repeat(columns - 1) + "?)");
+    }
+
+    void row(Object... values) throws SQLException {
+      for (int i = 0; i < values.length; i++) {
+        ps.setObject(i + 1, values[i]);
+      }
+      ps.addBatch();
+      if (++batch == BATCH_SIZE) {
+        ps.executeBatch();
+        batch = 0;
+      }
+    }
+
+    @Override
+    public void close() throws SQLException {
+      if (batch > 0) {
+        ps.executeBatch();
+      }
+      ps.close();
+    }
+  }
+}
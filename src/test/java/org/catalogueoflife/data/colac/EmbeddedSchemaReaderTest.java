@@ -0,0 +1,128 @@
+package org.catalogueoflife.data.colac;
+
+import org.catalogueoflife.data.GeneratorConfig;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the colac generator end to end for each schema against a synthetic in-memory database
+ * instead of MariaDB, see {@link EmbeddedColacDb}, and logs the throughput in written rows per second.
+ *
+ * The default size keeps the test fast. To measure changes to fetch sizes, queries or parallelism
+ * use a larger database, e.g. {@code mvn test -Dtest=EmbeddedSchemaReaderTest -Dcolac.species=500000}.
+ */
+public class EmbeddedSchemaReaderTest {
+  private static final Logger LOG = LoggerFactory.getLogger(EmbeddedSchemaReaderTest.class);
+  private static final int SPECIES = Integer.getInteger("colac.species", 2000);
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  /**
+   * Reads from the embedded database instead of MariaDB.
+   */
+  static class EmbeddedGenerator extends Generator {
+    private final int year;
+
+    EmbeddedGenerator(GeneratorConfig cfg) throws IOException {
+      super(cfg);
+      this.year = cfg.year;
+    }
+
+    @Override
+    Connection connect() throws SQLException {
+      return EmbeddedColacDb.connect(year);
+    }
+  }
+
+  @Test
+  public void earlySchema() throws Exception {
+    var cnt = EmbeddedColacDb.create(2004, SPECIES);
+    File dir = run(2004);
+    // the early schema synthesizes the higher classification from the HIERARCHY rows
+    assertTrue(rows(dir, "NameUsage") > cnt.species() + cnt.synonyms() + cnt.genera());
+    assertEquals(cnt.references(), rows(dir, "Reference"));
+    assertEquals(cnt.vernaculars(), rows(dir, "VernacularName"));
+    assertEquals(cnt.distributions(), rows(dir, "Distribution"));
+  }
+
+  @Test
+  public void oldSchema() throws Exception {
+    var cnt = EmbeddedColacDb.create(2008, SPECIES);
+    File dir = run(2008);
+    assertEquals(2 + cnt.families() + cnt.genera() + cnt.species() + cnt.synonyms(), rows(dir, "NameUsage"));
+    assertEquals(cnt.references(), rows(dir, "Reference"));
+    assertEquals(cnt.vernaculars(), rows(dir, "VernacularName"));
+    assertEquals(cnt.distributions(), rows(dir, "Distribution"));
+  }
+
+  @Test
+  public void newSchema() throws Exception {
+    var cnt = EmbeddedColacDb.create(2015, SPECIES);
+    File dir = run(2015);
+    assertEquals(2 + cnt.families() + cnt.genera() + cnt.species() + cnt.synonyms(), rows(dir, "NameUsage"));
+    assertEquals(cnt.references(), rows(dir, "Reference"));
+    assertEquals(cnt.vernaculars(), rows(dir, "VernacularName"));
+    assertEquals(cnt.distributions(), rows(dir, "Distribution"));
+  }
+
+  /**
+   * Converts the embedded database of the year and drops it again.
+   * @return the archive directory
+   */
+  private File run(int year) throws Exception {
+    GeneratorConfig cfg = new GeneratorConfig();
+    cfg.source = "colac";
+    cfg.year = year;
+    cfg.repository = tmp.newFolder("archives");
+    cfg.tmpSourceDir = tmp.newFolder("sources");
+    try {
+      long start = System.nanoTime();
+      new EmbeddedGenerator(cfg).run();
+      double secs = (System.nanoTime() - start) / 1e9;
+      long rows = totalRows(cfg.archiveDir());
+      LOG.info("colac {} with {} species: {} rows in {} s = {} rows/s",
+          year, SPECIES, rows, String.format("%.2f", secs), Math.round(rows / secs));
+    } finally {
+      EmbeddedColacDb.drop(year);
+    }
+    return cfg.archiveDir();
+  }
+
+  /**
+   * @return number of data rows of all tsv files, excluding their header rows
+   */
+  private static long totalRows(File dir) throws IOException {
+    long rows = 0;
+    try (Stream<Path> files = Files.list(dir.toPath())) {
+      for (var f : files.filter(p -> p.toString().endsWith(".tsv")).toList()) {
+        rows += rows(f.toFile());
+      }
+    }
+    return rows;
+  }
+
+  private static long rows(File dir, String rowType) throws IOException {
+    return rows(new File(dir, rowType + ".tsv"));
+  }
+
+  private static long rows(File tsv) throws IOException {
+    try (Stream<String> lines = Files.lines(tsv.toPath())) {
+      return lines.count() - 1;
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package org.catalogueoflife.data.colac;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TaxonTreeTest {
+
+  /**
+   * Two kingdoms; nodes are added children first to make sure the order does not matter.
+   */
+  private static TaxonTree tree() {
+    return TaxonTree.builder()
+        .add(5, 4, "species", "Puma concolor")
+        .add(6, 5, "subspecies", "Puma concolor couguar")
+        .add(4, 3, "genus", "Puma")
+        .add(3, 2, "family", "Felidae")
+        .add(2, 1, "Order", "Carnivora")
+        .add(1, 0, "kingdom", "Animalia")
+        .add(11, 10, "family", "Rosaceae")
+        .add(10, 0, "kingdom", "Plantae")
+        .build("family", "order", "genus");
+  }
+
+  @Test
+  public void testKingdom() {
+    TaxonTree t = tree();
+    assertEquals(8, t.size());
+    assertEquals("Animalia", t.kingdom(6));
+    assertEquals("Animalia", t.kingdom(3));
+    assertEquals("Animalia", t.kingdom(1));
+    assertEquals("Plantae", t.kingdom(11));
+    assertNull(t.kingdom(99));
+  }
+
+  @Test
+  public void testDepthAndParent() {
+    TaxonTree t = tree();
+    assertEquals(0, t.depth(1));
+    assertEquals(5, t.depth(6));
+    assertEquals(1, t.depth(11));
+    assertEquals(-1, t.depth(99));
+    assertEquals(5, t.parent(6));
+    assertEquals(0, t.parent(1));
+    assertEquals(0, t.parent(99));
+    assertTrue(t.contains(11));
+    assertFalse(t.contains(99));
+  }
+
+  @Test
+  public void testAncestorAtRank() {
+    TaxonTree t = tree();
+    assertEquals(3, t.ancestor(6, "family"));
+    assertEquals(3, t.ancestor(3, "family")); // the node itself
+    assertEquals(2, t.ancestor(6, "ORDER"));  // ranks are case insensitive
+    assertEquals(4, t.ancestor(5, "genus"));
+    assertEquals(0, t.ancestor(2, "family")); // above the family
+    assertEquals(11, t.ancestor(11, "family"));
+    assertEquals(0, t.ancestor(11, "order"));
+    assertEquals(0, t.ancestor(99, "family"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAncestorNotIndexed() {
+    tree().ancestor(6, "class");
+  }
+
+  /** A rank that does not occur in the tree can be indexed but has no ancestors. */
+  @Test
+  public void testAncestorMissingRank() {
+    TaxonTree t = TaxonTree.builder()
+        .add(1, 0, "kingdom", "Animalia")
+        .add(2, 1, "phylum", "Chordata")
+        .build("tribe");
+    assertEquals(0, t.ancestor(2, "tribe"));
+  }
+
+  /** Unknown parents and cycles have no kingdom, and do not affect the rest of the tree. */
+  @Test
+  public void testBrokenLinks() {
+    TaxonTree t = TaxonTree.builder()
+        .add(1, 0, "kingdom", "Animalia")
+        .add(2, 1, "phylum", "Chordata")
+        .add(3, 77, "genus", "Dangling")   // unknown parent
+        .add(4, 3, "species", "Dangling x")
+        .add(5, 6, "genus", "Loop")        // 5 → 6 → 5
+        .add(6, 5, "genus", "Loop")
+        .add(7, 5, "species", "Loop y")
+        .build("genus");
+    assertEquals("Animalia", t.kingdom(2));
+    assertNull(t.kingdom(3));
+    assertNull(t.kingdom(4));
+    assertEquals(1, t.depth(4));
+    assertEquals(3, t.ancestor(4, "genus"));
+    assertNull(t.kingdom(5));
+    assertNull(t.kingdom(6));
+    assertNull(t.kingdom(7));
+    assertEquals(0, t.ancestor(7, "genus"));
+  }
+}
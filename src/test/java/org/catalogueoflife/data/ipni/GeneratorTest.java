@@ -14,6 +14,20 @@ public class GeneratorTest {
     assertEquals("17541030-1", Generator.idFromLsid("urn:lsid:ipni.org:names:17541030-1"));
   }
 
+  @Test
+  public void shortNameRow() {
+    PipeTokenizer tok = new PipeTokenizer(Generator.NAME_COLUMNS);
+    String[] row = tok.split("urn:lsid:ipni.org:names:1000000-1" + "|x".repeat(Generator.MIN_NAME_COLUMNS - 1));
+    assertEquals(Generator.MIN_NAME_COLUMNS, tok.size());
+    // suppressed_b and later columns are missing but readable
+    assertFalse(Generator.isSuppressed(row, tok.size()));
+    assertNull(row[75]);
+    assertNull(row[87]);
+
+    row = tok.split("urn:lsid:ipni.org:names:1000000-1" + "|t".repeat(80));
+    assertTrue(Generator.isSuppressed(row, tok.size()));
+  }
+
   @Test
   public void uniqueReference() {
     Set<Generator.Reference> refs = new HashSet<>();
@@ -45,6 +59,25 @@ public class GeneratorTest {
     assertRef("7(e6528)", null, "22", "7(e6528): 22");
   }
 
+  @Test
+  public void referenceLine() {
+    var ref = new Generator.Reference("urn:lsid:ipni.org:publications:1071-2", "23(8): 123-145");
+    String[] cols = ref.toLine().split("\t", -1);
+    assertEquals("1071-2", cols[0]);
+    assertEquals(ref.refId(), cols[1]);
+
+    var ref2 = Generator.Reference.fromLine(cols);
+    assertEquals(ref, ref2);
+    assertEquals("23", ref2.volume);
+    assertEquals("8", ref2.issue);
+    assertEquals("123-145", ref2.pages);
+    assertNull(ref2.authors);
+    assertTrue(ref2.parsed);
+
+    ref = new Generator.Reference("1071-2");
+    assertEquals(ref, Generator.Reference.fromLine(ref.toLine().split("\t", -1)));
+  }
+
   void assertRef(String vol, String issue, String pages, String collation) {
     var ref = new Generator.Reference("1", collation);
     assertEquals(vol, ref.volume);
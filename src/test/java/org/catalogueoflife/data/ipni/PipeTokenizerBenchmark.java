@@ -0,0 +1,79 @@
+package org.catalogueoflife.data.ipni;
+
+import life.catalogue.common.io.UTF8IoUtils;
+import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link PipeTokenizer} with the former regex splitter.
+ * Uses the first 20.000 rows of a downloaded ipniWebName.csv.xz given by the system property ipni.names,
+ * otherwise a few sample rows. Run manually from the IDE via the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipeTokenizerBenchmark {
+  private static final int MAX_LINES = 20_000;
+  private static final String[] SAMPLE_ROWS = {
+      "urn:lsid:ipni.org:names:1000000-1|(Vell.) J.F.Macbr.|Elymus mucronatus||urn:lsid:ipni.org:names:388123-1|Fl. Flumin.||23(8): 123-145||||||||Vellozo|||||2004-05-12|2005-01-03||Poaceae|Elymus × mucronatus|Elymus × mucronatus|Elymus|Brazil|t|f|||||||||||23|||Rio de Janeiro|43||||||||||||||||urn:lsid:ipni.org:publications:1071-2|urn:lsid:ipni.org:publications:1071-2|1997|1997||J.F.Macbr.|spec.|Fl. Flumin. 23(8): 123-145. 1997||||||||f|t||holotype K;isotype NY|Designated Type: F. meleagris L.||||||123|tax. nov.||1.4|t|elymus mucronatus|poaceae elymus mucronatus|wfo-0000123456",
+      "urn:lsid:ipni.org:names:77123456-1|Gand.|Rosa canina var. dumalis||||Bull. Soc. Bot. France||33: 12||||||||||||2001-01-01|2001-01-01||Rosaceae|Rosa canina var. dumalis|||Europe|f|f|||||dumalis||||||||||||||||||||||||||Bull. Soc. Bot. France|urn:lsid:ipni.org:publications:12345-2|1886|1886||Gand.|var.|33: 12||||||||f|t||||||||||||comb. nov.||1.2|f|rosa canina dumalis|rosaceae rosa canina dumalis|"
+  };
+
+  private List<String> lines;
+  private PipeTokenizer tokenizer;
+
+  @Setup
+  public void setup() throws IOException {
+    lines = new ArrayList<>();
+    String fn = System.getProperty("ipni.names");
+    if (fn != null) {
+      try (BufferedReader br = UTF8IoUtils.readerFromStream(new XZCompressorInputStream(new FileInputStream(new File(fn))))) {
+        br.readLine(); // skip header row
+        String line;
+        while ((line = br.readLine()) != null && lines.size() < MAX_LINES) {
+          lines.add(line);
+        }
+      }
+    } else {
+      while (lines.size() < MAX_LINES) {
+        lines.addAll(List.of(SAMPLE_ROWS));
+      }
+    }
+    tokenizer = new PipeTokenizer(93);
+  }
+
+  @Benchmark
+  public void regex(Blackhole bh) {
+    for (String line : lines) {
+      bh.consume((line + "|END").split("\\s*\\|\\s*"));
+    }
+  }
+
+  @Benchmark
+  public void tokenizer(Blackhole bh) {
+    for (String line : lines) {
+      bh.consume(tokenizer.split(line));
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(PipeTokenizerBenchmark.class.getSimpleName())
+        .build()
+    ).run();
+  }
+}
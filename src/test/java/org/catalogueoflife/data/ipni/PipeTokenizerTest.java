@@ -0,0 +1,52 @@
+package org.catalogueoflife.data.ipni;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class PipeTokenizerTest {
+
+  /**
+   * The regex splitter the tokenizer replaced, without its END marker column.
+   */
+  static String[] regexSplit(String line) {
+    var cols = (line + "|END").split("\\s*\\|\\s*");
+    return Arrays.copyOf(cols, cols.length - 1);
+  }
+
+  static void assertSameAsRegex(PipeTokenizer tok, String line) {
+    String[] expected = regexSplit(line);
+    String[] row = tok.split(line);
+    assertEquals(expected.length, tok.size());
+    assertArrayEquals(expected, Arrays.copyOf(row, tok.size()));
+  }
+
+  @Test
+  public void sameAsRegex() {
+    PipeTokenizer tok = new PipeTokenizer(4);
+    assertSameAsRegex(tok, "urn:lsid:ipni.org:names:1000000-1|(Vell.) J.F.Macbr.||| 77 |t");
+    assertSameAsRegex(tok, "a | b |\tc\t|d");
+    assertSameAsRegex(tok, "|||");
+    assertSameAsRegex(tok, "");
+    assertSameAsRegex(tok, "single");
+    assertSameAsRegex(tok, "x|Elymus × mucronatus  |  Poaceae|");
+  }
+
+  @Test
+  public void reusesBuffer() {
+    PipeTokenizer tok = new PipeTokenizer(2);
+    String[] row = tok.split("1|2|3|4|5");
+    assertEquals(5, tok.size());
+    assertEquals("5", row[4]);
+
+    String[] row2 = tok.split("a|b");
+    assertSame(row, row2);
+    assertEquals(2, tok.size());
+    assertEquals("b", row2[1]);
+    // stale columns from the longer row are cleared
+    assertNull(row2[2]);
+    assertNull(row2[4]);
+  }
+}
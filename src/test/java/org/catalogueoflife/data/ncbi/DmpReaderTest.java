@@ -0,0 +1,107 @@
+package org.catalogueoflife.data.ncbi;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class DmpReaderTest {
+
+  private static DmpReader reader(String data) {
+    return new DmpReader(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testTypicalLine() throws IOException {
+    // Standard nodes.dmp record ending with \t|
+    DmpReader r = reader("1\t|\t1\t|\tno rank\t|\t\t|\t8\t|\n");
+    assertTrue(r.next());
+    assertEquals(5, r.size());
+    assertEquals("1",       r.get(0));
+    assertEquals(1,         r.getInt(1));
+    assertEquals("no rank", r.get(2));
+    assertNull(r.get(3));
+    assertEquals(8,         r.getInt(4));
+    assertFalse(r.next());
+  }
+
+  @Test
+  public void testNameLine() throws IOException {
+    DmpReader r = reader("9606\t|\tHomo sapiens\t|\t\t|\tscientific name\t|\n");
+    assertTrue(r.next());
+    assertEquals(9606,              r.getInt(0));
+    assertEquals("Homo sapiens",    r.get(1));
+    assertNull(r.get(2));
+    assertEquals("scientific name", r.get(3));
+  }
+
+  @Test
+  public void testTrailingPipeVariants() throws IOException {
+    // Lines may end with just | (without leading tab), CRLF or no newline at all
+    DmpReader r = reader("42\t|\tHomo\t|\tscientific name|\r\n43\t|\tPan\t|");
+    assertTrue(r.next());
+    assertEquals(42,                r.getInt(0));
+    assertEquals("Homo",            r.get(1));
+    assertEquals("scientific name", r.get(2));
+    assertTrue(r.next());
+    assertEquals(43,    r.getInt(0));
+    assertEquals("Pan", r.get(1));
+    assertEquals(2,     r.size());
+    assertFalse(r.next());
+  }
+
+  @Test
+  public void testBlankLines() throws IOException {
+    DmpReader r = reader("\n   \n1\t|\tBacteria\t|\n\n");
+    assertTrue(r.next());
+    assertEquals("Bacteria", r.get(1));
+    assertFalse(r.next());
+    assertFalse(reader("").next());
+  }
+
+  @Test
+  public void testTrimAndOutOfBounds() throws IOException {
+    DmpReader r = reader("  9606  \t|\t  Homo sapiens  \t|\n");
+    assertTrue(r.next());
+    assertEquals("9606",         r.get(0));
+    assertEquals(9606,           r.getInt(0));
+    assertEquals("Homo sapiens", r.get(1));
+    assertNull(r.get(5));
+    assertEquals(0, r.getInt(5));
+  }
+
+  @Test
+  public void testIntBlankOrInvalid() throws IOException {
+    DmpReader r = reader("\t|\tabc\t|\t-7\t|\t99999999999\t|\n");
+    assertTrue(r.next());
+    assertEquals(0,  r.getInt(0));
+    assertEquals(0,  r.getInt(1));
+    assertEquals(-7, r.getInt(2));
+    assertEquals(0,  r.getInt(3));
+  }
+
+  @Test
+  public void testUtf8AndLongLines() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    String longText = "x".repeat(200_000);
+    for (int i = 1; i <= 1000; i++) {
+      sb.append(i).append("\t|\tGüntherö ").append(i).append("\t|\t").append(i == 500 ? longText : "").append("\t|\n");
+    }
+    DmpReader r = reader(sb.toString());
+    int n = 0;
+    while (r.next()) {
+      n++;
+      assertEquals(n, r.getInt(0));
+      assertEquals("Güntherö " + n, r.get(1));
+      if (n == 500) {
+        assertEquals(longText, r.get(2));
+      } else {
+        assertNull(r.get(2));
+      }
+    }
+    assertEquals(1000, n);
+  }
+}
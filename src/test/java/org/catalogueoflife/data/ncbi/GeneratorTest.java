@@ -8,91 +8,6 @@ import static org.junit.Assert.*;
 
 public class GeneratorTest {
 
-  // ── split() ───────────────────────────────────────────────────────────────
-
-  @Test
-  public void testSplitTypicalLine() {
-    // Standard nodes.dmp / names.dmp record ending with \t|
-    String line = "1\t|\t1\t|\tno rank\t|\t\t|\t8\t|\t";
-    String[] row = Generator.split(line);
-    assertNotNull(row);
-    assertEquals("1",       row[0].trim());
-    assertEquals("1",       row[1].trim());
-    assertEquals("no rank", row[2].trim());
-  }
-
-  @Test
-  public void testSplitNameLine() {
-    // Typical names.dmp line
-    String line = "9606\t|\tHomo sapiens\t|\t\t|\tscientific name\t|";
-    String[] row = Generator.split(line);
-    assertNotNull(row);
-    assertEquals("9606",          row[0].trim());
-    assertEquals("Homo sapiens",  row[1].trim());
-    assertEquals("",              row[2].trim());
-    assertEquals("scientific name", row[3].trim());
-  }
-
-  @Test
-  public void testSplitBlankLine() {
-    assertNull(Generator.split(""));
-    assertNull(Generator.split("   "));
-    assertNull(Generator.split(null));
-  }
-
-  @Test
-  public void testSplitTrailingPipeVariants() {
-    // Lines may end with just | (without leading tab)
-    String line = "42\t|\tHomo\t|\tscientific name\t|";
-    String[] row = Generator.split(line);
-    assertNotNull(row);
-    assertEquals("42",             row[0].trim());
-    assertEquals("Homo",           row[1].trim());
-    assertEquals("scientific name", row[2].trim());
-  }
-
-  // ── col() ─────────────────────────────────────────────────────────────────
-
-  @Test
-  public void testColNormal() {
-    String[] row = {"9606", "Homo sapiens", "", "scientific name"};
-    assertEquals("9606",            Generator.col(row, 0));
-    assertEquals("Homo sapiens",    Generator.col(row, 1));
-    assertNull("blank col should be null", Generator.col(row, 2));
-    assertEquals("scientific name", Generator.col(row, 3));
-  }
-
-  @Test
-  public void testColOutOfBounds() {
-    String[] row = {"1", "2"};
-    assertNull(Generator.col(row, 5));
-    assertNull(Generator.col(null, 0));
-  }
-
-  @Test
-  public void testColTrimsWhitespace() {
-    String[] row = {"  9606  ", "  Homo sapiens  "};
-    assertEquals("9606",         Generator.col(row, 0));
-    assertEquals("Homo sapiens", Generator.col(row, 1));
-  }
-
-  // ── parseInt() ───────────────────────────────────────────────────────────
-
-  @Test
-  public void testParseIntValid() {
-    String[] row = {"9606", "1"};
-    assertEquals(9606, Generator.parseInt(row, 0));
-    assertEquals(1,    Generator.parseInt(row, 1));
-  }
-
-  @Test
-  public void testParseIntBlankOrMissing() {
-    String[] row = {"", "abc"};
-    assertEquals(0, Generator.parseInt(row, 0));
-    assertEquals(0, Generator.parseInt(row, 1));
-    assertEquals(0, Generator.parseInt(row, 5));
-  }
-
   // ── extractAuthorship() ───────────────────────────────────────────────────
 
   @Test
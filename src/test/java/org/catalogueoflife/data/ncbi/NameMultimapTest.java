@@ -0,0 +1,40 @@
+package org.catalogueoflife.data.ncbi;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class NameMultimapTest {
+
+  @Test
+  public void testArenaRoundTrip() {
+    NameArena arena = new NameArena();
+    String longName = "Güntherö ".repeat(5_000);
+    long h1 = arena.add("Homo sapiens");
+    long h2 = arena.add("");
+    long h3 = arena.add(longName);
+    assertEquals("Homo sapiens", arena.get(h1));
+    assertEquals("", arena.get(h2));
+    assertEquals(longName, arena.get(h3));
+  }
+
+  @Test
+  public void testInsertionOrder() {
+    NameMultimap map = new NameMultimap(new NameArena(), 4);
+    map.put(2, "\"Bacteria\" Cavalier-Smith 1987");
+    map.put(9606, "Homo sapiens Linnaeus, 1758");
+    map.put(2, "\"Bacteriobiota\" Luketa 2012");
+
+    assertEquals(List.of("\"Bacteria\" Cavalier-Smith 1987", "\"Bacteriobiota\" Luketa 2012"), map.get(2));
+    assertEquals(List.of("Homo sapiens Linnaeus, 1758"), map.get(9606));
+    assertNull(map.get(1));
+    assertEquals(2, map.size());
+    assertArrayEquals(new int[]{2, 9606}, map.keys());
+
+    map.clear();
+    assertNull(map.get(2));
+    assertEquals(0, map.size());
+  }
+}
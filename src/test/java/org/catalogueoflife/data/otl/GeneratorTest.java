@@ -6,7 +6,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import life.catalogue.coldp.ColdpTerm;
 import org.catalogueoflife.data.GeneratorConfig;
-import org.catalogueoflife.newick.SimpleNode;
+import org.catalogueoflife.data.ott.OttTable;
 import org.junit.Test;
 
 import java.io.File;
@@ -24,12 +24,11 @@ public class GeneratorTest {
     cfg.repository = new File("/tmp/repo");
     Generator gen = new Generator(cfg);
     gen.newWriter(ColdpTerm.NameUsage);
-    gen.ott.put(42, new Generator.OttName("My42", "unranked"));
-    gen.ott.put(150, new Generator.OttName("My150", "unranked"));
+    gen.ott = OttTable.builder()
+        .add(42, 0, "My42", "unranked")
+        .add(150, 42, "My150", "unranked")
+        .build();
 
-    SimpleNode n = new SimpleNode();
-    n.setLabel("mrcaott42ott150");
-
-    gen.writeNode(n, null);
+    gen.writeNode("mrcaott42ott150", null);
   }
 }
\ No newline at end of file
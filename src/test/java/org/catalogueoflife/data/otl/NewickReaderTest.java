@@ -0,0 +1,57 @@
+package org.catalogueoflife.data.otl;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class NewickReaderTest {
+
+  private static List<String> read(String newick) throws IOException {
+    List<String> nodes = new ArrayList<>();
+    new NewickReader(new StringReader(newick)).read((label, parent) -> nodes.add(label + "<" + parent));
+    return nodes;
+  }
+
+  @Test
+  public void children() throws Exception {
+    assertEquals(List.of("a<c", "b<c", "c<e", "d<e", "e<null"), read("((a,b)c,d)e;"));
+    assertEquals(List.of("a<null"), read("a;"));
+  }
+
+  @Test
+  public void lengthsCommentsQuotes() throws Exception {
+    assertEquals(List.of("a b<ott1", "it's<ott1", "ott1<mrcaott1ott2", "mrcaott1ott2<null"),
+        read(" ( ( 'a b':0.1 , 'it''s' [comment, with (brackets)] ) ott1:2.5e-3 )mrcaott1ott2 ;\n"));
+  }
+
+  /** Lineages far deeper than a recursive parser could handle. */
+  @Test
+  public void deep() throws Exception {
+    final int depth = 200_000;
+    StringBuilder sb = new StringBuilder();
+    sb.append("(".repeat(depth)).append("leaf");
+    for (int i = depth; i > 0; i--) {
+      sb.append(")n").append(i);
+    }
+    sb.append(';');
+    long[] cnt = {0};
+    long nodes = new NewickReader(new StringReader(sb.toString())).read((label, parent) -> cnt[0]++);
+    assertEquals(depth + 1, nodes);
+    assertEquals(depth + 1, cnt[0]);
+  }
+
+  @Test(expected = IOException.class)
+  public void unbalanced() throws Exception {
+    read("((a,b)c;");
+  }
+
+  @Test(expected = IOException.class)
+  public void unlabelled() throws Exception {
+    read("((a,b),c)d;");
+  }
+}
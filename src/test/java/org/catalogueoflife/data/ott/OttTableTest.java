@@ -0,0 +1,50 @@
+package org.catalogueoflife.data.ott;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OttTableTest {
+
+  @Test
+  public void lookups() {
+    // unsorted input as in taxonomy.tsv
+    OttTable t = OttTable.builder()
+        .add(805080, 0, "life", "unranked")
+        .add(770315, 770311, "Homo sapiens", "species")
+        .add(93302, 805080, "cellular organisms", "unranked")
+        .add(770311, 93302, "Homo", "genus")
+        .add(5, 93302, "Ærøskøbing", null)
+        .build();
+
+    assertEquals(5, t.size());
+    assertEquals("Homo sapiens", t.name(770315));
+    assertEquals("species", t.rank(770315));
+    assertEquals(770311, t.parent(770315));
+    assertEquals("Homo", t.name(t.parent(770315)));
+    assertEquals("life", t.name(805080));
+    assertEquals(0, t.parent(805080));
+    assertEquals("Ærøskøbing", t.name(5));
+    assertNull(t.rank(5));
+
+    assertFalse(t.contains(6));
+    assertNull(t.name(6));
+    assertNull(t.rank(6));
+    assertEquals(0, t.parent(6));
+  }
+
+  @Test
+  public void empty() {
+    OttTable t = OttTable.builder().build();
+    assertEquals(0, t.size());
+    assertNull(t.name(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void duplicate() {
+    OttTable.builder()
+        .add(1, 0, "a", null)
+        .add(1, 0, "b", null)
+        .build();
+  }
+}
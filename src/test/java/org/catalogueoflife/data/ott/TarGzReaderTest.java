@@ -0,0 +1,73 @@
+package org.catalogueoflife.data.ott;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TarGzReaderTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  private File tgz(String... nameAndContent) throws IOException {
+    File f = tmp.newFile("data.tgz");
+    try (var out = new TarArchiveOutputStream(new GzipCompressorOutputStream(new FileOutputStream(f)))) {
+      for (int i = 0; i < nameAndContent.length; i += 2) {
+        byte[] data = nameAndContent[i + 1].getBytes(StandardCharsets.UTF_8);
+        var e = new TarArchiveEntry(nameAndContent[i]);
+        e.setSize(data.length);
+        out.putArchiveEntry(e);
+        out.write(data);
+        out.closeArchiveEntry();
+      }
+    }
+    return f;
+  }
+
+  @Test
+  public void readInOrder() throws Exception {
+    File f = tgz("ott3.7/README", "x", "ott3.7/taxonomy.tsv", "tax", "ott3.7/synonyms.tsv", "syn");
+    List<String> read = new ArrayList<>();
+    new TarGzReader(f, tmp.getRoot())
+        .on("taxonomy.tsv", in -> read.add(new String(in.readAllBytes(), StandardCharsets.UTF_8)))
+        .on("synonyms.tsv", in -> read.add(new String(in.readAllBytes(), StandardCharsets.UTF_8)))
+        .read();
+    assertEquals(List.of("tax", "syn"), read);
+  }
+
+  /** Members coming before the ones registered ahead of them are spooled and processed in order. */
+  @Test
+  public void readOutOfOrder() throws Exception {
+    File f = tgz("tree/labelled_supertree.tre", "(a)b;", "ott/taxonomy.tsv", "tax");
+    List<String> read = new ArrayList<>();
+    new TarGzReader(f, tmp.getRoot())
+        .on("taxonomy.tsv", in -> read.add(new String(in.readAllBytes(), StandardCharsets.UTF_8)))
+        .on("labelled_supertree.tre", in -> read.add(new String(in.readAllBytes(), StandardCharsets.UTF_8)))
+        .read();
+    assertEquals(List.of("tax", "(a)b;"), read);
+    // spool files are removed
+    assertEquals(1, tmp.getRoot().listFiles().length);
+  }
+
+  @Test(expected = FileNotFoundException.class)
+  public void missing() throws Exception {
+    File f = tgz("ott/taxonomy.tsv", "tax");
+    new TarGzReader(f, tmp.getRoot())
+        .on("taxonomy.tsv", in -> {})
+        .on("synonyms.tsv", in -> {})
+        .read();
+  }
+}
@@ -0,0 +1,116 @@
+package org.catalogueoflife.data.pbdb;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class PersonResolverTest {
+  private final ObjectMapper mapper = new ObjectMapper()
+      .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  /** Knows all even person ids. */
+  private PersonResolver.BatchFetcher fetcher(AtomicInteger requests) {
+    return ids -> {
+      requests.incrementAndGet();
+      List<Person> found = new ArrayList<>();
+      for (String id : ids) {
+        if (Integer.parseInt(id.substring(4)) % 2 == 0) {
+          Person p = new Person();
+          p.setOid(id);
+          p.setNam("Person " + id);
+          found.add(p);
+        }
+      }
+      return found;
+    };
+  }
+
+  @Test
+  public void batchedAndCached() throws Exception {
+    File cache = new File(tmp.getRoot(), "pbdb-people.jsonl");
+    List<String> ids = new ArrayList<>(IntStream.range(1, 251).mapToObj(i -> "prs:" + i).toList());
+    ids.add("prs:4294967292"); // sentinel
+
+    AtomicInteger requests = new AtomicInteger();
+    var persons = new PersonResolver(mapper, cache, fetcher(requests), 3).resolve(ids);
+    assertEquals(3, requests.get()); // 250 ids in batches of 100
+    assertEquals(250, persons.size());
+    assertEquals("Person prs:2", persons.get("prs:2").getNam());
+    assertNull(persons.get("prs:1").getNam());
+    assertFalse(persons.containsKey("prs:4294967292"));
+
+    // a rebuild makes no request at all
+    requests.set(0);
+    persons = new PersonResolver(mapper, cache, fetcher(requests), 3).resolve(ids);
+    assertEquals(0, requests.get());
+    assertEquals("Person prs:250", persons.get("prs:250").getNam());
+
+    // only new people are requested
+    persons = new PersonResolver(mapper, cache, fetcher(requests), 3).resolve(List.of("prs:2", "prs:1000"));
+    assertEquals(1, requests.get());
+    assertEquals("Person prs:1000", persons.get("prs:1000").getNam());
+  }
+
+  @Test
+  public void failedBatchIsRetried() throws Exception {
+    File cache = new File(tmp.getRoot(), "pbdb-people.jsonl");
+    new PersonResolver(mapper, cache, ids -> {
+      throw new java.io.IOException("HTTP 503");
+    }, 2).resolve(List.of("prs:2"));
+
+    AtomicInteger requests = new AtomicInteger();
+    var persons = new PersonResolver(mapper, cache, fetcher(requests), 2).resolve(List.of("prs:2"));
+    assertEquals(1, requests.get());
+    assertEquals("Person prs:2", persons.get("prs:2").getNam());
+  }
+
+  @Test
+  public void badIdDoesNotBlockBatch() throws Exception {
+    File cache = new File(tmp.getRoot(), "pbdb-people.jsonl");
+    List<String> ids = IntStream.range(1, 151).mapToObj(i -> "prs:" + i).toList();
+    AtomicInteger requests = new AtomicInteger();
+    var good = fetcher(requests);
+    PersonResolver.BatchFetcher failing = batch -> {
+      if (batch.contains("prs:14")) {
+        requests.incrementAndGet();
+        throw new java.io.IOException("HTTP 500");
+      }
+      return good.fetch(batch);
+    };
+
+    var persons = new PersonResolver(mapper, cache, failing, 2).resolve(ids);
+    // 2 batches, the failed one retried with 100 single requests
+    assertEquals(102, requests.get());
+    assertEquals(149, persons.size());
+    assertFalse(persons.containsKey("prs:14"));
+    assertEquals("Person prs:16", persons.get("prs:16").getNam());
+
+    // only the bad id is requested again
+    requests.set(0);
+    persons = new PersonResolver(mapper, cache, failing, 2).resolve(ids);
+    assertEquals(1, requests.get());
+    assertEquals(149, persons.size());
+  }
+
+  @Test
+  public void sentinel() {
+    assertTrue(PersonResolver.isSentinel("prs:4294967292"));
+    assertFalse(PersonResolver.isSentinel("prs:18"));
+    assertFalse(PersonResolver.isSentinel("prs:abc"));
+  }
+}
@@ -0,0 +1,44 @@
+package org.catalogueoflife.data.pbdb;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class RecordReaderTest {
+  private final ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void read() throws Exception {
+    File f = tmp.newFile("taxa.json");
+    Files.writeString(f.toPath(), "{\"elapsed_time\":0.5,\"meta\":{\"records\":[1,2]},\"records\":[\n"
+        + "{\"oid\":\"txn:1\",\"nam\":\"Dinosauria\",\"unknown\":{\"a\":[1]}},\n"
+        + "{\"oid\":\"txn:2\",\"nam\":\"Theropoda\"}\n"
+        + "],\"warnings\":[\"x\"]}");
+
+    List<String> names = new ArrayList<>();
+    long cnt = new RecordReader<>(mapper, Taxon.class).read(f, t -> names.add(t.getOid() + " " + t.getNam()));
+    assertEquals(2, cnt);
+    assertEquals(List.of("txn:1 Dinosauria", "txn:2 Theropoda"), names);
+  }
+
+  @Test
+  public void noRecords() throws Exception {
+    File f = tmp.newFile("empty.json");
+    Files.writeString(f.toPath(), "{\"records\":[]}");
+    assertEquals(0, new RecordReader<>(mapper, Taxon.class).read(f, t -> {
+      throw new IllegalStateException();
+    }));
+  }
+}
@@ -1,10 +1,85 @@
 package org.catalogueoflife.data.silva;
 
+import org.catalogueoflife.data.GeneratorConfig;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
 import static org.junit.Assert.*;
 
 public class BaseGeneratorTest {
 
+  /** Nitrososphaeria is listed before its parent Crenarchaeota */
+  static final List<String> TAXONOMY = List.of(
+      "Archaea;\t2\tdomain\t\t138",
+      "Archaea;Crenarchaeota;Nitrososphaeria;\t20\tclass\t\t138",
+      "Archaea;Crenarchaeota;\t12\tphylum\ta\t138",
+      "Bacteria;\t3\tdomain\t\t138"
+  );
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  /**
+   * @return a config with the gzipped test taxonomy of the unit cached as its source file
+   */
+  static GeneratorConfig config(File root, String unit) throws IOException {
+    GeneratorConfig cfg = new GeneratorConfig();
+    cfg.source = "silva-" + unit;
+    cfg.repository = new File(root, "repo");
+    cfg.tmpSourceDir = new File(root, "sources");
+    cfg.noDownload = true;
+    File gz = new File(cfg.tmpDir(), "tax_slv_" + unit + "_138.txt.gz");
+    gz.getParentFile().mkdirs();
+    try (Writer w = new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(gz)), StandardCharsets.UTF_8)) {
+      for (String line : TAXONOMY) {
+        w.write(line + "\n");
+      }
+    }
+    return cfg;
+  }
+
+  /**
+   * @return parentID by ID of all NameUsage rows, empty string for roots
+   */
+  static Map<String, String> parents(File archiveDir) throws IOException {
+    Map<String, String> parents = new HashMap<>();
+    List<String> lines = Files.readAllLines(new File(archiveDir, "NameUsage.tsv").toPath());
+    for (String line : lines.subList(1, lines.size())) {
+      String[] cols = line.split("\t", -1);
+      assertNull("duplicate ID " + cols[0], parents.put(cols[0], cols[1]));
+    }
+    return parents;
+  }
+
+  static void assertTaxonomy(File archiveDir) throws IOException {
+    var parents = parents(archiveDir);
+    assertEquals(4, parents.size());
+    assertEquals("", parents.get("2"));
+    assertEquals("2", parents.get("12"));
+    assertEquals("12", parents.get("20"));
+    assertEquals("", parents.get("3"));
+  }
+
+  @Test
+  public void childBeforeParent() throws Exception {
+    GeneratorConfig cfg = config(tmp.getRoot(), "ssu");
+    new org.catalogueoflife.data.silvassu.Generator(cfg, "138").run();
+    assertTaxonomy(cfg.archiveDir());
+  }
+
   // ── splitLine ─────────────────────────────────────────────────────────────
 
   @Test
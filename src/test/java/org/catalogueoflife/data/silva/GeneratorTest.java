@@ -0,0 +1,31 @@
+package org.catalogueoflife.data.silva;
+
+import org.catalogueoflife.data.GeneratorConfig;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.catalogueoflife.data.silva.BaseGeneratorTest.assertTaxonomy;
+import static org.junit.Assert.*;
+
+public class GeneratorTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void bothUnits() throws Exception {
+    BaseGeneratorTest.config(tmp.getRoot(), "lsu");
+    GeneratorConfig cfg = BaseGeneratorTest.config(tmp.getRoot(), "ssu");
+    cfg.source = "silva";
+    new Generator(cfg).build("138");
+
+    for (String unit : new String[]{"silva-ssu", "silva-lsu"}) {
+      File dir = new File(cfg.repository, unit);
+      assertTaxonomy(dir);
+      assertTrue(new File(dir, "metadata.yaml").exists());
+    }
+  }
+}
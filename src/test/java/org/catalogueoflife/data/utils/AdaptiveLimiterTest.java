@@ -0,0 +1,70 @@
+package org.catalogueoflife.data.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveLimiterTest {
+
+  @Test
+  public void growsWhileFast() throws Exception {
+    AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 4);
+    for (int i = 0; i < 100; i++) {
+      limiter.acquire();
+      limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+    assertEquals(4, limiter.getLimit());
+    assertEquals(10, limiter.getMinLatencyMillis());
+  }
+
+  @Test
+  public void shrinksWhenSlowOrThrottled() throws Exception {
+    AdaptiveLimiter limiter = new AdaptiveLimiter(16, 2, 32);
+    limiter.acquire();
+    limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+    // latency beyond tolerance
+    limiter.acquire();
+    limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(100));
+    assertTrue(limiter.getLimit() < 16);
+
+    for (int i = 0; i < 10; i++) {
+      limiter.acquire();
+      limiter.onThrottled();
+    }
+    assertEquals(2, limiter.getLimit());
+  }
+
+  @Test
+  public void failuresKeepLimit() throws Exception {
+    AdaptiveLimiter limiter = new AdaptiveLimiter(3, 1, 8);
+    limiter.acquire();
+    limiter.onFailure();
+    assertEquals(3, limiter.getLimit());
+    assertEquals(-1, limiter.getMinLatencyMillis());
+  }
+
+  @Test
+  public void blocksAtLimit() throws Exception {
+    AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1);
+    limiter.acquire();
+    Thread t = Thread.ofVirtual().start(() -> {
+      try {
+        limiter.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    t.join(100);
+    assertTrue(t.isAlive());
+    limiter.onFailure();
+    t.join(1000);
+    assertFalse(t.isAlive());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidBounds() {
+    new AdaptiveLimiter(1, 0, 4);
+  }
+}
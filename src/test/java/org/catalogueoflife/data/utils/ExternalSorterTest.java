@@ -0,0 +1,55 @@
+package org.catalogueoflife.data.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ExternalSorterTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void inMemory() throws Exception {
+    try (ExternalSorter sorter = new ExternalSorter(tmp.getRoot(), 100)) {
+      sorter.add("b");
+      sorter.add("a");
+      sorter.add("c");
+      assertEquals(List.of("a", "b", "c"), toList(sorter.sorted()));
+    }
+    assertEquals(0, tmp.getRoot().list().length);
+  }
+
+  @Test
+  public void spilledRuns() throws Exception {
+    File dir = new File(tmp.getRoot(), "runs");
+    List<String> expected = new ArrayList<>();
+    Random rnd = new Random(7);
+    try (ExternalSorter sorter = new ExternalSorter(dir, 100)) {
+      for (int i = 0; i < 1050; i++) {
+        String line = rnd.nextInt(500) + "\tvalue " + i;
+        expected.add(line);
+        sorter.add(line);
+      }
+      expected.sort(null);
+      assertEquals(1050, sorter.size());
+      assertEquals(expected, toList(sorter.sorted()));
+      assertEquals(11, dir.list().length);
+    }
+    assertEquals(0, dir.list().length);
+  }
+
+  private static List<String> toList(Iterator<String> iter) {
+    List<String> list = new ArrayList<>();
+    iter.forEachRemaining(list::add);
+    return list;
+  }
+}
@@ -0,0 +1,38 @@
+package org.catalogueoflife.data.utils;
+
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.junit.Assert.*;
+
+public class HostThrottleTest {
+
+  @Test
+  public void interval() throws Exception {
+    HostThrottle throttle = new HostThrottle(2, 50);
+    URI uri = URI.create("https://www.biolib.cz/en/taxon/id1");
+    long start = System.nanoTime();
+    for (int i = 0; i < 5; i++) {
+      try (var p = throttle.acquire(uri)) {
+        // request
+      }
+    }
+    // 4 intervals between 5 request starts
+    assertTrue((System.nanoTime() - start) / 1_000_000 >= 190);
+  }
+
+  @Test
+  public void hostsAreIndependent() throws Exception {
+    HostThrottle throttle = new HostThrottle(1, 0);
+    var p1 = throttle.acquire(URI.create("https://a.org/x"));
+    // a different host is not blocked by the open permit
+    try (var p2 = throttle.acquire(URI.create("https://b.org/x"))) {
+      assertNotNull(p2);
+    }
+    p1.close();
+    try (var p3 = throttle.acquire(URI.create("https://a.org/y"))) {
+      assertNotNull(p3);
+    }
+  }
+}
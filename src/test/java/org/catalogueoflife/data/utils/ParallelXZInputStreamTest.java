@@ -0,0 +1,72 @@
+package org.catalogueoflife.data.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.tukaani.xz.LZMA2Options;
+import org.tukaani.xz.XZOutputStream;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class ParallelXZInputStreamTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  /**
+   * Writes numbered lines with umlauts, ending a block every blockBytes bytes of input regardless of line ends.
+   */
+  private static String write(File f, int lines, int blockBytes) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < lines; i++) {
+      sb.append(i).append("|Günther ö ").append(i).append('\n');
+    }
+    byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+    try (XZOutputStream out = new XZOutputStream(new FileOutputStream(f), new LZMA2Options(1))) {
+      for (int off = 0; off < data.length; off += blockBytes) {
+        out.write(data, off, Math.min(blockBytes, data.length - off));
+        if (blockBytes < data.length) {
+          out.endBlock();
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  @Test
+  public void multiBlock() throws IOException {
+    File f = tmp.newFile("multi.xz");
+    // odd block size so blocks split lines and multi byte characters
+    String expected = write(f, 20_000, 10_007);
+    try (InputStream in = ParallelXZInputStream.open(f, 4)) {
+      assertTrue(in instanceof ParallelXZInputStream);
+      assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void singleBlockFallback() throws IOException {
+    File f = tmp.newFile("single.xz");
+    String expected = write(f, 1_000, Integer.MAX_VALUE);
+    try (InputStream in = ParallelXZInputStream.open(f, 4)) {
+      assertFalse(in instanceof ParallelXZInputStream);
+      assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void closeEarly() throws IOException {
+    File f = tmp.newFile("early.xz");
+    write(f, 20_000, 5_000);
+    InputStream in = ParallelXZInputStream.open(f, 2);
+    assertEquals('0', in.read());
+    in.close();
+    assertEquals(-1, in.read());
+  }
+}
@@ -0,0 +1,57 @@
+package org.catalogueoflife.data.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.*;
+
+public class ReadAheadInputStreamTest {
+
+  @Test
+  public void readAll() throws IOException {
+    byte[] data = new byte[100_000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) i;
+    }
+    try (var in = new ReadAheadInputStream(new ByteArrayInputStream(data), 1000, 2)) {
+      assertEquals(0, in.read());
+      assertEquals(1, in.read());
+      byte[] rest = in.readAllBytes();
+      assertEquals(data.length - 2, rest.length);
+      assertEquals((byte) 2, rest[0]);
+      assertEquals(data[data.length - 1], rest[rest.length - 1]);
+      assertEquals(-1, in.read());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void propagatesErrors() throws IOException {
+    InputStream broken = new InputStream() {
+      @Override
+      public int read() throws IOException {
+        throw new IOException("broken");
+      }
+    };
+    try (var in = new ReadAheadInputStream(broken)) {
+      in.read();
+    }
+  }
+
+  @Test
+  public void closeEarly() throws Exception {
+    // endless stream, the reading thread must stop when closed
+    InputStream endless = new InputStream() {
+      @Override
+      public int read() {
+        return 1;
+      }
+    };
+    var in = new ReadAheadInputStream(endless, 10, 1);
+    assertEquals(1, in.read());
+    in.close();
+    assertEquals(-1, in.read());
+  }
+}
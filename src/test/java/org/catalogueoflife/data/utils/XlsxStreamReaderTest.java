@@ -0,0 +1,90 @@
+package org.catalogueoflife.data.utils;
+
+import org.apache.poi.common.usermodel.HyperlinkType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class XlsxStreamReaderTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  private File workbook() throws IOException {
+    File f = tmp.newFile("test.xlsx");
+    try (var wb = new XSSFWorkbook(); var out = new FileOutputStream(f)) {
+      wb.createSheet("first").createRow(0).createCell(0).setCellValue("ignore me");
+      var sheet = wb.createSheet("data");
+      var row = sheet.createRow(0);
+      row.createCell(0).setCellValue("Puma concolor");
+      row.createCell(2).setCellValue(12);
+      row.createCell(3).setCellFormula("C1*2");
+      var link = wb.getCreationHelper().createHyperlink(HyperlinkType.URL);
+      link.setAddress("https://www.catalogueoflife.org/data/taxon/4QHKG");
+      row.getCell(0).setHyperlink(link);
+      // row 1 is missing
+      row = sheet.createRow(2);
+      row.createCell(0).setCellValue("Felis catus");
+      row.createCell(1).setCellValue("");
+      row.createCell(2).setCellValue(true);
+      sheet.createRow(3).createCell(0).setCellValue("Lynx lynx");
+      wb.getCreationHelper().createFormulaEvaluator().evaluateAll();
+      wb.write(out);
+    }
+    return f;
+  }
+
+  @Test
+  public void read() throws Exception {
+    var reader = new XlsxStreamReader(workbook(), new DataFormatter(Locale.US));
+    List<XlsxStreamReader.XlsRow> rows = new ArrayList<>();
+    assertEquals(3, reader.read(1, true, rows::add));
+
+    var r = rows.get(0);
+    assertEquals("data", r.getSheetName());
+    assertEquals(0, r.getRowNum());
+    assertEquals("Puma concolor", r.get(0));
+    assertNull(r.get(1));
+    assertEquals("12", r.get(2));
+    assertEquals("24", r.get(3)); // cached formula result
+    assertNull(r.get(99));
+    assertEquals("https://www.catalogueoflife.org/data/taxon/4QHKG", r.link(0));
+    assertNull(r.link(2));
+
+    r = rows.get(1);
+    assertEquals(2, r.getRowNum());
+    assertEquals("Felis catus", r.get(0));
+    assertNull(r.get(1));
+    assertEquals("TRUE", r.get(2));
+    assertNull(r.link(0));
+
+    assertEquals(3, rows.get(2).getRowNum());
+  }
+
+  @Test
+  public void stop() throws Exception {
+    var reader = new XlsxStreamReader(workbook(), new DataFormatter(Locale.US));
+    List<String> names = new ArrayList<>();
+    reader.read(1, false, r -> {
+      names.add(r.get(0));
+      return r.getRowNum() < 2;
+    });
+    assertEquals(List.of("Puma concolor", "Felis catus"), names);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void missingSheet() throws Exception {
+    new XlsxStreamReader(workbook(), new DataFormatter(Locale.US)).read(5, false, r -> true);
+  }
+}
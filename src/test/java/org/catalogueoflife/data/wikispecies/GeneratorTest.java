@@ -1,10 +1,21 @@
 package org.catalogueoflife.data.wikispecies;
 
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.catalogueoflife.data.GeneratorConfig;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.sweble.wikitext.parser.WikitextParser;
 import org.sweble.wikitext.parser.nodes.*;
 import org.sweble.wikitext.parser.utils.SimpleParserConfig;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,6 +23,73 @@ import static org.junit.Assert.*;
 
 public class GeneratorTest {
 
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  /**
+   * Parse workers finish in any order, but the writer must produce the same archive as a single worker.
+   */
+  @Test
+  public void sameOutputWithManyWorkers() throws Exception {
+    File dump = dump(tmp.newFile("dump.xml.bz2"), 200);
+    File single = build(dump, "single", 1);
+    File many = build(dump, "many", 8);
+
+    for (String fn : new String[]{"NameUsage.tsv", "VernacularName.tsv", "Reference.tsv"}) {
+      List<String> expected = Files.readAllLines(new File(single, fn).toPath());
+      assertTrue(fn + " is empty", expected.size() > 1);
+      assertEquals(fn, expected, Files.readAllLines(new File(many, fn).toPath()));
+    }
+    // header, genus, 200 species and one redirect
+    assertEquals(1 + 201 + 1, Files.readAllLines(new File(single, "NameUsage.tsv").toPath()).size());
+  }
+
+  private File build(File dump, String name, int threads) throws Exception {
+    GeneratorConfig cfg = new GeneratorConfig();
+    cfg.source = "wikispecies";
+    cfg.repository = new File(tmp.getRoot(), name);
+    cfg.tmpSourceDir = new File(tmp.getRoot(), name + "-sources");
+    cfg.noDownload = true;
+    cfg.tmpDir().mkdirs();
+    Files.copy(dump.toPath(), new File(cfg.tmpDir(), Generator.srcFN).toPath());
+    new Generator(cfg, threads).run();
+    return cfg.archiveDir();
+  }
+
+  /**
+   * Writes a small pages-articles dump with a genus and its species, varying the page size
+   * so that the workers finish out of order.
+   */
+  private static File dump(File f, int species) throws IOException {
+    try (Writer w = new OutputStreamWriter(new BZip2CompressorOutputStream(new FileOutputStream(f)), StandardCharsets.UTF_8)) {
+      w.write("<mediawiki>\n");
+      page(w, "Template:Felis", "{{Felidae}}\nGenus: [[Felis]]\n");
+      page(w, "Felis",
+          "=={{int:Taxonavigation}}==\n{{Felidae}}\nGenus: ''[[Felis]]''\n\n" +
+          "=={{int:Name}}==\n''Felis'' {{a|Carl Linnaeus|Linnaeus}}, 1758\n");
+      for (int i = 1; i <= species; i++) {
+        String sp = "Felis species" + i;
+        StringBuilder text = new StringBuilder();
+        text.append("=={{int:Taxonavigation}}==\n{{Felis}}\nSpecies: ''[[").append(sp).append("]]''\n\n");
+        text.append("=={{int:Name}}==\n''").append(sp).append("'' {{a|Carl Linnaeus|Linnaeus}}, 1758\n\n");
+        text.append("=={{int:References}}==\n* {{Smith, 18").append(10 + i % 7).append("}}\n\n");
+        text.append("=={{int:Vernacular names}}==\n{{VN |en=Cat ").append(i).append(" |de=Katze ").append(i).append("}}\n");
+        // vary the parsing effort
+        text.append("\n<!-- ").append("x".repeat((i * 7919) % 20000)).append(" -->\n");
+        page(w, sp, text.toString());
+      }
+      w.write("<page><title>Felis silvestris</title><redirect title=\"Felis species1\" />" +
+          "<revision><model>wikitext</model><text>#REDIRECT [[Felis species1]]</text></revision></page>\n");
+      w.write("</mediawiki>\n");
+    }
+    return f;
+  }
+
+  private static void page(Writer w, String title, String text) throws IOException {
+    w.write("<page><title>" + title + "</title><revision><model>wikitext</model><text>"
+        + text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;") + "</text></revision></page>\n");
+  }
+
   @Test
   public void testSectionKeyParsing() throws Exception {
     WikitextParser parser = new WikitextParser(new SimpleParserConfig());
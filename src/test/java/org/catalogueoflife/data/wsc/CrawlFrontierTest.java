@@ -0,0 +1,102 @@
+package org.catalogueoflife.data.wsc;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class CrawlFrontierTest {
+  File dir;
+
+  @Before
+  public void init() throws Exception {
+    dir = Files.createTempDirectory("wsc-frontier").toFile();
+  }
+
+  @After
+  public void cleanup() {
+    FileUtils.deleteQuietly(dir);
+  }
+
+  @Test
+  public void priorities() throws Exception {
+    try (var f = new CrawlFrontier(dir, 0)) {
+      f.enqueue("sp2", CrawlFrontier.Priority.SPECIES, false);
+      f.enqueue("sp1", CrawlFrontier.Priority.SPECIES, false);
+      f.enqueue("gen1", CrawlFrontier.Priority.HIGHER, false);
+      assertEquals("gen1", f.peek());
+      // raise priority of a pending species via the update feed
+      f.enqueue("sp2", CrawlFrontier.Priority.UPDATE, false);
+      assertEquals("sp2", f.peek());
+      f.fetched("sp2", CrawlFrontier.Status.DONE);
+      f.fetched("gen1", CrawlFrontier.Status.DONE);
+      assertEquals("sp1", f.peek());
+      // done entries are only requeued if forced
+      f.enqueue("sp2", CrawlFrontier.Priority.UPDATE, false);
+      assertEquals("sp1", f.peek());
+      f.enqueue("sp2", CrawlFrontier.Priority.UPDATE, true);
+      assertEquals("sp2", f.peek());
+    }
+  }
+
+  @Test
+  public void resume() throws Exception {
+    try (var f = new CrawlFrontier(dir, 0)) {
+      f.enqueue("sp1", CrawlFrontier.Priority.SPECIES, false);
+      f.enqueue("sp2", CrawlFrontier.Priority.SPECIES, false);
+      f.cached("sp3", 1000);
+      f.fetched("sp1", CrawlFrontier.Status.NOT_FOUND);
+    }
+    try (var f = new CrawlFrontier(dir, 0)) {
+      assertEquals(3, f.size());
+      assertEquals(1, f.pendingSize());
+      assertEquals("sp2", f.peek());
+      assertTrue(f.isKnown("sp3"));
+    }
+  }
+
+  @Test
+  public void budget() throws Exception {
+    try (var f = new CrawlFrontier(dir, 2)) {
+      assertTrue(f.hasBudget());
+      f.request();
+      f.request();
+      assertFalse(f.hasBudget());
+    }
+    // the budget is per day and survives restarts
+    try (var f = new CrawlFrontier(dir, 3)) {
+      assertTrue(f.hasBudget());
+      f.request();
+      assertFalse(f.hasBudget());
+    }
+    try (var f = new CrawlFrontier(dir, 0)) {
+      assertTrue(f.hasBudget());
+      f.exhausted();
+      assertFalse(f.hasBudget());
+    }
+  }
+
+  @Test
+  public void persistEveryRequest() throws Exception {
+    var f = new CrawlFrontier(dir, 5);
+    f.enqueue("sp1", CrawlFrontier.Priority.SPECIES, false);
+    f.fetched("sp1", CrawlFrontier.Status.DONE);
+    // not closed, e.g. a killed build
+    try (var f2 = new CrawlFrontier(dir, 5)) {
+      assertEquals(0, f2.pendingSize());
+      assertTrue(f2.isKnown("sp1"));
+      for (int i = 0; i < 4; i++) {
+        assertTrue(f2.hasBudget());
+        f2.request();
+      }
+      assertFalse(f2.hasBudget());
+    } finally {
+      f.close();
+    }
+  }
+}